@@ -0,0 +1,190 @@
+package com.kitakita.inventory.benchmark;
+
+import com.kitakita.inventory.entity.Category;
+import com.kitakita.inventory.entity.InventorySummaryBucket;
+import com.kitakita.inventory.entity.InventorySummaryBucket.BucketType;
+import com.kitakita.inventory.entity.Product;
+import com.kitakita.inventory.entity.Sale;
+import com.kitakita.inventory.entity.Supplier;
+import com.kitakita.inventory.entity.User;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Synthetic, reproducible data sets and repository stubs for the benchmarks. Every generator uses
+ * a fixed seed so runs compare like with like.
+ */
+public final class Fixtures {
+
+    public static final int CATEGORY_COUNT = 40;
+    public static final int SUPPLIER_COUNT = 25;
+
+    private static final long SEED = 42;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final String[] UNITS = {"pcs", "kg", "box", "pack", "bottle"};
+
+    private Fixtures() {
+    }
+
+    public static User user() {
+        return User.builder()
+                .userId(1)
+                .email("bench@kitakita.test")
+                .fullName("Benchmark User")
+                .role("ROLE_USER")
+                .isActive(true)
+                .build();
+    }
+
+    public static List<Category> categories() {
+        List<Category> categories = new ArrayList<>(CATEGORY_COUNT);
+        for (int i = 1; i <= CATEGORY_COUNT; i++) {
+            categories.add(Category.builder()
+                    .categoryId(i)
+                    .categoryName("Category " + i)
+                    .createdAt(EPOCH)
+                    .build());
+        }
+        return categories;
+    }
+
+    public static List<Supplier> suppliers(User user) {
+        List<Supplier> suppliers = new ArrayList<>(SUPPLIER_COUNT);
+        for (int i = 1; i <= SUPPLIER_COUNT; i++) {
+            suppliers.add(Supplier.builder()
+                    .supplierId(i)
+                    .supplierName("Supplier " + i)
+                    .contactNumber("0917" + String.format("%07d", i))
+                    .user(user)
+                    .isActive(true)
+                    .build());
+        }
+        return suppliers;
+    }
+
+    public static List<Product> products(int count) {
+        User user = user();
+        List<Category> categories = categories();
+        List<Supplier> suppliers = suppliers(user);
+        SplittableRandom random = new SplittableRandom(SEED);
+
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            BigDecimal buyingPrice = BigDecimal.valueOf(random.nextInt(100, 100_000), 2);
+            products.add(Product.builder()
+                    .productId(i)
+                    .productName("Product " + i)
+                    .productCode(String.format("P%012d", i))
+                    .category(categories.get(random.nextInt(categories.size())))
+                    .supplier(random.nextInt(10) == 0 ? null : suppliers.get(random.nextInt(suppliers.size())))
+                    .user(user)
+                    .buyingPrice(buyingPrice)
+                    .sellingPrice(buyingPrice.multiply(BigDecimal.valueOf(13, 1)))
+                    .unit(UNITS[random.nextInt(UNITS.length)])
+                    .quantity(random.nextInt(0, 500))
+                    .thresholdValue(random.nextInt(5, 50))
+                    .openingStock(random.nextInt(0, 1000))
+                    .onTheWay(random.nextInt(0, 20))
+                    .imageKey(random.nextBoolean() ? Integer.toHexString(i) : null)
+                    .createdAt(EPOCH.plusMinutes(i))
+                    .updatedAt(EPOCH.plusMinutes(2L * i))
+                    .isActive(true)
+                    .build());
+        }
+        return products;
+    }
+
+    /**
+     * One category bucket per category and one month bucket per month, consecutive from 2000-01.
+     */
+    public static List<InventorySummaryBucket> buckets(BucketType bucketType, int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<InventorySummaryBucket> buckets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int key = bucketType == BucketType.MONTH
+                    ? (2000 + i / 12) * 100 + i % 12 + 1
+                    : i + 1;
+            buckets.add(InventorySummaryBucket.builder()
+                    .userId(1)
+                    .bucketType(bucketType)
+                    .bucketKey(key)
+                    .productCount(random.nextInt(1, 200))
+                    .quantity(random.nextInt(0, 50_000))
+                    .build());
+        }
+        return buckets;
+    }
+
+    /**
+     * Sales of random products spread over {@code days} days, as a checkout or import would record them.
+     */
+    public static List<Sale> sales(List<Product> products, int count, int days) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Sale> sales = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Product product = products.get(random.nextInt(products.size()));
+            int quantity = random.nextInt(1, 10);
+            sales.add(Sale.builder()
+                    .saleId(i)
+                    .product(product)
+                    .user(product.getUser())
+                    .quantity(quantity)
+                    .unitPrice(product.getSellingPrice())
+                    .totalValue(product.getSellingPrice().multiply(BigDecimal.valueOf(quantity)))
+                    .buyingPrice(product.getBuyingPrice())
+                    .saleDate(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(days)).atTime(12, 0))
+                    .build());
+        }
+        return sales;
+    }
+
+    /**
+     * Implements a repository (or any other interface) with the given answers keyed by method name.
+     * Methods without an answer return {@code null}, zero or {@code false}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> type.getSimpleName() + " stub";
+                default -> defaultValue(method.getReturnType());
+            };
+        });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0d;
+        }
+        if (type == float.class) {
+            return 0f;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        return type == byte.class ? (byte) 0 : type == short.class ? (short) 0 : 0;
+    }
+}
@@ -0,0 +1,76 @@
+package com.kitakita.inventory.security;
+
+import com.kitakita.inventory.benchmark.Fixtures;
+import com.kitakita.inventory.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token signing and verification. {@code parseCached} is the steady state of a client resending
+ * its token; {@code parseUncached} cycles through more distinct tokens than the verified-token
+ * cache holds, so nearly every call pays for the parse and HMAC check.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+    private static final long EXPIRATION_MS = 86_400_000;
+    private static final int DISTINCT_TOKENS = 1024;
+
+    private JwtTokenProvider cachingProvider;
+    private JwtTokenProvider uncachedProvider;
+    private User user;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        cachingProvider = new JwtTokenProvider(SECRET, EXPIRATION_MS, 10_000, meterRegistry);
+        uncachedProvider = new JwtTokenProvider(SECRET, EXPIRATION_MS, 1, meterRegistry);
+        user = Fixtures.user();
+        token = cachingProvider.generateToken(user);
+
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            user.setUserId(i + 1);
+            tokens[i] = uncachedProvider.generateToken(user);
+        }
+        user.setUserId(1);
+    }
+
+    @Benchmark
+    public String generate() {
+        return cachingProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public Optional<JwtClaims> parseCached() {
+        return cachingProvider.parseToken(token);
+    }
+
+    @Benchmark
+    public Optional<JwtClaims> parseUncached() {
+        next = (next + 1) % DISTINCT_TOKENS;
+        return uncachedProvider.parseToken(tokens[next]);
+    }
+}
@@ -0,0 +1,91 @@
+package com.kitakita.inventory.service;
+
+import com.kitakita.inventory.benchmark.Fixtures;
+import com.kitakita.inventory.entity.Product;
+import com.kitakita.inventory.entity.User;
+import com.kitakita.inventory.repository.ProductRepository;
+import com.kitakita.inventory.repository.projection.InventoryExportRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Pageable;
+
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF layout of the inventory report, streamed to a discarding output. Chunks are served from
+ * memory in keyset order, as {@code findExportChunk} would return them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InventoryPdfExporterBenchmark {
+
+    private static final int CHUNK_SIZE = 500;
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private InventoryPdfExporter exporter;
+    private User user;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        List<InventoryExportRow> rows = Fixtures.products(size).stream().<InventoryExportRow>map(ExportRow::of).toList();
+        ProductRepository productRepository = Fixtures.stub(ProductRepository.class, Map.of("findExportChunk", args -> {
+            int afterId = (Integer) args[3];
+            int limit = ((Pageable) args[4]).getPageSize();
+            // Product ids are 1..size, so the row after afterId is at index afterId
+            return rows.subList(Math.min(afterId, rows.size()), Math.min(afterId + limit, rows.size()));
+        }));
+
+        exporter = new InventoryPdfExporter(productRepository, null);
+        Field chunkSize = InventoryPdfExporter.class.getDeclaredField("chunkSize");
+        chunkSize.setAccessible(true);
+        chunkSize.setInt(exporter, CHUNK_SIZE);
+        user = Fixtures.user();
+    }
+
+    @Benchmark
+    public long write() {
+        return exporter.write(user, null, null, OutputStream.nullOutputStream());
+    }
+
+    private record ExportRow(Integer productId, String productName, String productCode, String categoryName,
+                             Integer quantity, String unit, BigDecimal buyingPrice, BigDecimal sellingPrice)
+            implements InventoryExportRow {
+
+        static ExportRow of(Product product) {
+            return new ExportRow(product.getProductId(), product.getProductName(), product.getProductCode(),
+                    product.getCategory().getCategoryName(), product.getQuantity(), product.getUnit(),
+                    product.getBuyingPrice(), product.getSellingPrice());
+        }
+
+        // @formatter:off
+        @Override public Integer getProductId() { return productId; }
+        @Override public String getProductName() { return productName; }
+        @Override public String getProductCode() { return productCode; }
+        @Override public String getCategoryName() { return categoryName; }
+        @Override public Integer getQuantity() { return quantity; }
+        @Override public String getUnit() { return unit; }
+        @Override public BigDecimal getBuyingPrice() { return buyingPrice; }
+        @Override public BigDecimal getSellingPrice() { return sellingPrice; }
+        // @formatter:on
+    }
+}
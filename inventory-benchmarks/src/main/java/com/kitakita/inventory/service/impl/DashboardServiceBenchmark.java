@@ -0,0 +1,92 @@
+package com.kitakita.inventory.service.impl;
+
+import com.kitakita.inventory.benchmark.Fixtures;
+import com.kitakita.inventory.dto.response.DashboardSummaryResponse;
+import com.kitakita.inventory.entity.InventorySummary;
+import com.kitakita.inventory.entity.InventorySummaryBucket;
+import com.kitakita.inventory.entity.InventorySummaryBucket.BucketType;
+import com.kitakita.inventory.entity.Product;
+import com.kitakita.inventory.repository.CategoryRepository;
+import com.kitakita.inventory.repository.SupplierRepository;
+import com.kitakita.inventory.service.ReferenceDataCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The dashboard response builders, fed from memory: repositories are not involved, categories come
+ * from a warmed {@link ReferenceDataCache}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private DashboardServiceImpl dashboardService;
+    private InventorySummary summary;
+    private List<InventorySummaryBucket> categoryBuckets;
+    private List<InventorySummaryBucket> monthBuckets;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        CategoryRepository categoryRepository = Fixtures.stub(CategoryRepository.class,
+                Map.of("findAll", args -> Fixtures.categories()));
+        ReferenceDataCache referenceDataCache = new ReferenceDataCache(categoryRepository,
+                Fixtures.stub(SupplierRepository.class, Map.of()), new ConcurrentMapCacheManager());
+        referenceDataCache.getCategories();
+
+        dashboardService = new DashboardServiceImpl(null, referenceDataCache, null, null, null);
+        summary = InventorySummary.builder()
+                .userId(1)
+                .totalProducts(size)
+                .totalQuantity(250L * size)
+                .onTheWay(10L * size)
+                .lowStockCount(size / 10)
+                .inventoryValue(new BigDecimal("123456789.125"))
+                .build();
+        categoryBuckets = Fixtures.buckets(BucketType.CATEGORY, size);
+        monthBuckets = Fixtures.buckets(BucketType.MONTH, size);
+        products = Fixtures.products(size);
+    }
+
+    @Benchmark
+    public DashboardSummaryResponse.SummaryCards buildSummaryCards() {
+        return dashboardService.buildSummaryCards(summary, Fixtures.CATEGORY_COUNT, Fixtures.SUPPLIER_COUNT);
+    }
+
+    @Benchmark
+    public List<DashboardSummaryResponse.ChartPoint> buildInventoryByCategory() {
+        return dashboardService.buildInventoryByCategory(categoryBuckets);
+    }
+
+    @Benchmark
+    public List<DashboardSummaryResponse.ChartPoint> buildStockMovement() {
+        return dashboardService.buildStockMovement(monthBuckets);
+    }
+
+    @Benchmark
+    public List<DashboardSummaryResponse.ProductSnapshot> buildTopProducts() {
+        return dashboardService.buildTopProducts(products);
+    }
+}
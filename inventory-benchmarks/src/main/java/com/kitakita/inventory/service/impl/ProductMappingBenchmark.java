@@ -0,0 +1,120 @@
+package com.kitakita.inventory.service.impl;
+
+import com.kitakita.inventory.benchmark.Fixtures;
+import com.kitakita.inventory.dto.response.ProductResponse;
+import com.kitakita.inventory.entity.Product;
+import com.kitakita.inventory.repository.projection.ProductListRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ProductServiceImpl.mapToResponse} for a page of list rows (the product list) and for
+ * entities (product writes).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductMappingBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Path imageDirectory;
+    private ProductServiceImpl productService;
+    private List<Product> products;
+    private List<ProductListRow> rows;
+
+    @Setup
+    public void setUp() throws IOException {
+        imageDirectory = Files.createTempDirectory("benchmark-images");
+        productService = new ProductServiceImpl(null, null, null, null, null, null,
+                new FileSystemImageStorageService(imageDirectory, 256, 5_242_880, 25_000_000), null, null, null, null, null);
+        products = Fixtures.products(size);
+        rows = products.stream().<ProductListRow>map(ListRow::of).toList();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(imageDirectory);
+    }
+
+    @Benchmark
+    public void mapListRows(Blackhole blackhole) {
+        for (ProductListRow row : rows) {
+            blackhole.consume(productService.mapToResponse(row, null));
+        }
+    }
+
+    @Benchmark
+    public void mapEntities(Blackhole blackhole) {
+        for (Product product : products) {
+            blackhole.consume(productService.mapToResponse(product));
+        }
+    }
+
+    private record ListRow(Integer productId, String productName, String productCode, Integer categoryId,
+                           String categoryName, Integer supplierId, String supplierName, String supplierContact,
+                           BigDecimal buyingPrice, BigDecimal sellingPrice, String unit, Integer quantity,
+                           Integer thresholdValue, Integer openingStock, Integer onTheWay, LocalDate expiryDate,
+                           String imageKey, Boolean isActive, LocalDateTime createdAt, LocalDateTime updatedAt)
+            implements ProductListRow {
+
+        static ListRow of(Product product) {
+            return new ListRow(product.getProductId(), product.getProductName(), product.getProductCode(),
+                    product.getCategory().getCategoryId(), product.getCategory().getCategoryName(),
+                    product.getSupplier() != null ? product.getSupplier().getSupplierId() : null,
+                    product.getSupplier() != null ? product.getSupplier().getSupplierName() : null,
+                    product.getSupplier() != null ? product.getSupplier().getContactNumber() : null,
+                    product.getBuyingPrice(), product.getSellingPrice(), product.getUnit(), product.getQuantity(),
+                    product.getThresholdValue(), product.getOpeningStock(), product.getOnTheWay(),
+                    product.getExpiryDate(), product.getImageKey(), product.getIsActive(),
+                    product.getCreatedAt(), product.getUpdatedAt());
+        }
+
+        // @formatter:off
+        @Override public Integer getProductId() { return productId; }
+        @Override public String getProductName() { return productName; }
+        @Override public String getProductCode() { return productCode; }
+        @Override public Integer getCategoryId() { return categoryId; }
+        @Override public String getCategoryName() { return categoryName; }
+        @Override public Integer getSupplierId() { return supplierId; }
+        @Override public String getSupplierName() { return supplierName; }
+        @Override public String getSupplierContact() { return supplierContact; }
+        @Override public BigDecimal getBuyingPrice() { return buyingPrice; }
+        @Override public BigDecimal getSellingPrice() { return sellingPrice; }
+        @Override public String getUnit() { return unit; }
+        @Override public Integer getQuantity() { return quantity; }
+        @Override public Integer getThresholdValue() { return thresholdValue; }
+        @Override public Integer getOpeningStock() { return openingStock; }
+        @Override public Integer getOnTheWay() { return onTheWay; }
+        @Override public LocalDate getExpiryDate() { return expiryDate; }
+        @Override public String getImageKey() { return imageKey; }
+        @Override public Boolean getIsActive() { return isActive; }
+        @Override public LocalDateTime getCreatedAt() { return createdAt; }
+        @Override public LocalDateTime getUpdatedAt() { return updatedAt; }
+        // @formatter:on
+    }
+}
@@ -0,0 +1,60 @@
+package com.kitakita.inventory.service.impl;
+
+import com.kitakita.inventory.benchmark.Fixtures;
+import com.kitakita.inventory.entity.Sale;
+import com.kitakita.inventory.repository.SalesDailyRollupRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grouping of a batch of sales into per-product, per-day rollup deltas, which replaced the
+ * in-memory grouping the reports used to do. The upserts go to a stub that counts them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SalesRollupBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int sales;
+
+    @Param({"1", "30"})
+    private int days;
+
+    private SalesRollupServiceImpl salesRollupService;
+    private List<Sale> batch;
+    private long upserts;
+
+    @Setup
+    public void setUp() {
+        SalesDailyRollupRepository rollupRepository = Fixtures.stub(SalesDailyRollupRepository.class,
+                Map.of("upsertDelta", args -> {
+                    upserts++;
+                    return 1;
+                }));
+        salesRollupService = new SalesRollupServiceImpl(rollupRepository);
+        batch = Fixtures.sales(Fixtures.products(1000), sales, days);
+    }
+
+    @Benchmark
+    public long recordSales() {
+        salesRollupService.recordSales(batch);
+        return upserts;
+    }
+}
@@ -0,0 +1,23 @@
+package com.kitakita.inventory.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kitakita.inventory.service.ReferenceDataCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(@Value("${reference-data.cache.spec:maximumSize=10000,expireAfterWrite=10m}") String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
+                ReferenceDataCache.CATEGORIES, ReferenceDataCache.SUPPLIERS);
+        // Statistics feed /api/admin/cache-stats
+        cacheManager.setCaffeine(Caffeine.from(spec).recordStats());
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+}
@@ -0,0 +1,50 @@
+package com.kitakita.inventory.config;
+
+import com.kitakita.inventory.entity.User;
+import com.kitakita.inventory.security.SecurityUtils;
+import com.kitakita.inventory.service.DataVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDate;
+
+/**
+ * Answers conditional GETs on read endpoints from data versions alone, before the controller runs.
+ * <p>
+ * The ETag combines the user's data version, the shared (category) version and today's date, since
+ * some responses default their range to "the last twelve months". A matching {@code If-None-Match}
+ * gets an empty {@code 304 Not Modified}; anything else runs the handler and carries the ETag.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final DataVersionService dataVersionService;
+    private final SecurityUtils securityUtils;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        User currentUser = securityUtils.getCurrentUser();
+        if (currentUser == null) {
+            return true;
+        }
+
+        String etag = "\"" + currentUser.getUserId()
+                + "-" + dataVersionService.getVersion(currentUser.getUserId())
+                + "-" + dataVersionService.getSharedVersion()
+                + "-" + LocalDate.now().toEpochDay() + "\"";
+
+        // Stored by the browser but always revalidated, overriding Spring Security's no-store default
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
@@ -0,0 +1,22 @@
+package com.kitakita.inventory.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Query, entity load/fetch, flush and second-level cache counters from Hibernate's statistics.
+     * Only populated when {@code hibernate.generate_statistics} is enabled.
+     */
+    @Bean
+    public MeterBinder hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "entityManagerFactory", Tags.empty());
+    }
+}
@@ -0,0 +1,30 @@
+package com.kitakita.inventory.config;
+
+import com.kitakita.inventory.querycount.QueryBudgetInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+    private final QueryBudgetInterceptor queryBudgetInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryBudgetInterceptor);
+
+        // Responses that depend only on the user's data versions and the date
+        registry.addInterceptor(conditionalGetInterceptor)
+                .addPathPatterns(
+                        "/api/dashboard/summary",
+                        "/api/reports",
+                        "/api/reports/sales-series",
+                        "/api/products/references",
+                        "/api/categories",
+                        "/api/categories/*");
+    }
+}
@@ -0,0 +1,47 @@
+package com.kitakita.inventory.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.kitakita.inventory.dto.response.CacheStatsResponse;
+import com.kitakita.inventory.security.AuthenticatedUserCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final CacheManager cacheManager;
+    private final AuthenticatedUserCache authenticatedUserCache;
+
+    @GetMapping("/cache-stats")
+    public List<CacheStatsResponse> getCacheStats() {
+        List<CacheStatsResponse> stats = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                var nativeCache = cache.getNativeCache();
+                stats.add(toResponse(name, nativeCache.estimatedSize(), nativeCache.stats()));
+            }
+        }
+        stats.add(toResponse("users", authenticatedUserCache.estimatedSize(), authenticatedUserCache.stats()));
+        return stats;
+    }
+
+    private CacheStatsResponse toResponse(String name, long size, CacheStats stats) {
+        return CacheStatsResponse.builder()
+                .name(name)
+                .size(size)
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictions(stats.evictionCount())
+                .build();
+    }
+}
@@ -5,6 +5,7 @@ import com.kitakita.inventory.service.DashboardService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -20,6 +21,11 @@ public class DashboardController {
     public DashboardSummaryResponse getSummary() {
         return dashboardService.getSummary();
     }
+
+    @PostMapping("/summary/rebuild")
+    public DashboardSummaryResponse rebuildSummary() {
+        return dashboardService.rebuildSummary();
+    }
 }
 
 
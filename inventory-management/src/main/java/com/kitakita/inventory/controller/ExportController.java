@@ -0,0 +1,103 @@
+package com.kitakita.inventory.controller;
+
+import com.kitakita.inventory.dto.request.ExportRequest;
+import com.kitakita.inventory.dto.response.ExportJobResponse;
+import com.kitakita.inventory.service.DataExportService;
+import com.kitakita.inventory.service.DataExportService.Dataset;
+import com.kitakita.inventory.service.DataExportService.ExportFilter;
+import com.kitakita.inventory.service.DataExportService.TabularFormat;
+import com.kitakita.inventory.service.ExportJobService;
+import com.kitakita.inventory.service.ExportJobService.ExportDownload;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/exports")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final ExportJobService exportJobService;
+    private final DataExportService dataExportService;
+
+    @PostMapping
+    public ResponseEntity<ExportJobResponse> submitExport(@Valid @RequestBody ExportRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(exportJobService.submit(request));
+    }
+
+    @GetMapping("/{jobId}")
+    public ExportJobResponse getExport(@PathVariable String jobId) {
+        return exportJobService.getJob(jobId);
+    }
+
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<Resource> downloadExport(@PathVariable String jobId) {
+        ExportDownload download = exportJobService.download(jobId);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(download.mediaType());
+        headers.setContentDisposition(ContentDisposition.attachment().filename(download.fileName()).build());
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(download.resource());
+    }
+
+    /**
+     * Streams products, sales, purchases or adjustments as CSV or NDJSON. The X-Export-Started-At
+     * header can be passed back as {@code changedSince} to fetch only what changed afterwards.
+     */
+    @GetMapping("/data/{dataset}")
+    public ResponseEntity<StreamingResponseBody> exportData(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime changedSince
+    ) {
+        Dataset selected = parse(Dataset.class, dataset, "dataset");
+        TabularFormat tabularFormat = parse(TabularFormat.class, format, "format");
+        // "to" is inclusive for callers and exclusive for the query
+        ExportFilter filter = new ExportFilter(
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null,
+                changedSince);
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        StreamingResponseBody body = out -> dataExportService.export(selected, tabularFormat, filter, out);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(tabularFormat.getMediaType());
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename("kitakita-" + selected.name().toLowerCase(Locale.ROOT) + "-"
+                        + startedAt.format(FILE_TIMESTAMP) + "." + tabularFormat.getExtension())
+                .build());
+        headers.set("X-Export-Started-At", startedAt.toString());
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, String name) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + name + ": " + value);
+        }
+    }
+}
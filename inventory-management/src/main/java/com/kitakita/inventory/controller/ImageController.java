@@ -0,0 +1,68 @@
+package com.kitakita.inventory.controller;
+
+import com.kitakita.inventory.dto.response.ImageUploadResponse;
+import com.kitakita.inventory.exception.ResourceNotFoundException;
+import com.kitakita.inventory.service.ImageStorageService;
+import com.kitakita.inventory.service.ImageStorageService.StoredImage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/images")
+@RequiredArgsConstructor
+public class ImageController {
+
+    // Keys are content hashes, so a URL never changes meaning
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    private final ImageStorageService imageStorageService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImageUploadResponse> uploadImage(@RequestParam("file") MultipartFile file) throws IOException {
+        String key = imageStorageService.store(file.getBytes());
+        return ResponseEntity.status(HttpStatus.CREATED).body(ImageUploadResponse.builder()
+                .imageKey(key)
+                .imageUrl(imageStorageService.imageUrl(key))
+                .thumbnailUrl(imageStorageService.thumbnailUrl(key))
+                .build());
+    }
+
+    @GetMapping("/{key:.+}")
+    public ResponseEntity<Resource> getImage(@PathVariable String key, WebRequest request) {
+        return serve(key, false, request);
+    }
+
+    @GetMapping("/{key:.+}/thumbnail")
+    public ResponseEntity<Resource> getThumbnail(@PathVariable String key, WebRequest request) {
+        return serve(key, true, request);
+    }
+
+    private ResponseEntity<Resource> serve(String key, boolean thumbnail, WebRequest request) {
+        StoredImage image = imageStorageService.load(key, thumbnail)
+                .orElseThrow(() -> new ResourceNotFoundException("Image not found: " + key));
+
+        if (request.checkNotModified(image.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(image.etag())
+                    .cacheControl(IMMUTABLE)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(image.contentType()))
+                .eTag(image.etag())
+                .cacheControl(IMMUTABLE)
+                .body(new FileSystemResource(image.path()));
+    }
+}
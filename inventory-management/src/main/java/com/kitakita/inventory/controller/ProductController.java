@@ -2,15 +2,21 @@ package com.kitakita.inventory.controller;
 
 import com.kitakita.inventory.dto.request.ProductRequest;
 import com.kitakita.inventory.dto.request.InventoryAdjustmentRequest;
+import com.kitakita.inventory.dto.request.PurchaseImportRequest;
 import com.kitakita.inventory.dto.request.PurchaseRequest;
 import com.kitakita.inventory.dto.response.AdjustmentHistoryResponse;
+import com.kitakita.inventory.dto.response.BulkWriteResponse;
 import com.kitakita.inventory.dto.response.PagedResponse;
+import com.kitakita.inventory.dto.response.ProductImportProgressResponse;
+import com.kitakita.inventory.dto.response.ProductImportResponse;
 import com.kitakita.inventory.dto.response.ProductReferenceDataResponse;
 import com.kitakita.inventory.dto.response.ProductResponse;
 import com.kitakita.inventory.dto.response.PurchaseHistoryResponse;
 import com.kitakita.inventory.service.ProductHistoryService;
+import com.kitakita.inventory.service.ProductImportService;
 import com.kitakita.inventory.service.ProductService;
 import com.kitakita.inventory.service.PurchaseService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
@@ -22,14 +28,17 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/products")
 @CrossOrigin(origins = "*")
 public class ProductController {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 200;
+
     @Autowired
     private ProductService productService;
     
@@ -38,6 +47,9 @@ public class ProductController {
     
     @Autowired
     private PurchaseService purchaseService;
+    
+    @Autowired
+    private ProductImportService productImportService;
 
     @GetMapping
     public PagedResponse<ProductResponse> listProducts(
@@ -45,10 +57,23 @@ public class ProductController {
             @RequestParam(required = false) Integer categoryId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "productName,asc") String sort
+            @RequestParam(defaultValue = "productName,asc") String sort,
+            @RequestParam(defaultValue = "false") boolean includeImage,
+            @RequestParam(required = false) String after
     ) {
+        // Cursor mode: present "after" (empty for the first page) switches to keyset paging without a count
+        if (after != null) {
+            Pageable pageable = buildPageable(0, size, sort);
+            Sort.Order order = pageable.getSort().iterator().next();
+            if (!order.getProperty().equals("productName")) {
+                throw new IllegalArgumentException("Cursor paging only supports sorting by productName");
+            }
+            return productService.getProductsAfter(search, categoryId, after, pageable.getPageSize(),
+                    order.getDirection(), includeImage);
+        }
+
         Pageable pageable = buildPageable(page, size, sort);
-        return productService.getProducts(search, categoryId, pageable);
+        return productService.getProducts(search, categoryId, pageable, includeImage);
     }
 
     @PostMapping
@@ -57,6 +82,18 @@ public class ProductController {
         return productService.createProduct(request);
     }
 
+    // The CSV is the raw request body (Content-Type: text/csv) so large files stream instead of being buffered
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ProductImportResponse importProducts(HttpServletRequest request) throws IOException {
+        return productImportService.importCsv(request.getInputStream());
+    }
+
+    // Poll while an import runs; the import request itself returns the final counts
+    @GetMapping("/import/progress")
+    public ProductImportProgressResponse getImportProgress() {
+        return productImportService.getProgress();
+    }
+
     @PutMapping("/{productId}")
     public ProductResponse updateProduct(@PathVariable Integer productId,
                                          @Valid @RequestBody ProductRequest request) {
@@ -70,11 +107,11 @@ public class ProductController {
     }
 
     @GetMapping("/export/pdf")
-    public ResponseEntity<byte[]> exportInventory(
+    public ResponseEntity<StreamingResponseBody> exportInventory(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) Integer categoryId
     ) {
-        byte[] pdf = productService.exportInventoryPdf(search, categoryId);
+        StreamingResponseBody pdf = out -> productService.exportInventoryPdf(search, categoryId, out);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
@@ -90,14 +127,19 @@ public class ProductController {
         return productService.getReferenceData();
     }
 
+    // History is newest first; pages report hasNext instead of totals so no count query runs
     @GetMapping("/{productId}/purchases")
-    public List<PurchaseHistoryResponse> getProductPurchases(@PathVariable Integer productId) {
-        return productHistoryService.getProductPurchases(productId);
+    public PagedResponse<PurchaseHistoryResponse> getProductPurchases(@PathVariable Integer productId,
+                                                                      @RequestParam(defaultValue = "0") int page,
+                                                                      @RequestParam(defaultValue = "20") int size) {
+        return productHistoryService.getProductPurchases(productId, Math.max(page, 0), historyPageSize(size));
     }
 
     @GetMapping("/{productId}/adjustments")
-    public List<AdjustmentHistoryResponse> getProductAdjustments(@PathVariable Integer productId) {
-        return productHistoryService.getProductAdjustments(productId);
+    public PagedResponse<AdjustmentHistoryResponse> getProductAdjustments(@PathVariable Integer productId,
+                                                                          @RequestParam(defaultValue = "0") int page,
+                                                                          @RequestParam(defaultValue = "20") int size) {
+        return productHistoryService.getProductAdjustments(productId, Math.max(page, 0), historyPageSize(size));
     }
 
     @PostMapping("/{productId}/adjustments")
@@ -108,6 +150,11 @@ public class ProductController {
     }
 
 
+    @PostMapping("/purchases/import")
+    public ResponseEntity<BulkWriteResponse> importPurchases(@Valid @RequestBody PurchaseImportRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(purchaseService.importPurchases(request));
+    }
+
     @PostMapping("/{productId}/purchases")
     public PurchaseHistoryResponse createPurchase(@PathVariable Integer productId, @Valid @RequestBody PurchaseRequest request) {
         // Ensure the productId in the path matches the productId in the request
@@ -115,6 +162,10 @@ public class ProductController {
         return purchaseService.createPurchase(request);
     }
 
+    private int historyPageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE);
+    }
+
     private Pageable buildPageable(int page, int size, String sort) {
         String[] sortParts = sort.split(",");
         String sortProperty = sortParts[0];
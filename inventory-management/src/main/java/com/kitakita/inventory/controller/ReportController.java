@@ -1,13 +1,22 @@
 package com.kitakita.inventory.controller;
 
 import com.kitakita.inventory.dto.response.ReportsResponse;
+import com.kitakita.inventory.dto.response.MessageResponse;
+import com.kitakita.inventory.dto.response.SalesSeriesPointResponse;
 import com.kitakita.inventory.service.ReportsService;
+import com.kitakita.inventory.service.SalesRollupService.Granularity;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/reports")
 @RequiredArgsConstructor
@@ -17,7 +26,23 @@ public class ReportController {
     private final ReportsService reportsService;
     
     @GetMapping
-    public ReportsResponse getReports() {
-        return reportsService.getReportsData();
+    public ReportsResponse getReports(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return reportsService.getReportsData(from, to);
+    }
+    
+    @GetMapping("/sales-series")
+    public List<SalesSeriesPointResponse> getSalesSeries(
+            @RequestParam(defaultValue = "MONTH") Granularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return reportsService.getSalesSeries(granularity, from, to);
+    }
+    
+    @PostMapping("/rollup/rebuild")
+    public MessageResponse rebuildSalesRollup() {
+        reportsService.rebuildSalesRollup();
+        return new MessageResponse("Sales rollup rebuilt");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package com.kitakita.inventory.controller;
+
+import com.kitakita.inventory.dto.request.ReturnBatchRequest;
+import com.kitakita.inventory.dto.request.ReturnRequest;
+import com.kitakita.inventory.dto.response.BulkWriteResponse;
+import com.kitakita.inventory.dto.response.CancellationResponse;
+import com.kitakita.inventory.dto.response.PagedResponse;
+import com.kitakita.inventory.dto.response.ReturnResponse;
+import com.kitakita.inventory.service.ReturnService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/returns")
+@RequiredArgsConstructor
+public class ReturnController {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final ReturnService returnService;
+
+    // Newest first; pages report hasNext instead of totals so no count query runs
+    @GetMapping
+    public ResponseEntity<PagedResponse<ReturnResponse>> getReturns(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(returnService.getReturns(Math.max(page, 0), pageSize(size)));
+    }
+
+    @PostMapping
+    public ResponseEntity<ReturnResponse> createReturn(@Valid @RequestBody ReturnRequest request) {
+        ReturnResponse response = returnService.createReturn(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BulkWriteResponse> processReturns(@Valid @RequestBody ReturnBatchRequest request) {
+        BulkWriteResponse response = returnService.processReturns(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/cancellations")
+    public ResponseEntity<PagedResponse<CancellationResponse>> getCancellations(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(returnService.getCancellations(Math.max(page, 0), pageSize(size)));
+    }
+
+    private int pageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+}
@@ -1,10 +1,18 @@
 package com.kitakita.inventory.controller;
 
+import com.kitakita.inventory.dto.request.CancelSaleRequest;
+import com.kitakita.inventory.dto.request.CheckoutRequest;
+import com.kitakita.inventory.dto.request.SaleImportRequest;
 import com.kitakita.inventory.dto.request.SaleRequest;
+import com.kitakita.inventory.dto.response.BulkWriteResponse;
+import com.kitakita.inventory.dto.response.CancellationResponse;
+import com.kitakita.inventory.dto.response.CheckoutResponse;
 import com.kitakita.inventory.dto.response.PagedResponse;
 import com.kitakita.inventory.dto.response.SaleResponse;
 import com.kitakita.inventory.dto.response.SalesSummaryResponse;
+import com.kitakita.inventory.service.ReturnService;
 import com.kitakita.inventory.service.SaleService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,13 +24,18 @@ import org.springframework.web.bind.annotation.*;
 public class SaleController {
 
     private final SaleService saleService;
+    private final ReturnService returnService;
 
     @GetMapping
     public ResponseEntity<PagedResponse<SaleResponse>> getSales(
             @RequestParam(required = false) String search,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        PagedResponse<SaleResponse> response = saleService.getSales(search, page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
+        // Cursor mode: present "after" (empty for the first page) switches to keyset paging without a count
+        PagedResponse<SaleResponse> response = after != null
+                ? saleService.getSalesAfter(search, after, Math.max(size, 1))
+                : saleService.getSales(search, page, size);
         return ResponseEntity.ok(response);
     }
 
@@ -32,6 +45,18 @@ public class SaleController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/checkout")
+    public ResponseEntity<CheckoutResponse> checkout(@Valid @RequestBody CheckoutRequest request) {
+        CheckoutResponse response = saleService.checkout(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<BulkWriteResponse> importSales(@Valid @RequestBody SaleImportRequest request) {
+        BulkWriteResponse response = saleService.importSales(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<SaleResponse> getSaleById(@PathVariable Integer id) {
         SaleResponse response = saleService.getSaleById(id);
@@ -50,6 +75,13 @@ public class SaleController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<CancellationResponse> cancelSale(@PathVariable Integer id,
+                                                           @RequestBody(required = false) CancelSaleRequest request) {
+        CancellationResponse response = returnService.cancelSale(id, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @GetMapping("/summary")
     public ResponseEntity<SalesSummaryResponse> getSalesSummary() {
         SalesSummaryResponse response = saleService.getSalesSummary();
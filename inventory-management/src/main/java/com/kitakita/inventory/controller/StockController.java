@@ -0,0 +1,41 @@
+package com.kitakita.inventory.controller;
+
+import com.kitakita.inventory.dto.response.StockDriftResponse;
+import com.kitakita.inventory.dto.response.StockLevelResponse;
+import com.kitakita.inventory.service.StockLedgerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/stock")
+@RequiredArgsConstructor
+public class StockController {
+
+    private final StockLedgerService stockLedgerService;
+
+    @GetMapping("/products/{productId}")
+    public StockLevelResponse getStockAt(
+            @PathVariable Integer productId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return stockLedgerService.getStockAt(productId, at);
+    }
+
+    @GetMapping("/drift")
+    public List<StockDriftResponse> getDrift() {
+        return stockLedgerService.findDrift();
+    }
+
+    @PostMapping("/rebuild")
+    public List<StockDriftResponse> rebuildQuantities() {
+        return stockLedgerService.rebuildQuantities();
+    }
+}
@@ -20,8 +20,12 @@ public class SupplierController {
     public ResponseEntity<PagedResponse<SupplierResponse>> getSuppliers(
             @RequestParam(required = false) String search,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        PagedResponse<SupplierResponse> response = supplierService.getSuppliers(search, page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
+        // Cursor mode: present "after" (empty for the first page) switches to keyset paging without a count
+        PagedResponse<SupplierResponse> response = after != null
+                ? supplierService.getSuppliersAfter(search, after, Math.max(size, 1))
+                : supplierService.getSuppliers(search, page, size);
         return ResponseEntity.ok(response);
     }
 
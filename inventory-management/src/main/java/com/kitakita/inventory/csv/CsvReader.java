@@ -0,0 +1,113 @@
+package com.kitakita.inventory.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: one record at a time, quoted fields may contain commas,
+ * doubled quotes and line breaks. Only the current record is held in memory.
+ */
+public class CsvReader implements AutoCloseable {
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private int pending = -2;
+    private long lineNumber = 1;
+    private long recordLine;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the next record, or {@code null} at end of input. Blank lines are skipped.
+     */
+    public List<String> next() throws IOException {
+        while (true) {
+            List<String> record = readRecord();
+            if (record == null) {
+                return null;
+            }
+            if (record.size() > 1 || !record.get(0).isEmpty()) {
+                return record;
+            }
+        }
+    }
+
+    /**
+     * The physical line the last returned record started on, counting from 1.
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = lineNumber;
+
+        List<String> record = new ArrayList<>();
+        boolean quoted = false;
+        field.setLength(0);
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pending = next;
+                    }
+                }
+                if (c != -1) {
+                    lineNumber++;
+                }
+                record.add(field.toString());
+                return record;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
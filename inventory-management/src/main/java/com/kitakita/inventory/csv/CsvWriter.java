@@ -0,0 +1,46 @@
+package com.kitakita.inventory.csv;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes RFC 4180 records, quoting only fields that contain a comma, quote or line break.
+ */
+public class CsvWriter {
+
+    private final Writer writer;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public void write(List<String> record) throws IOException {
+        for (int i = 0; i < record.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(record.get(i));
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,14 @@
+package com.kitakita.inventory.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CancelSaleRequest {
+    private String reason;
+}
@@ -0,0 +1,48 @@
+package com.kitakita.inventory.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutRequest {
+
+    @NotEmpty(message = "At least one line is required")
+    private List<@Valid Line> lines;
+
+    private String notes;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+
+        @NotNull(message = "Product is required")
+        private Integer productId;
+
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        private Integer quantity;
+
+        // Defaults to the product's selling price
+        @DecimalMin(value = "0.0", message = "Unit price cannot be negative")
+        private BigDecimal unitPrice;
+
+        // Defaults to the product's buying price
+        @DecimalMin(value = "0.0", message = "Buying price cannot be negative")
+        private BigDecimal buyingPrice;
+    }
+}
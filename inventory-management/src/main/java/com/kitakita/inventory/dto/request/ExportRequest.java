@@ -0,0 +1,16 @@
+package com.kitakita.inventory.dto.request;
+
+import com.kitakita.inventory.service.ExportJobService.ExportFormat;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class ExportRequest {
+
+    @NotNull(message = "Format is required")
+    private ExportFormat format;
+
+    private String search;
+
+    private Integer categoryId;
+}
@@ -48,8 +48,12 @@ public class ProductRequest {
 
     private LocalDate expiryDate;
 
+    // An image URL returned by /api/images, an external link, or a base64 data URL
     private String imageUrl;
 
+    // Key returned by POST /api/images; takes precedence over imageUrl
+    private String imageKey;
+
     private Boolean isActive = true;
 }
 
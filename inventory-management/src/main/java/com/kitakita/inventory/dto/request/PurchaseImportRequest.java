@@ -0,0 +1,17 @@
+package com.kitakita.inventory.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Purchases recorded in one go, e.g. when backfilling purchase history.
+ */
+@Data
+public class PurchaseImportRequest {
+
+    @NotEmpty(message = "At least one purchase is required")
+    private List<@Valid PurchaseRequest> purchases;
+}
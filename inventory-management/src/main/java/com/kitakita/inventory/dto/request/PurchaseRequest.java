@@ -10,6 +10,7 @@ import java.math.BigDecimal;
 @Data
 public class PurchaseRequest {
     
+    // Set from the path for single purchases; required in a PurchaseImportRequest
     private Integer productId;
     
     private Integer supplierId;
@@ -0,0 +1,24 @@
+package com.kitakita.inventory.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Returns processed together, e.g. a customer bringing back several items at once. Either all of
+ * them are recorded and restocked or none are.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReturnBatchRequest {
+
+    @NotEmpty(message = "At least one return is required")
+    private List<@Valid ReturnRequest> returns;
+}
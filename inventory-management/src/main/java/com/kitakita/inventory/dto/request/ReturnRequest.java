@@ -0,0 +1,34 @@
+package com.kitakita.inventory.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReturnRequest {
+
+    // The sale the units came from; leave empty for returns without a recorded sale
+    private Integer saleId;
+
+    @NotNull(message = "Product is required")
+    private Integer productId;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+
+    // Defaults to the product's selling price times the quantity
+    @DecimalMin(value = "0.0", message = "Refund amount cannot be negative")
+    private BigDecimal refundAmount;
+
+    private String reason;
+}
@@ -0,0 +1,65 @@
+package com.kitakita.inventory.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A log of sales rung up elsewhere (e.g. an offline POS terminal), recorded in one go.
+ * <p>
+ * {@code deductStock} must be given: true when the stock counts still include the units sold, false
+ * for history whose stock has already been counted (e.g. a stocktake taken after the sales).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaleImportRequest {
+
+    @NotEmpty(message = "At least one sale is required")
+    private List<@Valid Line> sales;
+
+    @NotNull(message = "deductStock is required")
+    private Boolean deductStock;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+
+        @NotNull(message = "Product is required")
+        private Integer productId;
+
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        private Integer quantity;
+
+        // Defaults to the product's selling price
+        @DecimalMin(value = "0.0", message = "Unit price cannot be negative")
+        private BigDecimal unitPrice;
+
+        // Defaults to the product's buying price
+        @DecimalMin(value = "0.0", message = "Buying price cannot be negative")
+        private BigDecimal buyingPrice;
+
+        // When the sale happened; defaults to now
+        @PastOrPresent(message = "Sale date cannot be in the future")
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        private LocalDateTime saleDate;
+
+        private String notes;
+    }
+}
@@ -0,0 +1,18 @@
+package com.kitakita.inventory.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkWriteResponse {
+    private Integer created;
+    private Integer totalQuantity;
+    private BigDecimal totalValue;
+}
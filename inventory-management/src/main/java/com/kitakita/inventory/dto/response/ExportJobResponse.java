@@ -0,0 +1,22 @@
+package com.kitakita.inventory.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class ExportJobResponse {
+    private String jobId;
+    private String format;
+    private String status;
+    private long rowsWritten;
+    private Long totalRows;
+    private Integer progressPercent;
+    private String fileName;
+    private String downloadUrl;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
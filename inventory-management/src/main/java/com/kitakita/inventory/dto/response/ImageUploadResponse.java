@@ -0,0 +1,12 @@
+package com.kitakita.inventory.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ImageUploadResponse {
+    private String imageKey;
+    private String imageUrl;
+    private String thumbnailUrl;
+}
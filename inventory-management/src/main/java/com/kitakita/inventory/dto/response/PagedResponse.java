@@ -9,12 +9,15 @@ import java.util.List;
 @Builder
 public class PagedResponse<T> {
     private List<T> content;
-    private long totalElements;
-    private int totalPages;
+    // Null in cursor mode, which skips the count query
+    private Long totalElements;
+    private Integer totalPages;
     private int page;
     private int size;
     private boolean hasNext;
     private boolean hasPrevious;
+    // Pass as "after" to fetch the next page; only set in cursor mode
+    private String nextCursor;
 }
 
 
@@ -0,0 +1,24 @@
+package com.kitakita.inventory.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Counters of the current user's product import while it runs; {@code running} is false when no
+ * import is in progress, and the final counts are in the import's own response.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportProgressResponse {
+    private boolean running;
+    private LocalDateTime startedAt;
+    private long rowsRead;
+    private long rowsWritten;
+    private long rowsRejected;
+}
@@ -0,0 +1,30 @@
+package com.kitakita.inventory.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResponse {
+    private long totalRows;
+    private long created;
+    private long updated;
+    private long failed;
+    private List<RowError> errors;
+    // True when more rows failed than are listed in errors
+    private boolean errorsTruncated;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
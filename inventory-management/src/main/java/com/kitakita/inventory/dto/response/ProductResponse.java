@@ -27,6 +27,7 @@ public class ProductResponse {
     private Integer onTheWay;
     private LocalDate expiryDate;
     private String imageUrl;
+    private String thumbnailUrl;
     private Boolean isActive;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -23,6 +23,7 @@ public class ReportsResponse {
         private BigDecimal sales;
         private BigDecimal netPurchaseValue;
         private BigDecimal netSalesValue;
+        private BigDecimal refunds;
         private BigDecimal momProfit;
         private BigDecimal yoyProfit;
     }
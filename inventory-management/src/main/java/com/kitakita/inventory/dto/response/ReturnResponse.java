@@ -0,0 +1,20 @@
+package com.kitakita.inventory.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class ReturnResponse {
+    private Integer returnId;
+    private Integer saleId;
+    private Integer productId;
+    private String productName;
+    private Integer quantity;
+    private BigDecimal refundAmount;
+    private LocalDateTime returnDate;
+    private String reason;
+}
@@ -16,6 +16,7 @@ import java.time.LocalDateTime;
 public class SaleResponse {
     private Integer saleId;
     private String saleCode;
+    private String receiptCode;
     private Integer productId;
     private String productName;
     private Integer quantity;
@@ -27,4 +28,5 @@ public class SaleResponse {
     private LocalDateTime saleDate;
     
     private String notes;
+    private Boolean stockDeducted;
 }
\ No newline at end of file
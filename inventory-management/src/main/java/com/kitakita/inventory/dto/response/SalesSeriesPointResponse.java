@@ -0,0 +1,22 @@
+package com.kitakita.inventory.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class SalesSeriesPointResponse {
+    private LocalDate periodStart;
+    private long saleCount;
+    private long quantity;
+    private BigDecimal revenue;
+    private BigDecimal cost;
+    private long returnedQuantity;
+    private BigDecimal refunds;
+    private BigDecimal netRevenue;
+    // Net of returns and cancellations
+    private BigDecimal profit;
+}
@@ -15,4 +15,6 @@ public class SalesSummaryResponse {
     private BigDecimal totalSalesValue;
     private Long totalSalesCount;
     private Long totalProductsSold;
+    private BigDecimal totalRefunds;
+    private BigDecimal netSalesValue;
 }
\ No newline at end of file
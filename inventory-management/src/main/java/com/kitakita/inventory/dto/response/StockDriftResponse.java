@@ -0,0 +1,20 @@
+package com.kitakita.inventory.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockDriftResponse {
+    private Integer productId;
+    private String productCode;
+    private String productName;
+    // products.quantity
+    private long quantity;
+    // Latest snapshot plus the movements since
+    private long ledgerQuantity;
+}
@@ -0,0 +1,20 @@
+package com.kitakita.inventory.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevelResponse {
+    private Integer productId;
+    private LocalDateTime at;
+    private long quantity;
+    // Snapshot the level was replayed from; null when the whole ledger was summed
+    private LocalDateTime snapshotAt;
+}
@@ -8,7 +8,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "cancelled_orders")
+@Table(name = "cancelled_orders",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_cancelled_orders_sale",
+                columnNames = "original_sale_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,6 +36,10 @@ public class CancelledOrder {
     @Column(name = "refund_amount", nullable = false, precision = 10, scale = 2)
     private BigDecimal refundAmount;
 
+    // The sale's buying price, taken back out of the cost of sales
+    @Column(name = "unit_cost", precision = 10, scale = 2)
+    private BigDecimal unitCost;
+
     @CreationTimestamp
     @Column(name = "cancellation_date", updatable = false)
     private LocalDateTime cancellationDate;
@@ -0,0 +1,32 @@
+package com.kitakita.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Counter bumped by every write to a user's data, used to answer conditional GETs without
+ * recomputing the response. The row with user id {@link #SHARED} versions data shared by all
+ * users (categories). Maintained by {@link com.kitakita.inventory.service.DataVersionService}.
+ */
+@Entity
+@Table(name = "data_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DataVersion {
+
+    public static final int SHARED = 0;
+
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
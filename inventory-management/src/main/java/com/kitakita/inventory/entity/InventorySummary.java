@@ -0,0 +1,45 @@
+package com.kitakita.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized per-user inventory totals backing the dashboard. Maintained incrementally by
+ * {@link com.kitakita.inventory.service.InventorySummaryService} on every stock-affecting write.
+ */
+@Entity
+@Table(name = "inventory_summaries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventorySummary {
+
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Column(name = "total_products", nullable = false)
+    private long totalProducts;
+
+    @Column(name = "total_quantity", nullable = false)
+    private long totalQuantity;
+
+    @Column(name = "on_the_way", nullable = false)
+    private long onTheWay;
+
+    @Column(name = "low_stock_count", nullable = false)
+    private long lowStockCount;
+
+    @Column(name = "inventory_value", nullable = false, precision = 14, scale = 2)
+    private BigDecimal inventoryValue;
+
+    @Column(nullable = false)
+    private long revision;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,45 @@
+package com.kitakita.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "inventory_summary_buckets",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_inventory_summary_bucket",
+                columnNames = {"user_id", "bucket_type", "bucket_key"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventorySummaryBucket {
+
+    // Key of the bucket holding products without a category or supplier
+    public static final int NO_KEY = 0;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "bucket_id")
+    private Long bucketId;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "bucket_type", nullable = false, length = 20)
+    private BucketType bucketType;
+
+    // Category id, supplier id, or yyyyMM month depending on the bucket type; NO_KEY when unset
+    @Column(name = "bucket_key", nullable = false)
+    private Integer bucketKey;
+
+    @Column(name = "product_count", nullable = false)
+    private long productCount;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    public enum BucketType {
+        CATEGORY, SUPPLIER, MONTH
+    }
+}
@@ -3,14 +3,18 @@ package com.kitakita.inventory.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+// Stock levels are written by StockService with conditional UPDATEs; an entity flush must only write
+// the columns it changed, or it would put back the quantity it loaded
 @Entity
 @Table(name = "products")
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -64,10 +68,14 @@ public class Product {
     @Column(name = "expiry_date")
     private LocalDate expiryDate;
     
+    // Legacy inline images (data URLs) and external image links; uploaded images use imageKey
     @Lob
     @Column(name = "image_url", columnDefinition = "MEDIUMTEXT")
     private String imageUrl;
     
+    @Column(name = "image_key", length = 80)
+    private String imageKey;
+    
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
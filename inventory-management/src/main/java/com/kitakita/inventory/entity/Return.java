@@ -20,6 +20,10 @@ public class Return {
     @Column(name = "return_id")
     private Integer returnId;
 
+    // The sale the units came from; null for returns not tied to a recorded sale
+    @Column(name = "original_sale_id")
+    private Integer originalSaleId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
@@ -31,9 +35,14 @@ public class Return {
     @Column(nullable = false)
     private Integer quantity;
 
+    // Amount refunded to the customer
     @Column(name = "return_value", nullable = false, precision = 10, scale = 2)
     private BigDecimal returnValue;
 
+    // Buying price of the returned units, taken back out of the cost of sales
+    @Column(name = "unit_cost", precision = 10, scale = 2)
+    private BigDecimal unitCost;
+
     @CreationTimestamp
     @Column(name = "return_date", updatable = false)
     private LocalDateTime returnDate;
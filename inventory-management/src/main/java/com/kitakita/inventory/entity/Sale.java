@@ -3,6 +3,7 @@ package com.kitakita.inventory.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -23,6 +24,10 @@ public class Sale {
     @Column(name = "sale_code", unique = true, nullable = false)
     private String saleCode;
     
+    // Shared by all lines of a checkout; null for sales recorded one at a time
+    @Column(name = "receipt_code", length = 32)
+    private String receiptCode;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
@@ -43,10 +48,20 @@ public class Sale {
     @Column(name = "sale_date", updatable = false)
     private LocalDateTime saleDate;
     
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
     @Column(columnDefinition = "TEXT")
     private String notes;
+    
+    // False for imported history that was recorded without taking the units out of stock. The
+    // database default marks sales that predate the column as deducted when ddl-auto adds it
+    @Builder.Default
+    @Column(name = "stock_deducted", nullable = false, columnDefinition = "BOOLEAN NOT NULL DEFAULT TRUE")
+    private Boolean stockDeducted = true;
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.kitakita.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Sales totals per user, product and day. Kept current by the sale service so that sales
+ * analytics read a few rows per day instead of scanning the {@code sales} table. Returns and
+ * cancellations are counted on the day they are processed, not on the day of the sale.
+ */
+@Entity
+@Table(name = "sales_daily_rollup",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_sales_daily_rollup",
+                columnNames = {"user_id", "product_id", "sales_day"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long rollupId;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(name = "product_id", nullable = false)
+    private Integer productId;
+
+    @Column(name = "category_id")
+    private Integer categoryId;
+
+    @Column(name = "sales_day", nullable = false)
+    private LocalDate salesDay;
+
+    @Column(name = "sale_count", nullable = false)
+    private long saleCount;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal cost;
+
+    @Column(name = "returned_quantity", nullable = false)
+    private long returnedQuantity;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal refunds;
+
+    // Buying price of the returned units
+    @Column(name = "returned_cost", nullable = false, precision = 14, scale = 2)
+    private BigDecimal returnedCost;
+}
@@ -0,0 +1,69 @@
+package com.kitakita.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change to a product's stock, appended by every path that moves stock and never updated.
+ * A product's level at any time is its latest {@link StockSnapshot} plus the deltas after it.
+ * Ids are kept as plain columns so the ledger outlives deleted products.
+ */
+@Entity
+@Table(name = "stock_movements")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "movement_id")
+    private Long movementId;
+
+    @Column(name = "product_id", nullable = false)
+    private Integer productId;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "movement_type", nullable = false, length = 20)
+    private MovementType movementType;
+
+    // Signed change in units on hand
+    @Column(nullable = false)
+    private int delta;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    public static StockMovement of(Product product, int delta, MovementType type) {
+        return StockMovement.builder()
+                .productId(product.getProductId())
+                .userId(product.getUser().getUserId())
+                .movementType(type)
+                .delta(delta)
+                .build();
+    }
+
+    public enum MovementType {
+        // Stock a product was created or imported with
+        OPENING,
+        // Quantity typed into the product form or an import update
+        EDIT,
+        SALE,
+        // A sale edited or deleted after the fact
+        SALE_CHANGE,
+        PURCHASE,
+        ADJUSTMENT,
+        // Stocktake correction to a counted value
+        STOCKTAKE,
+        // Goods a customer brought back
+        RETURN,
+        // A sale cancelled after checkout
+        CANCELLATION
+    }
+}
@@ -1,6 +1,7 @@
 package com.kitakita.inventory.entity;
 
 import jakarta.persistence.*;
+import com.kitakita.inventory.security.UserCacheEvictionListener;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 
@@ -8,6 +9,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheEvictionListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
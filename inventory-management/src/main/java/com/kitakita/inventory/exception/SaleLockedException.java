@@ -0,0 +1,11 @@
+package com.kitakita.inventory.exception;
+
+/**
+ * Thrown when a sale that has been cancelled or returned against is changed, since its stock and
+ * refunds have already been accounted for.
+ */
+public class SaleLockedException extends RuntimeException {
+    public SaleLockedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,37 @@
+package com.kitakita.inventory.pagination;
+
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated list: the sort key of the last row returned plus its id as a
+ * tie-breaker. Clients only ever see the opaque {@link #encode() encoded} form.
+ */
+public record Cursor(String sortKey, Integer id) {
+
+    public String encode() {
+        String raw = id + ":" + (sortKey != null ? sortKey : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}; a blank token means "first page" and
+     * returns {@code null}.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static Cursor decode(String token) {
+        if (!StringUtils.hasText(token)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new Cursor(raw.substring(separator + 1), Integer.valueOf(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.kitakita.inventory.querycount;
+
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,31 @@
+package com.kitakita.inventory.querycount;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Applies the matched endpoint's budget to the request's open {@link QueryCounter.Scope}.
+ */
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    private final QueryCounter queryCounter;
+    private final QueryBudgetProperties properties;
+
+    public QueryBudgetInterceptor(QueryCounter queryCounter, QueryBudgetProperties properties) {
+        this.queryCounter = queryCounter;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCounter.Scope scope = queryCounter.current();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (scope != null && pattern != null) {
+            String endpoint = request.getMethod() + " " + pattern;
+            scope.assign(endpoint, properties.budgetFor(endpoint));
+        }
+        return true;
+    }
+}
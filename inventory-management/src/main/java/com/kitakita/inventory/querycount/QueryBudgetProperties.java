@@ -0,0 +1,42 @@
+package com.kitakita.inventory.querycount;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-request SQL statement budgets. Endpoint keys are the HTTP method and the mapped path
+ * pattern, e.g. {@code query.budget.endpoints.[GET /api/products]=6}; unlisted endpoints get
+ * {@link #maxQueries}.
+ */
+@Data
+@ConfigurationProperties(prefix = "query.budget")
+public class QueryBudgetProperties {
+
+    public enum Mode {
+        /** Log requests over budget and let them complete. */
+        LOG,
+        /** Abort the request with an error at the first statement over budget. */
+        FAIL
+    }
+
+    private boolean enabled = true;
+
+    private int maxQueries = 30;
+
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    private Mode mode = Mode.LOG;
+
+    /** Adds an {@code X-Query-Count} response header; meant for development and tests. */
+    private boolean header = false;
+
+    /** Identical statements repeated this often in one request are logged as a likely N+1. */
+    private int repeatThreshold = 10;
+
+    public int budgetFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, maxQueries);
+    }
+}
@@ -0,0 +1,135 @@
+package com.kitakita.inventory.querycount;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Counts the SQL statements each request runs, from before authentication until the response
+ * completes. Requests over their budget and statements repeated often enough to suggest an N+1
+ * are logged; every count is recorded as {@code http.server.requests.queries} by endpoint.
+ * <p>
+ * With {@code query.budget.header} enabled the count is also sent as {@value #HEADER}, taken when
+ * the response body starts (or at the end for responses without a body).
+ */
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Query-Count";
+
+    private final QueryCounter queryCounter;
+    private final QueryBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountFilter(QueryCounter queryCounter, QueryBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.queryCounter = queryCounter;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryCounter.Scope scope = queryCounter.start(properties.getMaxQueries(),
+                properties.getMode() == QueryBudgetProperties.Mode.FAIL, true);
+        HeaderWritingResponse countingResponse = properties.isHeader() ? new HeaderWritingResponse(response, scope) : null;
+        try {
+            filterChain.doFilter(request, countingResponse != null ? countingResponse : response);
+        } finally {
+            queryCounter.stop();
+            if (countingResponse != null) {
+                countingResponse.writeHeader();
+            }
+            report(request, scope);
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryCounter.Scope scope) {
+        String endpoint = scope.getEndpoint() != null ? scope.getEndpoint() : request.getMethod() + " UNMAPPED";
+
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("SQL statements run per request")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(scope.getCount());
+
+        if (scope.isOverBudget()) {
+            log.warn("{} ran {} SQL statements, over its budget of {}", endpoint, scope.getCount(), scope.getBudget());
+        }
+        scope.repeatedAtLeast(properties.getRepeatThreshold()).forEach((sql, times) ->
+                log.warn("Possible N+1 on {}: statement ran {} times: {}", endpoint, times, sql));
+    }
+
+    /**
+     * Sets the count header just before the response commits, while headers can still be added.
+     */
+    private static final class HeaderWritingResponse extends HttpServletResponseWrapper {
+
+        private final QueryCounter.Scope scope;
+        private boolean written;
+
+        HeaderWritingResponse(HttpServletResponse response, QueryCounter.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        void writeHeader() {
+            if (!written && !isCommitted()) {
+                setHeader(HEADER, String.valueOf(scope.getCount()));
+            }
+            written = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
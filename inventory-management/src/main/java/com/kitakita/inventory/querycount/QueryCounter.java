@@ -0,0 +1,141 @@
+package com.kitakita.inventory.querycount;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a {@link Scope} is
+ * open. Installed as Hibernate's {@link StatementInspector}; statements are passed through
+ * unchanged. Work on other threads (background exports, streamed responses) is not counted.
+ * <p>
+ * JDBC access through {@code JdbcTemplate} (bulk inserts) bypasses Hibernate and is not counted.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+
+    /**
+     * Starts counting on this thread. Scopes do not nest: starting a new one replaces the current one.
+     */
+    public Scope start(int budget, boolean failOverBudget, boolean trackRepeats) {
+        Scope scope = new Scope(budget, failOverBudget, trackRepeats);
+        current.set(scope);
+        return scope;
+    }
+
+    /**
+     * The open scope on this thread, or {@code null} when statements are not being counted.
+     */
+    public Scope current() {
+        return current.get();
+    }
+
+    /**
+     * Runs {@code work} in a fresh scope with no budget and returns the number of statements it ran.
+     */
+    public long count(Runnable work) {
+        return measure(() -> {
+            work.run();
+            return null;
+        }).statements();
+    }
+
+    public <T> Measured<T> measure(Supplier<T> work) {
+        Scope previous = current.get();
+        Scope scope = start(Integer.MAX_VALUE, false, false);
+        try {
+            T result = work.get();
+            return new Measured<>(result, scope.getCount());
+        } finally {
+            if (previous != null) {
+                current.set(previous);
+            } else {
+                current.remove();
+            }
+        }
+    }
+
+    public void stop() {
+        current.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = current.get();
+        if (scope != null) {
+            scope.record(sql);
+        }
+        return sql;
+    }
+
+    public record Measured<T>(T result, long statements) {
+    }
+
+    public static final class Scope {
+
+        private final boolean failOverBudget;
+        private final Map<String, Integer> repeats;
+        private int budget;
+        private String endpoint;
+        private long count;
+
+        private Scope(int budget, boolean failOverBudget, boolean trackRepeats) {
+            this.budget = budget;
+            this.failOverBudget = failOverBudget;
+            this.repeats = trackRepeats ? new HashMap<>() : null;
+        }
+
+        /**
+         * Narrows the budget once the request has been matched to an endpoint.
+         */
+        public void assign(String endpoint, int budget) {
+            this.endpoint = endpoint;
+            this.budget = budget;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public int getBudget() {
+            return budget;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public boolean isOverBudget() {
+            return count > budget;
+        }
+
+        /**
+         * Statements that ran at least {@code threshold} times, with their counts.
+         */
+        public Map<String, Integer> repeatedAtLeast(int threshold) {
+            Map<String, Integer> repeated = new HashMap<>();
+            if (repeats != null) {
+                repeats.forEach((sql, times) -> {
+                    if (times >= threshold) {
+                        repeated.put(sql, times);
+                    }
+                });
+            }
+            return repeated;
+        }
+
+        private void record(String sql) {
+            count++;
+            if (repeats != null) {
+                repeats.merge(sql, 1, Integer::sum);
+            }
+            if (failOverBudget && count == budget + 1L) {
+                throw new QueryBudgetExceededException((endpoint != null ? endpoint : "Request")
+                        + " exceeded its budget of " + budget + " SQL statements");
+            }
+        }
+    }
+}
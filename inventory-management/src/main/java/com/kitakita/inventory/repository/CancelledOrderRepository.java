@@ -0,0 +1,25 @@
+package com.kitakita.inventory.repository;
+
+import com.kitakita.inventory.entity.CancelledOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CancelledOrderRepository extends JpaRepository<CancelledOrder, Integer> {
+
+    boolean existsByOriginalSaleId(Integer originalSaleId);
+
+    @Query("SELECT c.originalSaleId FROM CancelledOrder c WHERE c.originalSaleId IN :saleIds")
+    List<Integer> findCancelledSaleIds(@Param("saleIds") Collection<Integer> saleIds);
+
+    @Query("SELECT c FROM CancelledOrder c JOIN FETCH c.product p WHERE p.user.userId = :userId " +
+           "ORDER BY c.cancellationDate DESC, c.cancelId DESC")
+    Slice<CancelledOrder> findByUserId(@Param("userId") Integer userId, Pageable pageable);
+}
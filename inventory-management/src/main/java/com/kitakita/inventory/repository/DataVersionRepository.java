@@ -0,0 +1,23 @@
+package com.kitakita.inventory.repository;
+
+import com.kitakita.inventory.entity.DataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface DataVersionRepository extends JpaRepository<DataVersion, Integer> {
+
+    @Query("SELECT v.version FROM DataVersion v WHERE v.userId = :userId")
+    Optional<Long> findVersion(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO data_versions (user_id, version, updated_at) VALUES (:userId, 1, CURRENT_TIMESTAMP) " +
+                   "ON DUPLICATE KEY UPDATE version = version + 1, updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int increment(@Param("userId") Integer userId);
+}
@@ -1,22 +1,45 @@
 package com.kitakita.inventory.repository;
 
 import com.kitakita.inventory.entity.InventoryAdjustment;
-import com.kitakita.inventory.entity.User;
-import org.springframework.data.domain.Page;
+import com.kitakita.inventory.repository.projection.AdjustmentDataRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
 
 @Repository
 public interface InventoryAdjustmentRepository extends JpaRepository<InventoryAdjustment, Integer> {
     
-    @Query("SELECT ia FROM InventoryAdjustment ia WHERE ia.product.user = :user AND ia.product.productId = :productId")
-    List<InventoryAdjustment> findByUserAndProductId(@Param("user") User user, @Param("productId") Integer productId);
+    // Product history, newest first; the user filter doubles as the ownership check
+    @Query("SELECT ia FROM InventoryAdjustment ia JOIN FETCH ia.product p LEFT JOIN FETCH ia.adjustedBy " +
+           "WHERE p.productId = :productId AND p.user.userId = :userId " +
+           "ORDER BY ia.adjustmentDate DESC, ia.adjustmentId DESC")
+    Slice<InventoryAdjustment> findHistory(@Param("userId") Integer userId, @Param("productId") Integer productId,
+                                           Pageable pageable);
     
-    @Query("SELECT ia FROM InventoryAdjustment ia WHERE ia.product.user = :user AND ia.product.productId = :productId")
-    Page<InventoryAdjustment> findByUserAndProductId(@Param("user") User user, @Param("productId") Integer productId, Pageable pageable);
+    // Adjustments are never edited, so "changed since" is the adjustment date
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ProductRepository.STREAM_FETCH_SIZE))
+    @Query("""
+            SELECT ia.adjustmentId AS adjustmentId, p.productId AS productId, p.productCode AS productCode,
+                   p.productName AS productName, ia.adjustmentType AS adjustmentType, ia.quantity AS quantity,
+                   ia.reason AS reason, ia.adjustmentDate AS adjustmentDate
+            FROM InventoryAdjustment ia JOIN ia.product p
+            WHERE p.user.userId = :userId
+              AND (:from IS NULL OR ia.adjustmentDate >= :from)
+              AND (:to IS NULL OR ia.adjustmentDate < :to)
+              AND (:changedSince IS NULL OR ia.adjustmentDate >= :changedSince)
+            ORDER BY ia.adjustmentId
+            """)
+    Stream<AdjustmentDataRow> streamDataRows(@Param("userId") Integer userId,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to,
+                                             @Param("changedSince") LocalDateTime changedSince);
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.kitakita.inventory.repository;
+
+import com.kitakita.inventory.entity.InventorySummaryBucket;
+import com.kitakita.inventory.entity.InventorySummaryBucket.BucketType;
+import com.kitakita.inventory.repository.projection.SummaryBucketTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface InventorySummaryBucketRepository extends JpaRepository<InventorySummaryBucket, Long> {
+
+    @Query("SELECT b FROM InventorySummaryBucket b WHERE b.userId = :userId AND b.bucketType = :bucketType AND b.productCount > 0")
+    List<InventorySummaryBucket> findActiveBuckets(@Param("userId") Integer userId, @Param("bucketType") BucketType bucketType);
+
+    @Query("SELECT b.bucketType AS bucketType, b.bucketKey AS bucketKey, b.productCount AS productCount, " +
+           "b.quantity AS quantity FROM InventorySummaryBucket b WHERE b.userId = :userId AND b.productCount > 0")
+    List<SummaryBucketTotal> findActiveTotals(@Param("userId") Integer userId);
+
+    // Products without a category or supplier do not count as one
+    @Query("SELECT COUNT(b) FROM InventorySummaryBucket b WHERE b.userId = :userId AND b.bucketType = :bucketType " +
+           "AND b.productCount > 0 AND b.bucketKey <> " + InventorySummaryBucket.NO_KEY)
+    long countActiveBuckets(@Param("userId") Integer userId, @Param("bucketType") BucketType bucketType);
+
+    @Modifying
+    @Query(value = "INSERT INTO inventory_summary_buckets (user_id, bucket_type, bucket_key, product_count, quantity) " +
+                   "VALUES (:userId, :bucketType, :bucketKey, :productCount, :quantity) " +
+                   "ON DUPLICATE KEY UPDATE product_count = product_count + VALUES(product_count), " +
+                   "quantity = quantity + VALUES(quantity)",
+           nativeQuery = true)
+    int upsertDelta(@Param("userId") Integer userId,
+                    @Param("bucketType") String bucketType,
+                    @Param("bucketKey") Integer bucketKey,
+                    @Param("productCount") long productCount,
+                    @Param("quantity") long quantity);
+
+    /*
+     * Rebuilds write each bucket type's totals straight from products in one statement. They
+     * overwrite rather than add, so running a rebuild twice (or concurrently) gives the same totals.
+     * Keys match InventorySummaryService.Contribution, with NO_KEY for a missing category or supplier.
+     */
+
+    @Modifying
+    @Query(value = "INSERT INTO inventory_summary_buckets (user_id, bucket_type, bucket_key, product_count, quantity) " +
+                   "SELECT :userId, 'CATEGORY', COALESCE(category_id, " + InventorySummaryBucket.NO_KEY + "), " +
+                   "COUNT(*), COALESCE(SUM(quantity), 0) FROM products WHERE user_id = :userId " +
+                   "GROUP BY COALESCE(category_id, " + InventorySummaryBucket.NO_KEY + ") " +
+                   "ON DUPLICATE KEY UPDATE product_count = VALUES(product_count), quantity = VALUES(quantity)",
+           nativeQuery = true)
+    int rebuildCategoryBuckets(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO inventory_summary_buckets (user_id, bucket_type, bucket_key, product_count, quantity) " +
+                   "SELECT :userId, 'SUPPLIER', COALESCE(supplier_id, " + InventorySummaryBucket.NO_KEY + "), " +
+                   "COUNT(*), COALESCE(SUM(quantity), 0) FROM products WHERE user_id = :userId " +
+                   "GROUP BY COALESCE(supplier_id, " + InventorySummaryBucket.NO_KEY + ") " +
+                   "ON DUPLICATE KEY UPDATE product_count = VALUES(product_count), quantity = VALUES(quantity)",
+           nativeQuery = true)
+    int rebuildSupplierBuckets(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO inventory_summary_buckets (user_id, bucket_type, bucket_key, product_count, quantity) " +
+                   "SELECT :userId, 'MONTH', " +
+                   "YEAR(COALESCE(updated_at, created_at)) * 100 + MONTH(COALESCE(updated_at, created_at)), " +
+                   "COUNT(*), COALESCE(SUM(quantity), 0) FROM products WHERE user_id = :userId " +
+                   "GROUP BY YEAR(COALESCE(updated_at, created_at)) * 100 + MONTH(COALESCE(updated_at, created_at)) " +
+                   "ON DUPLICATE KEY UPDATE product_count = VALUES(product_count), quantity = VALUES(quantity)",
+           nativeQuery = true)
+    int rebuildMonthBuckets(@Param("userId") Integer userId);
+
+    // Rows are zeroed instead of deleted so a concurrent rebuild never re-inserts a key that is being removed
+    @Modifying
+    @Query("UPDATE InventorySummaryBucket b SET b.productCount = 0, b.quantity = 0 WHERE b.userId = :userId")
+    int resetByUserId(@Param("userId") Integer userId);
+}
@@ -0,0 +1,68 @@
+package com.kitakita.inventory.repository;
+
+import com.kitakita.inventory.entity.InventorySummary;
+import com.kitakita.inventory.repository.projection.InventoryTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InventorySummaryRepository extends JpaRepository<InventorySummary, Integer> {
+
+    @Modifying
+    @Query("""
+            UPDATE InventorySummary s
+            SET s.totalProducts = s.totalProducts + :products,
+                s.totalQuantity = s.totalQuantity + :quantity,
+                s.onTheWay = s.onTheWay + :onTheWay,
+                s.lowStockCount = s.lowStockCount + :lowStock,
+                s.inventoryValue = s.inventoryValue + :value,
+                s.revision = s.revision + 1,
+                s.updatedAt = CURRENT_TIMESTAMP
+            WHERE s.userId = :userId
+            """)
+    int applyDelta(@Param("userId") Integer userId,
+                   @Param("products") long products,
+                   @Param("quantity") long quantity,
+                   @Param("onTheWay") long onTheWay,
+                   @Param("lowStock") long lowStock,
+                   @Param("value") BigDecimal value);
+
+    // Insert-or-overwrite keyed by user, so concurrent first builds cannot collide on the primary key
+    @Modifying
+    @Query(value = "INSERT INTO inventory_summaries (user_id, total_products, total_quantity, on_the_way, " +
+                   "low_stock_count, inventory_value, revision, updated_at) " +
+                   "VALUES (:userId, :products, :quantity, :onTheWay, :lowStock, :value, 1, CURRENT_TIMESTAMP) " +
+                   "ON DUPLICATE KEY UPDATE total_products = VALUES(total_products), " +
+                   "total_quantity = VALUES(total_quantity), on_the_way = VALUES(on_the_way), " +
+                   "low_stock_count = VALUES(low_stock_count), inventory_value = VALUES(inventory_value), " +
+                   "revision = revision + 1, updated_at = VALUES(updated_at)",
+           nativeQuery = true)
+    int upsertTotals(@Param("userId") Integer userId,
+                     @Param("products") long products,
+                     @Param("quantity") long quantity,
+                     @Param("onTheWay") long onTheWay,
+                     @Param("lowStock") long lowStock,
+                     @Param("value") BigDecimal value);
+
+    // Read as values rather than the entity, so a summary loaded earlier in the transaction cannot mask an update
+    @Query("""
+            SELECT s.totalProducts AS totalProducts,
+                   s.totalQuantity AS totalQuantity,
+                   s.onTheWay AS onTheWay,
+                   s.lowStockCount AS lowStockCount,
+                   s.inventoryValue AS inventoryValue
+            FROM InventorySummary s
+            WHERE s.userId = :userId
+            """)
+    Optional<InventoryTotals> findTotals(@Param("userId") Integer userId);
+
+    @Query("SELECT u.userId FROM User u WHERE NOT EXISTS (SELECT 1 FROM InventorySummary s WHERE s.userId = u.userId)")
+    List<Integer> findUserIdsWithoutSummary();
+}
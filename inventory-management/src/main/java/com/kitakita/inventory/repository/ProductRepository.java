@@ -2,33 +2,224 @@ package com.kitakita.inventory.repository;
 
 import com.kitakita.inventory.entity.Product;
 import com.kitakita.inventory.entity.User;
+import com.kitakita.inventory.repository.projection.InventoryExportRow;
+import com.kitakita.inventory.repository.projection.InventoryTotals;
+import com.kitakita.inventory.repository.projection.ProductDataRow;
+import com.kitakita.inventory.repository.projection.ProductImageUrl;
+import com.kitakita.inventory.repository.projection.ProductListRow;
+import com.kitakita.inventory.repository.projection.ProductQuantity;
+import com.kitakita.inventory.repository.projection.ProductSearchEntry;
+import com.kitakita.inventory.repository.projection.ProductStockLevel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Integer> {
+public interface ProductRepository extends JpaRepository<Product, Integer>, ProductRepositoryCustom {
 
-    @Query("""
-            SELECT p FROM Product p
+    String PRODUCT_LIST_ROW = """
+            SELECT p.productId AS productId, p.productName AS productName, p.productCode AS productCode,
+                   c.categoryId AS categoryId, c.categoryName AS categoryName,
+                   s.supplierId AS supplierId, s.supplierName AS supplierName, s.contactNumber AS supplierContact,
+                   p.buyingPrice AS buyingPrice, p.sellingPrice AS sellingPrice, p.unit AS unit,
+                   p.quantity AS quantity, p.thresholdValue AS thresholdValue, p.openingStock AS openingStock,
+                   p.onTheWay AS onTheWay, p.expiryDate AS expiryDate, p.imageKey AS imageKey,
+                   p.isActive AS isActive, p.createdAt AS createdAt, p.updatedAt AS updatedAt
+            FROM Product p LEFT JOIN p.category c LEFT JOIN p.supplier s
+            """;
+
+    @Query(value = PRODUCT_LIST_ROW + """
+            WHERE p.user = :user
+              AND (:search IS NULL OR LOWER(p.productName) LIKE LOWER(CONCAT('%', :search, '%'))
+                OR LOWER(p.productCode) LIKE LOWER(CONCAT('%', :search, '%')))
+              AND (:categoryId IS NULL OR c.categoryId = :categoryId)
+            """,
+           countQuery = """
+            SELECT COUNT(p) FROM Product p
             WHERE p.user = :user
               AND (:search IS NULL OR LOWER(p.productName) LIKE LOWER(CONCAT('%', :search, '%'))
                 OR LOWER(p.productCode) LIKE LOWER(CONCAT('%', :search, '%')))
               AND (:categoryId IS NULL OR p.category.categoryId = :categoryId)
             """)
-    Page<Product> searchProducts(
+    Page<ProductListRow> searchProductRows(
             @Param("user") User user,
             @Param("search") String search,
             @Param("categoryId") Integer categoryId,
             Pageable pageable
     );
 
+    @Query(value = PRODUCT_LIST_ROW + """
+            WHERE p.user = :user
+              AND p.productId IN :productIds
+              AND (:categoryId IS NULL OR c.categoryId = :categoryId)
+            """,
+           countQuery = """
+            SELECT COUNT(p) FROM Product p
+            WHERE p.user = :user
+              AND p.productId IN :productIds
+              AND (:categoryId IS NULL OR p.category.categoryId = :categoryId)
+            """)
+    Page<ProductListRow> searchProductRowsByIds(
+            @Param("user") User user,
+            @Param("productIds") Collection<Integer> productIds,
+            @Param("categoryId") Integer categoryId,
+            Pageable pageable
+    );
+
+    // Keyset pages by product name; afterName/afterId are the last row of the previous page
+    @Query(PRODUCT_LIST_ROW + """
+            WHERE p.user = :user
+              AND (:search IS NULL OR LOWER(p.productName) LIKE LOWER(CONCAT('%', :search, '%'))
+                OR LOWER(p.productCode) LIKE LOWER(CONCAT('%', :search, '%')))
+              AND (:categoryId IS NULL OR c.categoryId = :categoryId)
+              AND (:afterName IS NULL OR p.productName > :afterName
+                OR (p.productName = :afterName AND p.productId > :afterId))
+            ORDER BY p.productName ASC, p.productId ASC
+            """)
+    Slice<ProductListRow> findProductRowsByNameAsc(
+            @Param("user") User user,
+            @Param("search") String search,
+            @Param("categoryId") Integer categoryId,
+            @Param("afterName") String afterName,
+            @Param("afterId") Integer afterId,
+            Pageable limit
+    );
+
+    @Query(PRODUCT_LIST_ROW + """
+            WHERE p.user = :user
+              AND (:search IS NULL OR LOWER(p.productName) LIKE LOWER(CONCAT('%', :search, '%'))
+                OR LOWER(p.productCode) LIKE LOWER(CONCAT('%', :search, '%')))
+              AND (:categoryId IS NULL OR c.categoryId = :categoryId)
+              AND (:afterName IS NULL OR p.productName < :afterName
+                OR (p.productName = :afterName AND p.productId < :afterId))
+            ORDER BY p.productName DESC, p.productId DESC
+            """)
+    Slice<ProductListRow> findProductRowsByNameDesc(
+            @Param("user") User user,
+            @Param("search") String search,
+            @Param("categoryId") Integer categoryId,
+            @Param("afterName") String afterName,
+            @Param("afterId") Integer afterId,
+            Pageable limit
+    );
+
+    @Query(PRODUCT_LIST_ROW + """
+            WHERE p.user = :user
+              AND p.productId IN :productIds
+              AND (:categoryId IS NULL OR c.categoryId = :categoryId)
+              AND (:afterName IS NULL OR p.productName > :afterName
+                OR (p.productName = :afterName AND p.productId > :afterId))
+            ORDER BY p.productName ASC, p.productId ASC
+            """)
+    Slice<ProductListRow> findProductRowsByIdsByNameAsc(
+            @Param("user") User user,
+            @Param("productIds") Collection<Integer> productIds,
+            @Param("categoryId") Integer categoryId,
+            @Param("afterName") String afterName,
+            @Param("afterId") Integer afterId,
+            Pageable limit
+    );
+
+    @Query(PRODUCT_LIST_ROW + """
+            WHERE p.user = :user
+              AND p.productId IN :productIds
+              AND (:categoryId IS NULL OR c.categoryId = :categoryId)
+              AND (:afterName IS NULL OR p.productName < :afterName
+                OR (p.productName = :afterName AND p.productId < :afterId))
+            ORDER BY p.productName DESC, p.productId DESC
+            """)
+    Slice<ProductListRow> findProductRowsByIdsByNameDesc(
+            @Param("user") User user,
+            @Param("productIds") Collection<Integer> productIds,
+            @Param("categoryId") Integer categoryId,
+            @Param("afterName") String afterName,
+            @Param("afterId") Integer afterId,
+            Pageable limit
+    );
+
+    @Query("SELECT p.productId AS productId, p.imageUrl AS imageUrl FROM Product p " +
+           "WHERE p.productId IN :productIds AND p.imageUrl IS NOT NULL")
+    List<ProductImageUrl> findImageUrls(@Param("productIds") Collection<Integer> productIds);
+
+    @Query("""
+            SELECT p.productId AS productId, p.productName AS productName, p.productCode AS productCode,
+                   c.categoryName AS categoryName, p.quantity AS quantity, p.unit AS unit,
+                   p.buyingPrice AS buyingPrice, p.sellingPrice AS sellingPrice
+            FROM Product p LEFT JOIN p.category c
+            WHERE p.user = :user
+              AND p.productId > :afterId
+              AND (:search IS NULL OR LOWER(p.productName) LIKE LOWER(CONCAT('%', :search, '%'))
+                OR LOWER(p.productCode) LIKE LOWER(CONCAT('%', :search, '%')))
+              AND (:categoryId IS NULL OR c.categoryId = :categoryId)
+            ORDER BY p.productId
+            """)
+    List<InventoryExportRow> findExportChunk(
+            @Param("user") User user,
+            @Param("search") String search,
+            @Param("categoryId") Integer categoryId,
+            @Param("afterId") Integer afterId,
+            Pageable limit
+    );
+
+    @Query("""
+            SELECT p.productId AS productId, p.productName AS productName, p.productCode AS productCode,
+                   c.categoryName AS categoryName, p.quantity AS quantity, p.unit AS unit,
+                   p.buyingPrice AS buyingPrice, p.sellingPrice AS sellingPrice
+            FROM Product p LEFT JOIN p.category c
+            WHERE p.user = :user
+              AND p.productId IN :productIds
+              AND p.productId > :afterId
+              AND (:categoryId IS NULL OR c.categoryId = :categoryId)
+            ORDER BY p.productId
+            """)
+    List<InventoryExportRow> findExportChunkByIds(
+            @Param("user") User user,
+            @Param("productIds") Collection<Integer> productIds,
+            @Param("categoryId") Integer categoryId,
+            @Param("afterId") Integer afterId,
+            Pageable limit
+    );
+
+    @Query("""
+            SELECT COUNT(p) FROM Product p
+            WHERE p.user = :user
+              AND (:search IS NULL OR LOWER(p.productName) LIKE LOWER(CONCAT('%', :search, '%'))
+                OR LOWER(p.productCode) LIKE LOWER(CONCAT('%', :search, '%')))
+              AND (:categoryId IS NULL OR p.category.categoryId = :categoryId)
+            """)
+    long countExportRows(@Param("user") User user,
+                         @Param("search") String search,
+                         @Param("categoryId") Integer categoryId);
+
+    @Query("""
+            SELECT COUNT(p) FROM Product p
+            WHERE p.user = :user
+              AND p.productId IN :productIds
+              AND (:categoryId IS NULL OR p.category.categoryId = :categoryId)
+            """)
+    long countExportRowsByIds(@Param("user") User user,
+                              @Param("productIds") Collection<Integer> productIds,
+                              @Param("categoryId") Integer categoryId);
+
+    @Query("SELECT p.productId AS productId, p.productName AS productName, p.productCode AS productCode " +
+           "FROM Product p WHERE p.user.userId = :userId")
+    List<ProductSearchEntry> findSearchEntriesByUserId(@Param("userId") Integer userId);
+
     @Query("SELECT SUM(p.quantity) FROM Product p WHERE p.user = :user")
     Long getTotalQuantity(@Param("user") User user);
 
@@ -40,8 +231,108 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
 
     List<Product> findTop5ByOrderByQuantityDesc();
 
+    List<Product> findTop5ByUserOrderByQuantityDesc(User user);
+
+    @Query("""
+            SELECT COUNT(p) AS totalProducts,
+                   COALESCE(SUM(p.quantity), 0) AS totalQuantity,
+                   COALESCE(SUM(p.onTheWay), 0) AS onTheWay,
+                   COALESCE(SUM(CASE WHEN p.quantity <= p.thresholdValue THEN 1 ELSE 0 END), 0) AS lowStockCount,
+                   COALESCE(SUM(p.quantity * p.sellingPrice), 0) AS inventoryValue
+            FROM Product p
+            WHERE p.user.userId = :userId
+            """)
+    InventoryTotals getInventoryTotals(@Param("userId") Integer userId);
+
     @Query("SELECT p FROM Product p WHERE p.user = :user AND p.quantity <= p.thresholdValue ORDER BY p.quantity ASC")
     List<Product> findLowStockProducts(@Param("user") User user, Pageable pageable);
 
+    // Stock changes are single conditional statements so concurrent writers cannot oversell or lose updates
+    @Modifying
+    @Query("UPDATE Product p SET p.quantity = p.quantity - :quantity, p.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE p.productId = :productId AND p.quantity >= :quantity")
+    int decrementStock(@Param("productId") Integer productId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.quantity = p.quantity + :quantity, p.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE p.productId = :productId")
+    int incrementStock(@Param("productId") Integer productId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.quantity = p.quantity + :quantity, p.openingStock = p.openingStock + :quantity, " +
+           "p.updatedAt = CURRENT_TIMESTAMP WHERE p.productId = :productId")
+    int receiveStock(@Param("productId") Integer productId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.quantity = :quantity, p.updatedAt = CURRENT_TIMESTAMP WHERE p.productId = :productId")
+    int setStock(@Param("productId") Integer productId, @Param("quantity") int quantity);
+
+    // Compare-and-set for repairs computed from an earlier read; 0 when the stock moved meanwhile
+    @Modifying
+    @Query("UPDATE Product p SET p.quantity = :quantity, p.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE p.productId = :productId AND p.quantity = :expected")
+    int setStockIfUnchanged(@Param("productId") Integer productId,
+                            @Param("expected") int expected,
+                            @Param("quantity") int quantity);
+
+    @Query("SELECT p FROM Product p WHERE p.user.userId = :userId AND p.productId IN :productIds")
+    List<Product> findByUserIdAndProductIdIn(@Param("userId") Integer userId,
+                                             @Param("productIds") Collection<Integer> productIds);
+
+    @Query("SELECT p.productId AS productId, p.quantity AS quantity, p.openingStock AS openingStock, " +
+           "p.updatedAt AS updatedAt FROM Product p WHERE p.productId IN :productIds")
+    List<ProductStockLevel> findStockLevels(@Param("productIds") Collection<Integer> productIds);
+
+    @Query("SELECT p.productId AS productId, p.productCode AS productCode, p.productName AS productName, " +
+           "p.quantity AS quantity FROM Product p WHERE p.user.userId = :userId ORDER BY p.productId")
+    List<ProductQuantity> findQuantitiesByUserId(@Param("userId") Integer userId);
+
+    // Owners of products the ledger knows nothing about; see StockMovementRepository.insertMissingOpenings
+    @Query("SELECT DISTINCT p.user.userId FROM Product p WHERE p.quantity <> 0 " +
+           "AND NOT EXISTS (SELECT 1 FROM StockMovement m WHERE m.productId = p.productId) " +
+           "AND NOT EXISTS (SELECT 1 FROM StockSnapshot s WHERE s.productId = p.productId)")
+    List<Integer> findUserIdsWithoutStockHistory();
+
+    @Query("SELECT p.productId FROM Product p WHERE p.imageUrl LIKE 'data:%' AND p.productId > :afterId ORDER BY p.productId")
+    List<Integer> findInlineImageProductIds(@Param("afterId") Integer afterId, Pageable limit);
+
+    @Query("SELECT p.imageUrl FROM Product p WHERE p.productId = :productId")
+    String findImageUrl(@Param("productId") Integer productId);
+
+    // Bypasses the entity so updatedAt and the inventory summary are left alone
+    @Modifying
+    @Transactional
+    @Query("UPDATE Product p SET p.imageKey = :imageKey, p.imageUrl = NULL WHERE p.productId = :productId")
+    int moveImageToStore(@Param("productId") Integer productId, @Param("imageKey") String imageKey);
+
     boolean existsByProductCode(String productCode);
+
+    boolean existsByProductIdAndUserUserId(Integer productId, Integer userId);
+
+    // Rows fetched per round trip when streaming; MySQL needs useCursorFetch=true to honour it
+    String STREAM_FETCH_SIZE = "1000";
+
+    // Forward-only cursor for data exports; must be consumed and closed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ProductRepository.STREAM_FETCH_SIZE))
+    @Query("""
+            SELECT p.productId AS productId, p.productCode AS productCode, p.productName AS productName,
+                   c.categoryName AS categoryName, s.supplierName AS supplierName, p.unit AS unit,
+                   p.buyingPrice AS buyingPrice, p.sellingPrice AS sellingPrice, p.quantity AS quantity,
+                   p.thresholdValue AS thresholdValue, p.openingStock AS openingStock, p.onTheWay AS onTheWay,
+                   p.expiryDate AS expiryDate, p.isActive AS isActive, p.createdAt AS createdAt,
+                   p.updatedAt AS updatedAt
+            FROM Product p LEFT JOIN p.category c LEFT JOIN p.supplier s
+            WHERE p.user.userId = :userId
+              AND (:from IS NULL OR p.createdAt >= :from)
+              AND (:to IS NULL OR p.createdAt < :to)
+              AND (:changedSince IS NULL OR p.updatedAt >= :changedSince)
+            ORDER BY p.productId
+            """)
+    Stream<ProductDataRow> streamDataRows(@Param("userId") Integer userId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to,
+                                          @Param("changedSince") LocalDateTime changedSince);
+
+    @Query("SELECT p FROM Product p WHERE p.productCode IN :productCodes")
+    List<Product> findByProductCodeIn(@Param("productCodes") Collection<String> productCodes);
 }
\ No newline at end of file
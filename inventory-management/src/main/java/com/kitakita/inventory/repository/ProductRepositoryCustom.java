@@ -0,0 +1,14 @@
+package com.kitakita.inventory.repository;
+
+import com.kitakita.inventory.entity.Product;
+
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Inserts new products as JDBC batches, stamping created and updated times. Generated ids are
+     * not read back and the search index and inventory summary are not touched.
+     */
+    void insertAll(List<Product> products);
+}
@@ -0,0 +1,60 @@
+package com.kitakita.inventory.repository;
+
+import com.kitakita.inventory.entity.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Hibernate cannot batch inserts of IDENTITY entities, so bulk product writes go straight to JDBC
+class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private static final String INSERT_PRODUCT =
+            "INSERT INTO products (product_name, product_code, category_id, supplier_id, user_id, buying_price, " +
+            "selling_price, unit, quantity, threshold_value, opening_stock, on_the_way, expiry_date, created_at, " +
+            "updated_at, is_active) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    ProductRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                                @Value("${bulk.insert.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void insertAll(List<Product> products) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, products, batchSize, (statement, product) -> {
+            statement.setString(1, product.getProductName());
+            statement.setString(2, product.getProductCode());
+            statement.setInt(3, product.getCategory().getCategoryId());
+            if (product.getSupplier() != null) {
+                statement.setInt(4, product.getSupplier().getSupplierId());
+            } else {
+                statement.setNull(4, Types.INTEGER);
+            }
+            statement.setInt(5, product.getUser().getUserId());
+            statement.setBigDecimal(6, product.getBuyingPrice());
+            statement.setBigDecimal(7, product.getSellingPrice());
+            statement.setString(8, product.getUnit());
+            statement.setInt(9, product.getQuantity());
+            statement.setInt(10, product.getThresholdValue());
+            statement.setInt(11, product.getOpeningStock());
+            statement.setInt(12, product.getOnTheWay());
+            if (product.getExpiryDate() != null) {
+                statement.setDate(13, Date.valueOf(product.getExpiryDate()));
+            } else {
+                statement.setNull(13, Types.DATE);
+            }
+            statement.setTimestamp(14, now);
+            statement.setTimestamp(15, now);
+            statement.setBoolean(16, !Boolean.FALSE.equals(product.getIsActive()));
+        });
+    }
+}
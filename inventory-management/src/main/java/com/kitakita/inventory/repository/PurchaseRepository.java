@@ -1,22 +1,45 @@
 package com.kitakita.inventory.repository;
 
 import com.kitakita.inventory.entity.Purchase;
-import com.kitakita.inventory.entity.User;
-import org.springframework.data.domain.Page;
+import com.kitakita.inventory.repository.projection.PurchaseDataRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
 
 @Repository
-public interface PurchaseRepository extends JpaRepository<Purchase, Integer> {
+public interface PurchaseRepository extends JpaRepository<Purchase, Integer>, PurchaseRepositoryCustom {
     
-    @Query("SELECT p FROM Purchase p WHERE p.product.user = :user AND p.product.productId = :productId")
-    List<Purchase> findByUserAndProductId(@Param("user") User user, @Param("productId") Integer productId);
+    // Product history, newest first; the user filter doubles as the ownership check
+    @Query("SELECT pu FROM Purchase pu JOIN FETCH pu.product p LEFT JOIN FETCH pu.supplier " +
+           "WHERE p.productId = :productId AND p.user.userId = :userId " +
+           "ORDER BY pu.purchaseDate DESC, pu.purchaseId DESC")
+    Slice<Purchase> findHistory(@Param("userId") Integer userId, @Param("productId") Integer productId, Pageable pageable);
     
-    @Query("SELECT p FROM Purchase p WHERE p.product.user = :user AND p.product.productId = :productId")
-    Page<Purchase> findByUserAndProductId(@Param("user") User user, @Param("productId") Integer productId, Pageable pageable);
+    // Purchases are never edited, so "changed since" is the purchase date
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ProductRepository.STREAM_FETCH_SIZE))
+    @Query("""
+            SELECT pu.purchaseId AS purchaseId, p.productId AS productId, p.productCode AS productCode,
+                   p.productName AS productName, s.supplierName AS supplierName, pu.quantity AS quantity,
+                   pu.unitCost AS unitCost, pu.totalCost AS totalCost, pu.status AS status,
+                   pu.purchaseDate AS purchaseDate, pu.notes AS notes
+            FROM Purchase pu JOIN pu.product p LEFT JOIN pu.supplier s
+            WHERE p.user.userId = :userId
+              AND (:from IS NULL OR pu.purchaseDate >= :from)
+              AND (:to IS NULL OR pu.purchaseDate < :to)
+              AND (:changedSince IS NULL OR pu.purchaseDate >= :changedSince)
+            ORDER BY pu.purchaseId
+            """)
+    Stream<PurchaseDataRow> streamDataRows(@Param("userId") Integer userId,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           @Param("changedSince") LocalDateTime changedSince);
 }
\ No newline at end of file
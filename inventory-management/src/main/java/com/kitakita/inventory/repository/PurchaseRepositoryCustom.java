@@ -0,0 +1,14 @@
+package com.kitakita.inventory.repository;
+
+import com.kitakita.inventory.entity.Purchase;
+
+import java.util.List;
+
+public interface PurchaseRepositoryCustom {
+
+    /**
+     * Inserts the purchases as JDBC batches. Generated ids are not read back; {@code purchaseDate}
+     * and {@code status} must be set.
+     */
+    void insertAll(List<Purchase> purchases);
+}
@@ -0,0 +1,44 @@
+package com.kitakita.inventory.repository;
+
+import com.kitakita.inventory.entity.Purchase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+// Hibernate cannot batch inserts of IDENTITY entities, so bulk purchase writes go straight to JDBC
+class PurchaseRepositoryCustomImpl implements PurchaseRepositoryCustom {
+
+    private static final String INSERT_PURCHASE =
+            "INSERT INTO purchases (product_id, supplier_id, quantity, unit_cost, total_cost, purchase_date, " +
+            "status, notes) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    PurchaseRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                                 @Value("${bulk.insert.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void insertAll(List<Purchase> purchases) {
+        jdbcTemplate.batchUpdate(INSERT_PURCHASE, purchases, batchSize, (statement, purchase) -> {
+            statement.setInt(1, purchase.getProduct().getProductId());
+            if (purchase.getSupplier() != null) {
+                statement.setInt(2, purchase.getSupplier().getSupplierId());
+            } else {
+                statement.setNull(2, Types.INTEGER);
+            }
+            statement.setInt(3, purchase.getQuantity());
+            statement.setBigDecimal(4, purchase.getUnitCost());
+            statement.setBigDecimal(5, purchase.getTotalCost());
+            statement.setTimestamp(6, Timestamp.valueOf(purchase.getPurchaseDate()));
+            statement.setString(7, purchase.getStatus().name());
+            statement.setString(8, purchase.getNotes());
+        });
+    }
+}
@@ -0,0 +1,27 @@
+package com.kitakita.inventory.repository;
+
+import com.kitakita.inventory.entity.Return;
+import com.kitakita.inventory.repository.projection.SaleReturnedQuantity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReturnRepository extends JpaRepository<Return, Integer>, ReturnRepositoryCustom {
+
+    @Query("SELECT r FROM Return r JOIN FETCH r.product p WHERE p.user.userId = :userId " +
+           "ORDER BY r.returnDate DESC, r.returnId DESC")
+    Slice<Return> findByUserId(@Param("userId") Integer userId, Pageable pageable);
+
+    boolean existsByOriginalSaleId(Integer originalSaleId);
+
+    @Query("SELECT r.originalSaleId AS saleId, SUM(r.quantity) AS quantity FROM Return r " +
+           "WHERE r.originalSaleId IN :saleIds GROUP BY r.originalSaleId")
+    List<SaleReturnedQuantity> sumQuantityBySaleIds(@Param("saleIds") Collection<Integer> saleIds);
+}
@@ -0,0 +1,14 @@
+package com.kitakita.inventory.repository;
+
+import com.kitakita.inventory.entity.Return;
+
+import java.util.List;
+
+public interface ReturnRepositoryCustom {
+
+    /**
+     * Inserts the returns as JDBC batches, stamped with the current time. Generated ids are not
+     * read back.
+     */
+    void insertAll(List<Return> returns);
+}
@@ -0,0 +1,51 @@
+package com.kitakita.inventory.repository;
+
+import com.kitakita.inventory.entity.Return;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Hibernate cannot batch inserts of IDENTITY entities, so bulk returns go straight to JDBC
+class ReturnRepositoryCustomImpl implements ReturnRepositoryCustom {
+
+    private static final String INSERT_RETURN =
+            "INSERT INTO returns (original_sale_id, product_id, supplier_id, quantity, return_value, unit_cost, return_date, " +
+            "reason, processed_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    ReturnRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                               @Value("${bulk.insert.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void insertAll(List<Return> returns) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_RETURN, returns, batchSize, (statement, item) -> {
+            if (item.getOriginalSaleId() != null) {
+                statement.setInt(1, item.getOriginalSaleId());
+            } else {
+                statement.setNull(1, Types.INTEGER);
+            }
+            statement.setInt(2, item.getProduct().getProductId());
+            if (item.getSupplier() != null) {
+                statement.setInt(3, item.getSupplier().getSupplierId());
+            } else {
+                statement.setNull(3, Types.INTEGER);
+            }
+            statement.setInt(4, item.getQuantity());
+            statement.setBigDecimal(5, item.getReturnValue());
+            statement.setBigDecimal(6, item.getUnitCost());
+            statement.setTimestamp(7, now);
+            statement.setString(8, item.getReason());
+            statement.setInt(9, item.getProcessedBy().getUserId());
+        });
+    }
+}
@@ -2,27 +2,82 @@ package com.kitakita.inventory.repository;
 
 import com.kitakita.inventory.entity.Sale;
 import com.kitakita.inventory.entity.User;
+import com.kitakita.inventory.repository.projection.CategorySalesTotal;
+import com.kitakita.inventory.repository.projection.ProductSalesTotal;
+import com.kitakita.inventory.repository.projection.SaleDataRow;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface SaleRepository extends JpaRepository<Sale, Integer> {
+public interface SaleRepository extends JpaRepository<Sale, Integer>, SaleRepositoryCustom {
     
-    @Query("SELECT s FROM Sale s WHERE s.user = :user")
+    @Query(value = "SELECT s FROM Sale s JOIN FETCH s.product WHERE s.user = :user",
+           countQuery = "SELECT COUNT(s) FROM Sale s WHERE s.user = :user")
     Page<Sale> findByUser(@Param("user") User user, Pageable pageable);
     
-    @Query("SELECT s FROM Sale s WHERE s.user = :user AND " +
-           "(LOWER(s.product.productName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "s.saleCode LIKE LOWER(CONCAT('%', :search, '%')))")
+    @Query(value = "SELECT s FROM Sale s JOIN FETCH s.product p WHERE s.user = :user AND " +
+                   "(LOWER(p.productName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+                   "s.saleCode LIKE LOWER(CONCAT('%', :search, '%')))",
+           countQuery = "SELECT COUNT(s) FROM Sale s JOIN s.product p WHERE s.user = :user AND " +
+                        "(LOWER(p.productName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+                        "s.saleCode LIKE LOWER(CONCAT('%', :search, '%')))")
     Page<Sale> findByUserAndSearch(@Param("user") User user, @Param("search") String search, Pageable pageable);
     
+    // Keyset pages, newest first; afterId is the last sale of the previous page
+    @Query("SELECT s FROM Sale s JOIN FETCH s.product WHERE s.user = :user " +
+           "AND (:afterId IS NULL OR s.saleId < :afterId) ORDER BY s.saleId DESC")
+    Slice<Sale> findByUserAfter(@Param("user") User user, @Param("afterId") Integer afterId, Pageable limit);
+    
+    @Query("SELECT s FROM Sale s JOIN FETCH s.product p WHERE s.user = :user AND " +
+           "(LOWER(p.productName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "s.saleCode LIKE LOWER(CONCAT('%', :search, '%'))) " +
+           "AND (:afterId IS NULL OR s.saleId < :afterId) ORDER BY s.saleId DESC")
+    Slice<Sale> findByUserAndSearchAfter(@Param("user") User user, @Param("search") String search,
+                                         @Param("afterId") Integer afterId, Pageable limit);
+    
+    @Query("SELECT s FROM Sale s JOIN FETCH s.product WHERE s.user = :user AND s.receiptCode = :receiptCode " +
+           "ORDER BY s.saleId")
+    List<Sale> findByUserAndReceiptCode(@Param("user") User user, @Param("receiptCode") String receiptCode);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ProductRepository.STREAM_FETCH_SIZE))
+    @Query("""
+            SELECT s.saleId AS saleId, s.saleCode AS saleCode, s.receiptCode AS receiptCode,
+                   p.productId AS productId, p.productCode AS productCode, p.productName AS productName,
+                   s.quantity AS quantity, s.unitPrice AS unitPrice, s.totalValue AS totalValue,
+                   s.buyingPrice AS buyingPrice, s.saleDate AS saleDate, s.updatedAt AS updatedAt, s.notes AS notes
+            FROM Sale s JOIN s.product p
+            WHERE s.user.userId = :userId
+              AND (:from IS NULL OR s.saleDate >= :from)
+              AND (:to IS NULL OR s.saleDate < :to)
+              AND (:changedSince IS NULL OR s.updatedAt >= :changedSince)
+            ORDER BY s.saleId
+            """)
+    Stream<SaleDataRow> streamDataRows(@Param("userId") Integer userId,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to,
+                                       @Param("changedSince") LocalDateTime changedSince);
+    
+    // Locks the sales so returns, cancellations and edits of the same sale run one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Sale s JOIN FETCH s.product WHERE s.saleId IN :saleIds")
+    List<Sale> findAllByIdForUpdate(@Param("saleIds") Collection<Integer> saleIds);
+    
     @Query("SELECT SUM(s.totalValue) FROM Sale s WHERE s.user = :user")
     BigDecimal getTotalSalesValue(@Param("user") User user);
     
@@ -31,4 +86,35 @@ public interface SaleRepository extends JpaRepository<Sale, Integer> {
     
     @Query("SELECT SUM(s.quantity) FROM Sale s WHERE s.user = :user")
     Long getTotalProductsSold(@Param("user") User user);
-}
\ No newline at end of file
+    
+    @Query("""
+            SELECT c.categoryId AS categoryId, c.categoryName AS categoryName,
+                   SUM(s.totalValue) AS turnover, SUM(s.quantity) AS quantitySold
+            FROM Sale s JOIN s.product p JOIN p.category c
+            WHERE s.user = :user
+              AND (:from IS NULL OR s.saleDate >= :from)
+              AND (:to IS NULL OR s.saleDate < :to)
+            GROUP BY c.categoryId, c.categoryName
+            ORDER BY SUM(s.totalValue) DESC
+            """)
+    List<CategorySalesTotal> getSalesByCategory(@Param("user") User user,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to,
+                                                Pageable pageable);
+    
+    @Query("""
+            SELECT p.productId AS productId, p.productName AS productName, c.categoryName AS categoryName,
+                   p.quantity AS remainingQuantity, p.unit AS unit,
+                   SUM(s.totalValue) AS turnover, SUM(s.quantity) AS quantitySold
+            FROM Sale s JOIN s.product p LEFT JOIN p.category c
+            WHERE s.user = :user
+              AND (:from IS NULL OR s.saleDate >= :from)
+              AND (:to IS NULL OR s.saleDate < :to)
+            GROUP BY p.productId, p.productName, c.categoryName, p.quantity, p.unit
+            ORDER BY SUM(s.totalValue) DESC
+            """)
+    List<ProductSalesTotal> getSalesByProduct(@Param("user") User user,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to,
+                                              Pageable pageable);
+}
@@ -0,0 +1,14 @@
+package com.kitakita.inventory.repository;
+
+import com.kitakita.inventory.entity.Sale;
+
+import java.util.List;
+
+public interface SaleRepositoryCustom {
+
+    /**
+     * Inserts the sales as JDBC batches. Generated ids are not read back, so callers reload the
+     * rows (e.g. by receipt code) when they need them; {@code saleDate} must be set.
+     */
+    void insertAll(List<Sale> sales);
+}
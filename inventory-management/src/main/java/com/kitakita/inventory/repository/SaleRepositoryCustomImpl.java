@@ -0,0 +1,45 @@
+package com.kitakita.inventory.repository;
+
+import com.kitakita.inventory.entity.Sale;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Hibernate cannot batch inserts of IDENTITY entities, so bulk sale writes go straight to JDBC
+class SaleRepositoryCustomImpl implements SaleRepositoryCustom {
+
+    private static final String INSERT_SALE =
+            "INSERT INTO sales (sale_code, receipt_code, product_id, quantity, unit_price, total_value, " +
+            "buying_price, sale_date, updated_at, user_id, notes, stock_deducted) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    SaleRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                             @Value("${bulk.insert.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void insertAll(List<Sale> sales) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SALE, sales, batchSize, (statement, sale) -> {
+            statement.setString(1, sale.getSaleCode());
+            statement.setString(2, sale.getReceiptCode());
+            statement.setInt(3, sale.getProduct().getProductId());
+            statement.setInt(4, sale.getQuantity());
+            statement.setBigDecimal(5, sale.getUnitPrice());
+            statement.setBigDecimal(6, sale.getTotalValue());
+            statement.setBigDecimal(7, sale.getBuyingPrice());
+            statement.setTimestamp(8, Timestamp.valueOf(sale.getSaleDate()));
+            statement.setTimestamp(9, now);
+            statement.setInt(10, sale.getUser().getUserId());
+            statement.setString(11, sale.getNotes());
+            statement.setBoolean(12, sale.getStockDeducted());
+        });
+    }
+}
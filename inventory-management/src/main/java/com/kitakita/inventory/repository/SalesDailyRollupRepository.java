@@ -0,0 +1,139 @@
+package com.kitakita.inventory.repository;
+
+import com.kitakita.inventory.entity.SalesDailyRollup;
+import com.kitakita.inventory.repository.projection.DailySalesTotal;
+import com.kitakita.inventory.repository.projection.SalesTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SalesDailyRollupRepository extends JpaRepository<SalesDailyRollup, Long> {
+
+    // Returns and cancellations, one row per refund, folded into the rollup by the backfills below
+    String REFUND_ROWS =
+            "SELECT p.user_id, r.product_id, p.category_id, DATE(r.return_date) AS refund_day, r.quantity, " +
+            "r.return_value AS refund, COALESCE(r.unit_cost, 0) AS unit_cost " +
+            "FROM returns r JOIN products p ON p.product_id = r.product_id " +
+            "UNION ALL " +
+            "SELECT p.user_id, c.product_id, p.category_id, DATE(c.cancellation_date), c.quantity, " +
+            "c.refund_amount, COALESCE(c.unit_cost, 0) " +
+            "FROM cancelled_orders c JOIN products p ON p.product_id = c.product_id";
+
+    String INSERT_REFUNDS =
+            "INSERT INTO sales_daily_rollup (user_id, product_id, category_id, sales_day, sale_count, quantity, " +
+            "revenue, cost, returned_quantity, refunds, returned_cost) " +
+            "SELECT x.user_id, x.product_id, MAX(x.category_id), x.refund_day, 0, 0, 0, 0, " +
+            "SUM(x.quantity), SUM(x.refund), SUM(x.unit_cost * x.quantity) FROM (" + REFUND_ROWS + ") x ";
+
+    String ADD_REFUNDS =
+            "GROUP BY x.user_id, x.product_id, x.refund_day " +
+            "ON DUPLICATE KEY UPDATE returned_quantity = returned_quantity + VALUES(returned_quantity), " +
+            "refunds = refunds + VALUES(refunds), " +
+            "returned_cost = returned_cost + VALUES(returned_cost)";
+
+    @Modifying
+    @Query(value = "INSERT INTO sales_daily_rollup (user_id, product_id, category_id, sales_day, sale_count, quantity, revenue, cost, " +
+                   "returned_quantity, refunds, returned_cost) " +
+                   "VALUES (:userId, :productId, :categoryId, :salesDay, :saleCount, :quantity, :revenue, :cost, 0, 0, 0) " +
+                   "ON DUPLICATE KEY UPDATE sale_count = sale_count + VALUES(sale_count), " +
+                   "quantity = quantity + VALUES(quantity), " +
+                   "revenue = revenue + VALUES(revenue), " +
+                   "cost = cost + VALUES(cost)",
+           nativeQuery = true)
+    int upsertDelta(@Param("userId") Integer userId,
+                    @Param("productId") Integer productId,
+                    @Param("categoryId") Integer categoryId,
+                    @Param("salesDay") LocalDate salesDay,
+                    @Param("saleCount") long saleCount,
+                    @Param("quantity") long quantity,
+                    @Param("revenue") BigDecimal revenue,
+                    @Param("cost") BigDecimal cost);
+
+    @Modifying
+    @Query(value = "INSERT INTO sales_daily_rollup (user_id, product_id, category_id, sales_day, sale_count, quantity, revenue, cost, " +
+                   "returned_quantity, refunds, returned_cost) " +
+                   "VALUES (:userId, :productId, :categoryId, :salesDay, 0, 0, 0, 0, :returnedQuantity, :refunds, :returnedCost) " +
+                   "ON DUPLICATE KEY UPDATE returned_quantity = returned_quantity + VALUES(returned_quantity), " +
+                   "refunds = refunds + VALUES(refunds), " +
+                   "returned_cost = returned_cost + VALUES(returned_cost)",
+           nativeQuery = true)
+    int upsertRefund(@Param("userId") Integer userId,
+                     @Param("productId") Integer productId,
+                     @Param("categoryId") Integer categoryId,
+                     @Param("salesDay") LocalDate salesDay,
+                     @Param("returnedQuantity") long returnedQuantity,
+                     @Param("refunds") BigDecimal refunds,
+                     @Param("returnedCost") BigDecimal returnedCost);
+
+    @Query("""
+            SELECT COALESCE(SUM(r.saleCount), 0) AS saleCount,
+                   COALESCE(SUM(r.quantity), 0) AS quantity,
+                   COALESCE(SUM(r.revenue), 0) AS revenue,
+                   COALESCE(SUM(r.cost), 0) AS cost,
+                   COALESCE(SUM(r.returnedQuantity), 0) AS returnedQuantity,
+                   COALESCE(SUM(r.refunds), 0) AS refunds,
+                   COALESCE(SUM(r.returnedCost), 0) AS returnedCost
+            FROM SalesDailyRollup r
+            WHERE r.userId = :userId
+            """)
+    SalesTotals getTotals(@Param("userId") Integer userId);
+
+    @Query("""
+            SELECT r.salesDay AS salesDay,
+                   SUM(r.saleCount) AS saleCount,
+                   SUM(r.quantity) AS quantity,
+                   SUM(r.revenue) AS revenue,
+                   SUM(r.cost) AS cost,
+                   SUM(r.returnedQuantity) AS returnedQuantity,
+                   SUM(r.refunds) AS refunds,
+                   SUM(r.returnedCost) AS returnedCost
+            FROM SalesDailyRollup r
+            WHERE r.userId = :userId AND r.salesDay >= :from AND r.salesDay <= :to
+            GROUP BY r.salesDay
+            ORDER BY r.salesDay
+            """)
+    List<DailySalesTotal> getDailyTotals(@Param("userId") Integer userId,
+                                         @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM SalesDailyRollup r WHERE r.userId = :userId")
+    void deleteByUserId(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO sales_daily_rollup (user_id, product_id, category_id, sales_day, sale_count, quantity, revenue, cost, " +
+                   "returned_quantity, refunds, returned_cost) " +
+                   "SELECT s.user_id, s.product_id, MAX(p.category_id), DATE(s.sale_date), COUNT(*), " +
+                   "SUM(s.quantity), SUM(s.total_value), SUM(s.buying_price * s.quantity), 0, 0, 0 " +
+                   "FROM sales s JOIN products p ON p.product_id = s.product_id " +
+                   "WHERE s.user_id = :userId " +
+                   "GROUP BY s.user_id, s.product_id, DATE(s.sale_date)",
+           nativeQuery = true)
+    int backfillForUser(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO sales_daily_rollup (user_id, product_id, category_id, sales_day, sale_count, quantity, revenue, cost, " +
+                   "returned_quantity, refunds, returned_cost) " +
+                   "SELECT s.user_id, s.product_id, MAX(p.category_id), DATE(s.sale_date), COUNT(*), " +
+                   "SUM(s.quantity), SUM(s.total_value), SUM(s.buying_price * s.quantity), 0, 0, 0 " +
+                   "FROM sales s JOIN products p ON p.product_id = s.product_id " +
+                   "GROUP BY s.user_id, s.product_id, DATE(s.sale_date)",
+           nativeQuery = true)
+    int backfillAll();
+
+    // Run after backfillForUser so refunds land on the sales rows of the same day
+    @Modifying
+    @Query(value = INSERT_REFUNDS + "WHERE x.user_id = :userId " + ADD_REFUNDS, nativeQuery = true)
+    int backfillRefundsForUser(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query(value = INSERT_REFUNDS + ADD_REFUNDS, nativeQuery = true)
+    int backfillRefundsAll();
+}
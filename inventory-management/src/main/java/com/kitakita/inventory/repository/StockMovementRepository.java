@@ -0,0 +1,39 @@
+package com.kitakita.inventory.repository;
+
+import com.kitakita.inventory.entity.StockMovement;
+import com.kitakita.inventory.repository.projection.ProductDelta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long>, StockMovementRepositoryCustom {
+
+    // Replay window for one product: after the snapshot (exclusive) up to the requested time
+    @Query("SELECT COALESCE(SUM(m.delta), 0) FROM StockMovement m WHERE m.productId = :productId " +
+           "AND (:after IS NULL OR m.occurredAt > :after) AND m.occurredAt <= :upTo")
+    long sumDeltas(@Param("productId") Integer productId,
+                   @Param("after") LocalDateTime after,
+                   @Param("upTo") LocalDateTime upTo);
+
+    /**
+     * Per product, the deltas since that product's latest snapshot up to {@code upTo}. Products
+     * without movements in that window are left out. A null {@code userId} covers every user.
+     */
+    @Query("""
+            SELECT m.productId AS productId, m.userId AS userId, SUM(m.delta) AS delta
+            FROM StockMovement m
+            WHERE (:userId IS NULL OR m.userId = :userId)
+              AND m.occurredAt <= :upTo
+              AND m.occurredAt > COALESCE(
+                    (SELECT MAX(s.snapshotAt) FROM StockSnapshot s WHERE s.productId = m.productId), :epoch)
+            GROUP BY m.productId, m.userId
+            """)
+    List<ProductDelta> sumDeltasSinceSnapshot(@Param("userId") Integer userId,
+                                              @Param("upTo") LocalDateTime upTo,
+                                              @Param("epoch") LocalDateTime epoch);
+}
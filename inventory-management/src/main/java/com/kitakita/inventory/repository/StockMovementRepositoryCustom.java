@@ -0,0 +1,29 @@
+package com.kitakita.inventory.repository;
+
+import com.kitakita.inventory.entity.StockMovement;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface StockMovementRepositoryCustom {
+
+    /**
+     * Appends the movements as JDBC batches. Movements without {@code occurredAt} are stamped
+     * with the current time; generated ids are not read back.
+     */
+    void insertAll(List<StockMovement> movements);
+
+    /**
+     * Opens the ledger for products inserted without reading their ids back: one
+     * {@code OPENING} movement per product of the user with one of the codes and stock on hand.
+     */
+    void insertOpening(Integer userId, Collection<String> productCodes);
+
+    /**
+     * Opens the ledger for every product with stock on hand and no movements or snapshots yet,
+     * e.g. products that existed before the ledger did.
+     *
+     * @return the number of movements inserted
+     */
+    int insertMissingOpenings();
+}
@@ -0,0 +1,73 @@
+package com.kitakita.inventory.repository;
+
+import com.kitakita.inventory.entity.StockMovement;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// Every stock write appends here, so skip Hibernate's one-INSERT-per-IDENTITY-entity path
+class StockMovementRepositoryCustomImpl implements StockMovementRepositoryCustom {
+
+    private static final String INSERT_MOVEMENT =
+            "INSERT INTO stock_movements (product_id, user_id, movement_type, delta, occurred_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_OPENING =
+            "INSERT INTO stock_movements (product_id, user_id, movement_type, delta, occurred_at) " +
+            "SELECT product_id, user_id, 'OPENING', quantity, ? FROM products " +
+            "WHERE user_id = ? AND quantity <> 0 AND product_code IN (%s)";
+
+    private static final String INSERT_MISSING_OPENINGS =
+            "INSERT INTO stock_movements (product_id, user_id, movement_type, delta, occurred_at) " +
+            "SELECT p.product_id, p.user_id, 'OPENING', p.quantity, ? FROM products p " +
+            "WHERE p.user_id IS NOT NULL AND p.quantity <> 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM stock_movements m WHERE m.product_id = p.product_id) " +
+            "AND NOT EXISTS (SELECT 1 FROM stock_snapshots s WHERE s.product_id = p.product_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    StockMovementRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                                      @Value("${bulk.insert.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void insertAll(List<StockMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_MOVEMENT, movements, batchSize, (statement, movement) -> {
+            statement.setInt(1, movement.getProductId());
+            statement.setInt(2, movement.getUserId());
+            statement.setString(3, movement.getMovementType().name());
+            statement.setInt(4, movement.getDelta());
+            statement.setTimestamp(5, movement.getOccurredAt() != null ? Timestamp.valueOf(movement.getOccurredAt()) : now);
+        });
+    }
+
+    @Override
+    public void insertOpening(Integer userId, Collection<String> productCodes) {
+        if (productCodes.isEmpty()) {
+            return;
+        }
+        List<Object> args = new ArrayList<>(productCodes.size() + 2);
+        args.add(Timestamp.valueOf(LocalDateTime.now()));
+        args.add(userId);
+        args.addAll(productCodes);
+        String placeholders = String.join(", ", Collections.nCopies(productCodes.size(), "?"));
+        jdbcTemplate.update(INSERT_OPENING.formatted(placeholders), args.toArray());
+    }
+
+    @Override
+    public int insertMissingOpenings() {
+        return jdbcTemplate.update(INSERT_MISSING_OPENINGS, Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
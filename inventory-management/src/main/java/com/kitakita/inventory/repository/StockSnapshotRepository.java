@@ -0,0 +1,27 @@
+package com.kitakita.inventory.repository;
+
+import com.kitakita.inventory.entity.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+
+    Optional<StockSnapshot> findFirstByProductIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(
+            Integer productId, LocalDateTime at);
+
+    @Query("SELECT s FROM StockSnapshot s WHERE s.userId = :userId AND s.snapshotAt = " +
+           "(SELECT MAX(l.snapshotAt) FROM StockSnapshot l WHERE l.productId = s.productId)")
+    List<StockSnapshot> findLatestByUserId(@Param("userId") Integer userId);
+
+    @Query("SELECT s FROM StockSnapshot s WHERE s.productId IN :productIds AND s.snapshotAt = " +
+           "(SELECT MAX(l.snapshotAt) FROM StockSnapshot l WHERE l.productId = s.productId)")
+    List<StockSnapshot> findLatestByProductIds(@Param("productIds") Collection<Integer> productIds);
+}
@@ -4,11 +4,13 @@ import com.kitakita.inventory.entity.Supplier;
 import com.kitakita.inventory.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -24,4 +26,33 @@ public interface SupplierRepository extends JpaRepository<Supplier, Integer> {
            "(LOWER(s.supplierName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(s.email) LIKE LOWER(CONCAT('%', :search, '%')))")
     Page<Supplier> findByUserAndSearch(@Param("user") User user, @Param("search") String search, Pageable pageable);
-}
\ No newline at end of file
+    
+    // Keyset pages by name; afterName/afterId are the last supplier of the previous page
+    @Query("SELECT s FROM Supplier s WHERE s.user = :user " +
+           "AND (:afterName IS NULL OR s.supplierName > :afterName " +
+           "OR (s.supplierName = :afterName AND s.supplierId > :afterId)) " +
+           "ORDER BY s.supplierName ASC, s.supplierId ASC")
+    Slice<Supplier> findByUserAfter(@Param("user") User user,
+                                    @Param("afterName") String afterName,
+                                    @Param("afterId") Integer afterId,
+                                    Pageable limit);
+    
+    @Query("SELECT s FROM Supplier s WHERE s.user = :user AND " +
+           "(LOWER(s.supplierName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(s.email) LIKE LOWER(CONCAT('%', :search, '%'))) " +
+           "AND (:afterName IS NULL OR s.supplierName > :afterName " +
+           "OR (s.supplierName = :afterName AND s.supplierId > :afterId)) " +
+           "ORDER BY s.supplierName ASC, s.supplierId ASC")
+    Slice<Supplier> findByUserAndSearchAfter(@Param("user") User user,
+                                             @Param("search") String search,
+                                             @Param("afterName") String afterName,
+                                             @Param("afterId") Integer afterId,
+                                             Pageable limit);
+    
+    @Query("SELECT s FROM Supplier s WHERE s.user.userId = :userId ORDER BY s.supplierId")
+    List<Supplier> findByUserIdOrderBySupplierId(@Param("userId") Integer userId);
+    
+    @Query("SELECT s FROM Supplier s WHERE s.user.userId = :userId AND s.supplierId IN :supplierIds")
+    List<Supplier> findByUserIdAndSupplierIdIn(@Param("userId") Integer userId,
+                                               @Param("supplierIds") Collection<Integer> supplierIds);
+}
@@ -0,0 +1,16 @@
+package com.kitakita.inventory.repository.projection;
+
+import com.kitakita.inventory.entity.InventoryAdjustment.AdjustmentType;
+
+import java.time.LocalDateTime;
+
+public interface AdjustmentDataRow {
+    Integer getAdjustmentId();
+    Integer getProductId();
+    String getProductCode();
+    String getProductName();
+    AdjustmentType getAdjustmentType();
+    Integer getQuantity();
+    String getReason();
+    LocalDateTime getAdjustmentDate();
+}
@@ -0,0 +1,10 @@
+package com.kitakita.inventory.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface CategorySalesTotal {
+    Integer getCategoryId();
+    String getCategoryName();
+    BigDecimal getTurnover();
+    Long getQuantitySold();
+}
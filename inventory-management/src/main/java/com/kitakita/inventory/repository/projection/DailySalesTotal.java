@@ -0,0 +1,7 @@
+package com.kitakita.inventory.repository.projection;
+
+import java.time.LocalDate;
+
+public interface DailySalesTotal extends SalesTotals {
+    LocalDate getSalesDay();
+}
@@ -0,0 +1,14 @@
+package com.kitakita.inventory.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface InventoryExportRow {
+    Integer getProductId();
+    String getProductName();
+    String getProductCode();
+    String getCategoryName();
+    Integer getQuantity();
+    String getUnit();
+    BigDecimal getBuyingPrice();
+    BigDecimal getSellingPrice();
+}
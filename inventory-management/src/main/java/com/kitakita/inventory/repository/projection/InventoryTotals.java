@@ -0,0 +1,11 @@
+package com.kitakita.inventory.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface InventoryTotals {
+    Long getTotalProducts();
+    Long getTotalQuantity();
+    Long getOnTheWay();
+    Long getLowStockCount();
+    BigDecimal getInventoryValue();
+}
@@ -0,0 +1,24 @@
+package com.kitakita.inventory.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface ProductDataRow {
+    Integer getProductId();
+    String getProductCode();
+    String getProductName();
+    String getCategoryName();
+    String getSupplierName();
+    String getUnit();
+    BigDecimal getBuyingPrice();
+    BigDecimal getSellingPrice();
+    Integer getQuantity();
+    Integer getThresholdValue();
+    Integer getOpeningStock();
+    Integer getOnTheWay();
+    LocalDate getExpiryDate();
+    Boolean getIsActive();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,7 @@
+package com.kitakita.inventory.repository.projection;
+
+public interface ProductDelta {
+    Integer getProductId();
+    Integer getUserId();
+    Long getDelta();
+}
@@ -0,0 +1,6 @@
+package com.kitakita.inventory.repository.projection;
+
+public interface ProductImageUrl {
+    Integer getProductId();
+    String getImageUrl();
+}
@@ -0,0 +1,32 @@
+package com.kitakita.inventory.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Product list read model: the product's own columns plus category and supplier names, loaded in
+ * one joined query. Leaves out the legacy {@code image_url} MEDIUMTEXT column.
+ */
+public interface ProductListRow {
+    Integer getProductId();
+    String getProductName();
+    String getProductCode();
+    Integer getCategoryId();
+    String getCategoryName();
+    Integer getSupplierId();
+    String getSupplierName();
+    String getSupplierContact();
+    BigDecimal getBuyingPrice();
+    BigDecimal getSellingPrice();
+    String getUnit();
+    Integer getQuantity();
+    Integer getThresholdValue();
+    Integer getOpeningStock();
+    Integer getOnTheWay();
+    LocalDate getExpiryDate();
+    String getImageKey();
+    Boolean getIsActive();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
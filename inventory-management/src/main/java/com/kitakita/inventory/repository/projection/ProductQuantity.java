@@ -0,0 +1,8 @@
+package com.kitakita.inventory.repository.projection;
+
+public interface ProductQuantity {
+    Integer getProductId();
+    String getProductCode();
+    String getProductName();
+    Integer getQuantity();
+}
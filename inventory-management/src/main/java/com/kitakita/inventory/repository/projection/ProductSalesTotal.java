@@ -0,0 +1,13 @@
+package com.kitakita.inventory.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface ProductSalesTotal {
+    Integer getProductId();
+    String getProductName();
+    String getCategoryName();
+    Integer getRemainingQuantity();
+    String getUnit();
+    BigDecimal getTurnover();
+    Long getQuantitySold();
+}
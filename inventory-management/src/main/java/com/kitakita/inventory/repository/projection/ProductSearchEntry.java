@@ -0,0 +1,7 @@
+package com.kitakita.inventory.repository.projection;
+
+public interface ProductSearchEntry {
+    Integer getProductId();
+    String getProductName();
+    String getProductCode();
+}
@@ -0,0 +1,10 @@
+package com.kitakita.inventory.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface ProductStockLevel {
+    Integer getProductId();
+    Integer getQuantity();
+    Integer getOpeningStock();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,20 @@
+package com.kitakita.inventory.repository.projection;
+
+import com.kitakita.inventory.entity.Purchase.PurchaseStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface PurchaseDataRow {
+    Integer getPurchaseId();
+    Integer getProductId();
+    String getProductCode();
+    String getProductName();
+    String getSupplierName();
+    Integer getQuantity();
+    BigDecimal getUnitCost();
+    BigDecimal getTotalCost();
+    PurchaseStatus getStatus();
+    LocalDateTime getPurchaseDate();
+    String getNotes();
+}
@@ -0,0 +1,20 @@
+package com.kitakita.inventory.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface SaleDataRow {
+    Integer getSaleId();
+    String getSaleCode();
+    String getReceiptCode();
+    Integer getProductId();
+    String getProductCode();
+    String getProductName();
+    Integer getQuantity();
+    BigDecimal getUnitPrice();
+    BigDecimal getTotalValue();
+    BigDecimal getBuyingPrice();
+    LocalDateTime getSaleDate();
+    LocalDateTime getUpdatedAt();
+    String getNotes();
+}
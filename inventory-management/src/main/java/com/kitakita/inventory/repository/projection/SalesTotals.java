@@ -0,0 +1,13 @@
+package com.kitakita.inventory.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface SalesTotals {
+    Long getSaleCount();
+    Long getQuantity();
+    BigDecimal getRevenue();
+    BigDecimal getCost();
+    Long getReturnedQuantity();
+    BigDecimal getRefunds();
+    BigDecimal getReturnedCost();
+}
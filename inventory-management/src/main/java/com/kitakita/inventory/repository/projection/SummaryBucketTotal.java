@@ -0,0 +1,10 @@
+package com.kitakita.inventory.repository.projection;
+
+import com.kitakita.inventory.entity.InventorySummaryBucket.BucketType;
+
+public interface SummaryBucketTotal {
+    BucketType getBucketType();
+    Integer getBucketKey();
+    long getProductCount();
+    long getQuantity();
+}
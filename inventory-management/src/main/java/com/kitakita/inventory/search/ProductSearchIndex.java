@@ -0,0 +1,282 @@
+package com.kitakita.inventory.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kitakita.inventory.entity.Product;
+import com.kitakita.inventory.repository.ProductRepository;
+import com.kitakita.inventory.repository.projection.ProductSearchEntry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory trigram index over product names and codes, partitioned per user.
+ * <p>
+ * A lookup resolves a search term to the ids of matching products so the product list can be
+ * filtered by primary key instead of a leading-wildcard {@code LIKE} scan. Indexes are loaded
+ * lazily from a lightweight projection, kept in sync by the product service after each commit,
+ * and rebuilt once they are older than {@code product.search.index-ttl} to pick up writes made
+ * by other application instances. Indexes are held in a bounded cache: one not searched for
+ * {@code product.search.idle-expiry} is dropped, and the least used are evicted once the indexes
+ * together hold more than {@code product.search.max-indexed-products} products.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final int GRAM_SIZE = 3;
+    private static final int MAX_BUILD_ATTEMPTS = 3;
+
+    private final ProductRepository productRepository;
+
+    private final Cache<Integer, UserIndex> indexes;
+    // Outlives the index it guards, so a write is still seen by a build that started before it
+    private final Cache<Integer, AtomicLong> generations;
+    private final int maxCandidates;
+    private final Duration indexTtl;
+
+    public ProductSearchIndex(ProductRepository productRepository,
+                              @Value("${product.search.max-candidates:2000}") int maxCandidates,
+                              @Value("${product.search.index-ttl:PT10M}") Duration indexTtl,
+                              @Value("${product.search.idle-expiry:PT30M}") Duration idleExpiry,
+                              @Value("${product.search.max-indexed-products:1000000}") long maxIndexedProducts,
+                              MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.maxCandidates = maxCandidates;
+        this.indexTtl = indexTtl;
+        // Weighed when cached; products added later are not counted until the next rebuild
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(maxIndexedProducts)
+                .weigher((Integer userId, UserIndex index) -> index.size() + 1)
+                .expireAfterAccess(idleExpiry)
+                .recordStats()
+                .build();
+        this.generations = Caffeine.newBuilder()
+                .expireAfterAccess(idleExpiry.multipliedBy(2))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "productSearchIndexes");
+    }
+
+    /**
+     * Returns the ids of the user's products whose name or code contains {@code term}
+     * (case-insensitive), or an empty optional when there are too many matches for an
+     * id-based query to pay off and the caller should fall back to a database scan.
+     */
+    public Optional<List<Integer>> findMatchingIds(Integer userId, String term) {
+        return Optional.ofNullable(indexFor(userId).search(normalize(term), maxCandidates));
+    }
+
+    public void indexAfterCommit(Product product) {
+        Integer userId = product.getUser().getUserId();
+        Integer productId = product.getProductId();
+        String name = product.getProductName();
+        String code = product.getProductCode();
+        afterCommit(userId, index -> index.put(productId, name, code));
+    }
+
+    public void removeAfterCommit(Integer userId, Integer productId) {
+        afterCommit(userId, index -> index.remove(productId));
+    }
+
+    /**
+     * Drops the user's index so the next search rebuilds it from the database. Used after bulk
+     * writes where replaying individual changes would cost more than a rebuild.
+     */
+    public void invalidate(Integer userId) {
+        generation(userId).incrementAndGet();
+        indexes.invalidate(userId);
+    }
+
+    private void afterCommit(Integer userId, Consumer<UserIndex> change) {
+        Runnable apply = () -> {
+            generation(userId).incrementAndGet();
+            UserIndex index = indexes.getIfPresent(userId);
+            if (index != null) {
+                change.accept(index);
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private UserIndex indexFor(Integer userId) {
+        UserIndex index = indexes.getIfPresent(userId);
+        if (index != null && !index.isOlderThan(indexTtl)) {
+            return index;
+        }
+
+        // A product committed while the snapshot is loading would be missed by the new index,
+        // so retry when the generation moved underneath the build.
+        // A counter replaced because it expired mid-build counts as moved.
+        for (int attempt = 1; ; attempt++) {
+            AtomicLong counter = generation(userId);
+            long generation = counter.get();
+            UserIndex built = build(userId);
+            AtomicLong current = generation(userId);
+            if ((current == counter && current.get() == generation) || attempt == MAX_BUILD_ATTEMPTS) {
+                indexes.put(userId, built);
+                return built;
+            }
+        }
+    }
+
+    private UserIndex build(Integer userId) {
+        UserIndex index = new UserIndex();
+        for (ProductSearchEntry entry : productRepository.findSearchEntriesByUserId(userId)) {
+            index.put(entry.getProductId(), entry.getProductName(), entry.getProductCode());
+        }
+        return index;
+    }
+
+    private AtomicLong generation(Integer userId) {
+        return generations.get(userId, id -> new AtomicLong());
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    private record Entry(String name, String code) {
+        boolean matches(String needle) {
+            return name.contains(needle) || code.contains(needle);
+        }
+    }
+
+    private static final class UserIndex {
+        private final Map<Integer, Entry> entries = new HashMap<>();
+        private final Map<String, Set<Integer>> postings = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final long builtAt = System.nanoTime();
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        boolean isOlderThan(Duration ttl) {
+            return System.nanoTime() - builtAt > ttl.toNanos();
+        }
+
+        void put(Integer productId, String name, String code) {
+            lock.writeLock().lock();
+            try {
+                removeInternal(productId);
+                Entry entry = new Entry(normalize(name), normalize(code));
+                entries.put(productId, entry);
+                for (String gram : gramsOf(entry)) {
+                    postings.computeIfAbsent(gram, key -> new HashSet<>()).add(productId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Integer productId) {
+            lock.writeLock().lock();
+            try {
+                removeInternal(productId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Returns matching ids, or {@code null} when more than {@code limit} products match.
+         */
+        List<Integer> search(String needle, int limit) {
+            lock.readLock().lock();
+            try {
+                Collection<Integer> candidates = needle.length() < GRAM_SIZE
+                        ? entries.keySet()
+                        : smallestPosting(needle);
+
+                List<Integer> matches = new ArrayList<>();
+                for (Integer productId : candidates) {
+                    if (entries.get(productId).matches(needle)) {
+                        if (matches.size() == limit) {
+                            return null;
+                        }
+                        matches.add(productId);
+                    }
+                }
+                return matches;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private Collection<Integer> smallestPosting(String needle) {
+            Set<Integer> smallest = null;
+            for (String gram : grams(needle)) {
+                Set<Integer> posting = postings.get(gram);
+                if (posting == null) {
+                    return Set.of();
+                }
+                if (smallest == null || posting.size() < smallest.size()) {
+                    smallest = posting;
+                }
+            }
+            return smallest;
+        }
+
+        private void removeInternal(Integer productId) {
+            Entry previous = entries.remove(productId);
+            if (previous == null) {
+                return;
+            }
+            for (String gram : gramsOf(previous)) {
+                Set<Integer> posting = postings.get(gram);
+                if (posting != null) {
+                    posting.remove(productId);
+                    if (posting.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+
+        private static Set<String> gramsOf(Entry entry) {
+            Set<String> grams = grams(entry.name());
+            grams.addAll(grams(entry.code()));
+            return grams;
+        }
+    }
+}
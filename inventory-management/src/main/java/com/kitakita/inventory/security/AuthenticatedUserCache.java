@@ -0,0 +1,59 @@
+package com.kitakita.inventory.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.kitakita.inventory.entity.User;
+import com.kitakita.inventory.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Short-lived, bounded cache of users resolved from JWTs, keyed by the user id claim.
+ * <p>
+ * Entries are detached entities: they can be bound as query parameters and used as association
+ * targets, but must not be modified. Any update to a user row evicts its entry (see
+ * {@link UserCacheEvictionListener}); changes made outside the application are picked up once
+ * {@code security.user-cache.ttl} has elapsed.
+ */
+@Component
+public class AuthenticatedUserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Integer, User> users;
+
+    public AuthenticatedUserCache(UserRepository userRepository,
+                                  @Value("${security.user-cache.ttl:PT1M}") Duration ttl,
+                                  @Value("${security.user-cache.max-size:10000}") long maxSize,
+                                  MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "authenticatedUsers");
+    }
+
+    public Optional<User> get(Integer userId) {
+        // Unknown ids are not cached, so a missing user always goes back to the database
+        return Optional.ofNullable(users.get(userId, id -> userRepository.findById(id).orElse(null)));
+    }
+
+    public void evict(Integer userId) {
+        users.invalidate(userId);
+    }
+
+    public CacheStats stats() {
+        return users.stats();
+    }
+
+    public long estimatedSize() {
+        return users.estimatedSize();
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -25,6 +26,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private AuthenticatedUserCache userCache;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                     HttpServletResponse response, 
@@ -32,10 +36,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String email = tokenProvider.getEmailFromToken(jwt);
+            Optional<JwtClaims> claims = StringUtils.hasText(jwt) ? tokenProvider.parseToken(jwt) : Optional.empty();
+            if (claims.isPresent()) {
+                UserDetails userDetails = resolveUser(claims.get());
+                if (userDetails == null || !userDetails.isEnabled()) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
                 UsernamePasswordAuthenticationToken authentication = 
                         new UsernamePasswordAuthenticationToken(
                                 userDetails, 
@@ -53,6 +61,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails resolveUser(JwtClaims claims) {
+        if (claims.userId() == null) {
+            // Tokens without the user id claim resolve by email until they expire
+            return userDetailsService.loadUserByUsername(claims.subject());
+        }
+
+        return userCache.get(claims.userId())
+                .filter(user -> user.getEmail().equals(claims.subject()))
+                .map(UserPrincipal::new)
+                .orElse(null);
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,10 @@
+package com.kitakita.inventory.security;
+
+import java.time.Instant;
+
+/**
+ * The claims of a verified token. {@code userId} and {@code role} are {@code null} for tokens
+ * issued before those claims were added.
+ */
+public record JwtClaims(String subject, Integer userId, String role, Instant expiresAt) {
+}
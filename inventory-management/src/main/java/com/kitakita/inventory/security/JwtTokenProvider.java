@@ -1,74 +1,143 @@
 package com.kitakita.inventory.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.kitakita.inventory.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
 
-    @Value("${jwt.expiration}")
-    private long jwtExpirationMs;
+    private final long jwtExpirationMs;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    // Tokens that already passed signature verification, held until they expire. Clients send
+    // the same token on every request, so most requests skip the parse and HMAC entirely.
+    private final Cache<String, JwtClaims> verifiedTokens;
+
+    // security.jwt.verify, by whether the verified-token cache answered and whether the token was accepted
+    private final Timer cachedValid;
+    private final Timer cachedExpired;
+    private final Timer verifiedValid;
+    private final Timer verifiedInvalid;
+
+    public JwtTokenProvider(@Value("${jwt.secret}") String jwtSecret,
+                            @Value("${jwt.expiration}") long jwtExpirationMs,
+                            @Value("${jwt.verified-cache.max-size:10000}") long verifiedCacheSize,
+                            MeterRegistry meterRegistry) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, JwtClaims>() {
+                    @Override
+                    public long expireAfterCreate(String token, JwtClaims claims, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, JwtClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, JwtClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwtVerifiedTokens");
+
+        this.cachedValid = verifyTimer(meterRegistry, "hit", "valid");
+        this.cachedExpired = verifyTimer(meterRegistry, "hit", "invalid");
+        this.verifiedValid = verifyTimer(meterRegistry, "miss", "valid");
+        this.verifiedInvalid = verifyTimer(meterRegistry, "miss", "invalid");
     }
 
-    public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String cache, String outcome) {
+        return Timer.builder("security.jwt.verify")
+                .description("JWT verification time")
+                .tag("cache", cache)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 
-        return Jwts.builder()
-                .subject(userDetails.getUsername())
-                .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+    public String generateToken(Authentication authentication) {
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        return generateToken(principal.getUser());
     }
 
-    public String generateTokenFromEmail(String email) {
+    public String generateToken(User user) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
-                .subject(email)
+                .subject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getUserId())
+                .claim(ROLE_CLAIM, user.getRole())
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject();
-    }
+    /**
+     * Verifies the token and returns its claims, or an empty optional when the token is
+     * malformed, tampered with or expired. Each distinct token is parsed once.
+     */
+    public Optional<JwtClaims> parseToken(String token) {
+        long start = System.nanoTime();
+        JwtClaims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            // The cache may hold an entry for a moment past its expiry
+            boolean valid = cached.expiresAt().isAfter(Instant.now());
+            (valid ? cachedValid : cachedExpired).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return valid ? Optional.of(cached) : Optional.empty();
+        }
 
-    public boolean validateToken(String token) {
+        Claims claims;
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            claims = parser.parseSignedClaims(token).getPayload();
         } catch (JwtException | IllegalArgumentException e) {
-            // Log the exception if needed
-            return false;
+            verifiedInvalid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.empty();
         }
+        if (claims.getExpiration() == null) {
+            verifiedInvalid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.empty();
+        }
+
+        JwtClaims verified = new JwtClaims(
+                claims.getSubject(),
+                claims.get(USER_ID_CLAIM, Integer.class),
+                claims.get(ROLE_CLAIM, String.class),
+                claims.getExpiration().toInstant());
+        verifiedTokens.put(token, verified);
+        verifiedValid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Optional.of(verified);
     }
 }
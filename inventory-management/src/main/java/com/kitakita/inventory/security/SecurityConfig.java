@@ -3,6 +3,7 @@ package com.kitakita.inventory.security;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -67,7 +68,10 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/fix/**").permitAll() // Allow access to fix endpoints
+                        .requestMatchers(HttpMethod.GET, "/api/images/**").permitAll() // Loaded by <img> tags, keys are content hashes
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/health").permitAll() // Liveness and readiness probes
+                        .requestMatchers("/actuator/**").hasRole("ADMIN") // Metrics reveal endpoint timings and internals
                         .anyRequest().authenticated()
                 );
 
@@ -14,6 +14,11 @@ public class SecurityUtils {
     @Autowired
     private UserRepository userRepository;
 
+    /**
+     * Returns the authenticated user. Requests authenticated by JWT already carry the user on
+     * their {@link UserPrincipal}, so this does not hit the database; the returned entity is
+     * detached and must not be modified.
+     */
     public User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -21,6 +26,9 @@ public class SecurityUtils {
         }
 
         Object principal = authentication.getPrincipal();
+        if (principal instanceof UserPrincipal userPrincipal) {
+            return userPrincipal.getUser();
+        }
         if (principal instanceof UserDetails) {
             String email = ((UserDetails) principal).getUsername();
             return userRepository.findByEmail(email).orElse(null);
@@ -28,4 +36,4 @@ public class SecurityUtils {
 
         return null;
     }
-}
\ No newline at end of file
+}
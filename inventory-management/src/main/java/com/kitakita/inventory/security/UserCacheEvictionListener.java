@@ -0,0 +1,46 @@
+package com.kitakita.inventory.security;
+
+import com.kitakita.inventory.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts a user from the {@link AuthenticatedUserCache} whenever the row changes, so a new role
+ * or a deactivation takes effect on the user's next request.
+ */
+@Component
+public class UserCacheEvictionListener {
+
+    // Resolved lazily: the cache depends on the repository, which needs the entity manager
+    // factory that instantiates this listener. Absent in JPA slice tests.
+    private final ObjectProvider<AuthenticatedUserCache> userCache;
+
+    public UserCacheEvictionListener(ObjectProvider<AuthenticatedUserCache> userCache) {
+        this.userCache = userCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        Integer userId = user.getUserId();
+        AuthenticatedUserCache cache = userCache.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+        cache.evict(userId);
+
+        // Evict again once committed, in case a concurrent request reloaded the old row meanwhile
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(userId);
+                }
+            });
+        }
+    }
+}
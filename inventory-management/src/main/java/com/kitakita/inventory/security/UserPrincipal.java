@@ -0,0 +1,45 @@
+package com.kitakita.inventory.security;
+
+import com.kitakita.inventory.entity.User;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Authenticated principal that carries the resolved {@link User}, so request handling can read
+ * the current user from the security context instead of looking it up again.
+ */
+@Getter
+public class UserPrincipal implements UserDetails {
+
+    private final User user;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    public UserPrincipal(User user) {
+        this.user = user;
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority(user.getRole()));
+    }
+
+    public Integer getUserId() {
+        return user.getUserId();
+    }
+
+    @Override
+    public String getUsername() {
+        return user.getEmail();
+    }
+
+    @Override
+    public String getPassword() {
+        return user.getPasswordHash();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(user.getIsActive());
+    }
+}
@@ -0,0 +1,83 @@
+package com.kitakita.inventory.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates unique, time-ordered codes such as {@code SL-0QJ3K9QX2M4TA} without touching the
+ * database.
+ * <p>
+ * Each code is a 64-bit value of 42 bits of milliseconds since 2024-01-01, a 10-bit node id and a
+ * 12-bit sequence, written as 13 Crockford base32 characters so codes sort by creation time and
+ * avoid ambiguous letters. The timestamp and sequence share one {@link AtomicLong} that only moves
+ * forward: a burst of more than 4096 codes in a millisecond borrows from the next one, and a clock
+ * stepping back does not repeat values. Codes are unique across instances as long as each instance
+ * has its own {@code codes.node-id}, so startup fails when it is not set.
+ */
+@Component
+public class CodeGenerator {
+
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    // Milliseconds since the epoch shifted left by SEQUENCE_BITS, plus the sequence within that millisecond
+    private final AtomicLong lastTick = new AtomicLong();
+
+    @Autowired
+    public CodeGenerator(@Value("${codes.node-id:-1}") int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    CodeGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0) {
+            throw new IllegalStateException("codes.node-id is not set; give every instance a distinct id " +
+                    "between 0 and " + MAX_NODE_ID);
+        } else if (nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("codes.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    public String productCode() {
+        return next("SKU-");
+    }
+
+    public String saleCode() {
+        return next("SL-");
+    }
+
+    public String receiptCode() {
+        return next("RC-");
+    }
+
+    private String next(String prefix) {
+        long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long tick = lastTick.updateAndGet(last -> Math.max(last + 1, now));
+
+        long millis = tick >>> SEQUENCE_BITS;
+        long sequence = tick & ((1L << SEQUENCE_BITS) - 1);
+        long value = (millis << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence;
+        return prefix + encode(value);
+    }
+
+    private static String encode(long value) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = CROCKFORD[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(chars);
+    }
+}
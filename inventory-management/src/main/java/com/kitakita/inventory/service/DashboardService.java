@@ -4,6 +4,7 @@ import com.kitakita.inventory.dto.response.DashboardSummaryResponse;
 
 public interface DashboardService {
     DashboardSummaryResponse getSummary();
+    DashboardSummaryResponse rebuildSummary();
 }
 
 
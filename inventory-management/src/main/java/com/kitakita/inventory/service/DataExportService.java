@@ -0,0 +1,52 @@
+package com.kitakita.inventory.service;
+
+import org.springframework.http.MediaType;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Streams the current user's records as CSV or newline-delimited JSON, one row per record in id
+ * order, straight from a database cursor so exports of any size run in constant memory.
+ */
+public interface DataExportService {
+
+    /**
+     * Writes every matching row of {@code dataset} to {@code out}. Intended to run inside a
+     * {@code StreamingResponseBody}; the read transaction is opened and closed here.
+     */
+    void export(Dataset dataset, TabularFormat format, ExportFilter filter, OutputStream out);
+
+    enum Dataset {
+        PRODUCTS, SALES, PURCHASES, ADJUSTMENTS
+    }
+
+    enum TabularFormat {
+        CSV(new MediaType("text", "csv"), "csv"),
+        NDJSON(new MediaType("application", "x-ndjson"), "ndjson");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        TabularFormat(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Optional bounds: {@code from}/{@code to} select by the record's own date (creation for
+     * products), half-open; {@code changedSince} selects rows created or modified at or after the
+     * given time, for incremental extracts. Deleted rows are not reported.
+     */
+    record ExportFilter(LocalDateTime from, LocalDateTime to, LocalDateTime changedSince) {
+    }
+}
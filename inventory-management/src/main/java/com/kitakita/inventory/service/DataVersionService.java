@@ -0,0 +1,23 @@
+package com.kitakita.inventory.service;
+
+/**
+ * Versions of each user's data, bumped in the same transaction as every write that changes what
+ * the read endpoints return. Two reads seeing the same versions would produce the same response,
+ * which is what lets those endpoints answer {@code If-None-Match} with {@code 304 Not Modified}.
+ */
+public interface DataVersionService {
+
+    /**
+     * Marks the user's products, stock, sales, purchases, suppliers or adjustments as changed.
+     */
+    void bump(Integer userId);
+
+    /**
+     * Marks data shared by all users (categories) as changed.
+     */
+    void bumpShared();
+
+    long getVersion(Integer userId);
+
+    long getSharedVersion();
+}
@@ -0,0 +1,39 @@
+package com.kitakita.inventory.service;
+
+import com.kitakita.inventory.dto.request.ExportRequest;
+import com.kitakita.inventory.dto.response.ExportJobResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+
+public interface ExportJobService {
+    ExportJobResponse submit(ExportRequest request);
+    ExportJobResponse getJob(String jobId);
+    ExportDownload download(String jobId);
+
+    enum ExportFormat {
+        PDF(MediaType.APPLICATION_PDF, "pdf");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        ExportFormat(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    enum ExportStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    record ExportDownload(Resource resource, String fileName, MediaType mediaType) {
+    }
+}
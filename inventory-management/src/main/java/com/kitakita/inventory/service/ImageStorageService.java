@@ -0,0 +1,36 @@
+package com.kitakita.inventory.service;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+public interface ImageStorageService {
+
+    /**
+     * Stores the image and its thumbnail, returning the content-addressed key. Storing the same
+     * bytes again returns the same key without rewriting anything.
+     *
+     * @throws IllegalArgumentException if the bytes are not a supported image
+     */
+    String store(byte[] data);
+
+    /**
+     * Decodes and stores a {@code data:image/...;base64,} URL.
+     *
+     * @throws IllegalArgumentException if the value is not a base64 data URL of a supported image
+     */
+    String storeDataUrl(String dataUrl);
+
+    Optional<StoredImage> load(String key, boolean thumbnail);
+
+    /**
+     * Returns the image key referenced by one of our image URLs, if {@code url} is one.
+     */
+    Optional<String> keyFromUrl(String url);
+
+    String imageUrl(String key);
+
+    String thumbnailUrl(String key);
+
+    record StoredImage(Path path, String contentType, String etag) {
+    }
+}
@@ -0,0 +1,181 @@
+package com.kitakita.inventory.service;
+
+import com.kitakita.inventory.entity.User;
+import com.kitakita.inventory.repository.ProductRepository;
+import com.kitakita.inventory.repository.projection.InventoryExportRow;
+import com.kitakita.inventory.search.ProductSearchIndex;
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Font;
+import com.lowagie.text.FontFactory;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+
+/**
+ * Writes the inventory report PDF straight to an output stream.
+ * <p>
+ * Products are read in keyset-ordered chunks of {@code product.export.chunk-size} rows as
+ * projections, and the table is marked incomplete so OpenPDF lays out and releases each chunk's
+ * rows as soon as it is added. Memory use stays flat regardless of catalog size.
+ */
+@Component
+@RequiredArgsConstructor
+public class InventoryPdfExporter {
+
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+
+    @Value("${product.export.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Writes the report for the user's products matching {@code search} and {@code categoryId}
+     * and returns the number of products written. The stream is not closed.
+     */
+    public long write(User user, String search, Integer categoryId, OutputStream out) {
+        return write(user, search, categoryId, out, written -> { });
+    }
+
+    /**
+     * Same as {@link #write(User, String, Integer, OutputStream)}, reporting the running row
+     * count to {@code progress} after each chunk.
+     */
+    public long write(User user, String search, Integer categoryId, OutputStream out, LongConsumer progress) {
+        Document document = new Document(PageSize.A4.rotate());
+        long total = 0;
+
+        try {
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
+            document.open();
+
+            Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16);
+            document.add(new Paragraph("KitaKita Inventory Report", titleFont));
+            document.add(new Paragraph("Generated on: " + DateTimeFormatter.ISO_DATE.format(LocalDate.now())));
+            document.add(new Paragraph(" "));
+
+            PdfPTable table = new PdfPTable(7);
+            table.setWidthPercentage(100);
+            table.setWidths(new float[]{3f, 2f, 2f, 2f, 2f, 2f, 2f});
+            table.setHeaderRows(1);
+            table.setComplete(false);
+
+            addHeader(table, "Product");
+            addHeader(table, "Code");
+            addHeader(table, "Category");
+            addHeader(table, "Quantity");
+            addHeader(table, "Unit");
+            addHeader(table, "Buying Price");
+            addHeader(table, "Selling Price");
+
+            ChunkReader reader = chunkReader(user, search, categoryId);
+            Pageable limit = PageRequest.of(0, chunkSize);
+            Integer afterId = 0;
+            List<InventoryExportRow> chunk;
+            do {
+                chunk = reader.read(afterId, limit);
+                for (InventoryExportRow row : chunk) {
+                    table.addCell(nullable(row.getProductName()));
+                    table.addCell(nullable(row.getProductCode()));
+                    table.addCell(row.getCategoryName() != null ? row.getCategoryName() : "-");
+                    table.addCell(nullable(row.getQuantity()));
+                    table.addCell(nullable(row.getUnit()));
+                    table.addCell(toCurrency(row.getBuyingPrice()));
+                    table.addCell(toCurrency(row.getSellingPrice()));
+                }
+                if (!chunk.isEmpty()) {
+                    afterId = chunk.get(chunk.size() - 1).getProductId();
+                    total += chunk.size();
+                    progress.accept(total);
+                    // Lays out the rows added so far and drops them from the table
+                    document.add(table);
+                }
+            } while (chunk.size() == chunkSize);
+
+            table.setComplete(true);
+            document.add(table);
+
+            document.add(new Paragraph(" "));
+            document.add(new Paragraph("Total products: " + total));
+        } catch (DocumentException e) {
+            throw new IllegalStateException("Failed to generate PDF", e);
+        } finally {
+            document.close();
+        }
+
+        return total;
+    }
+
+    /**
+     * Counts the products {@link #write} would include.
+     */
+    public long count(User user, String search, Integer categoryId) {
+        if (search == null) {
+            return productRepository.countExportRows(user, null, categoryId);
+        }
+
+        Optional<List<Integer>> matchingIds = productSearchIndex.findMatchingIds(user.getUserId(), search);
+        if (matchingIds.isEmpty()) {
+            return productRepository.countExportRows(user, search, categoryId);
+        }
+        if (matchingIds.get().isEmpty()) {
+            return 0;
+        }
+        return productRepository.countExportRowsByIds(user, matchingIds.get(), categoryId);
+    }
+
+    private ChunkReader chunkReader(User user, String search, Integer categoryId) {
+        if (search == null) {
+            return (afterId, limit) -> productRepository.findExportChunk(user, null, categoryId, afterId, limit);
+        }
+
+        Optional<List<Integer>> matchingIds = productSearchIndex.findMatchingIds(user.getUserId(), search);
+        if (matchingIds.isEmpty()) {
+            return (afterId, limit) -> productRepository.findExportChunk(user, search, categoryId, afterId, limit);
+        }
+        if (matchingIds.get().isEmpty()) {
+            return (afterId, limit) -> List.of();
+        }
+        List<Integer> ids = matchingIds.get();
+        return (afterId, limit) -> productRepository.findExportChunkByIds(user, ids, categoryId, afterId, limit);
+    }
+
+    private void addHeader(PdfPTable table, String text) {
+        Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12);
+        PdfPCell headerCell = new PdfPCell(new Paragraph(text, headerFont));
+        table.addCell(headerCell);
+    }
+
+    private String nullable(Object value) {
+        return Objects.toString(value, "-");
+    }
+
+    private String toCurrency(BigDecimal value) {
+        if (value == null) {
+            return "-";
+        }
+        return "₱" + value;
+    }
+
+    @FunctionalInterface
+    private interface ChunkReader {
+        List<InventoryExportRow> read(Integer afterId, Pageable limit);
+    }
+}
@@ -0,0 +1,62 @@
+package com.kitakita.inventory.service;
+
+import com.kitakita.inventory.entity.User;
+import com.kitakita.inventory.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically rebuilds every user's inventory summary from the products table so that any
+ * drift in the incrementally maintained counters is corrected. At startup it also builds the
+ * summaries that do not exist yet, so the dashboard read path rarely has to. Users whose summary
+ * it changes get their data version bumped, so clients holding an old ETag fetch the repair.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventorySummaryReconciler implements ApplicationRunner {
+
+    private final InventorySummaryService inventorySummaryService;
+    private final UserRepository userRepository;
+
+    @Value("${dashboard.summary.seed-on-startup:true}")
+    private boolean seedOnStartup;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!seedOnStartup) {
+            return;
+        }
+        try {
+            int seeded = inventorySummaryService.seedMissing();
+            if (seeded > 0) {
+                log.info("Built inventory summaries for {} users", seeded);
+            }
+        } catch (RuntimeException e) {
+            // Missing summaries are still built on first read; never block startup on it
+            log.warn("Could not seed inventory summaries: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${dashboard.summary.reconcile-cron:0 30 2 * * *}")
+    public void reconcileAll() {
+        int rebuilt = 0;
+        int repaired = 0;
+        for (User user : userRepository.findAll()) {
+            try {
+                if (inventorySummaryService.reconcile(user.getUserId())) {
+                    repaired++;
+                }
+                rebuilt++;
+            } catch (RuntimeException e) {
+                log.warn("Could not rebuild inventory summary for user {}: {}", user.getUserId(), e.getMessage());
+            }
+        }
+        log.info("Reconciled inventory summaries for {} users, {} of which had drifted", rebuilt, repaired);
+    }
+}
@@ -0,0 +1,86 @@
+package com.kitakita.inventory.service;
+
+import com.kitakita.inventory.entity.InventorySummary;
+import com.kitakita.inventory.entity.InventorySummaryBucket;
+import com.kitakita.inventory.entity.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface InventorySummaryService {
+
+    /**
+     * Applies the difference between a product's contribution before and after a write.
+     * Pass {@code null} as {@code before} for a new product and as {@code after} for a deleted one.
+     */
+    void recordChange(Integer userId, Contribution before, Contribution after);
+
+    InventorySummary getSummary(Integer userId);
+
+    List<InventorySummaryBucket> getBuckets(Integer userId, InventorySummaryBucket.BucketType bucketType);
+
+    long countBuckets(Integer userId, InventorySummaryBucket.BucketType bucketType);
+
+    InventorySummary rebuild(Integer userId);
+
+    /**
+     * Rebuilds the user's summary and bumps their data version if that changed any total or bucket.
+     *
+     * @return whether the summary had drifted
+     */
+    boolean reconcile(Integer userId);
+
+    /**
+     * Builds a summary for every user who does not have one yet and bumps their data versions.
+     *
+     * @return the number of summaries built
+     */
+    int seedMissing();
+
+    /**
+     * What a single product adds to its owner's summary. Captured before and after a write so the
+     * summary can be adjusted by the difference instead of being recomputed.
+     */
+    record Contribution(Integer categoryId,
+                        Integer supplierId,
+                        Integer monthKey,
+                        long quantity,
+                        long onTheWay,
+                        boolean lowStock,
+                        BigDecimal value) {
+
+        public static Contribution of(Product product) {
+            long quantity = product.getQuantity() != null ? product.getQuantity() : 0;
+            LocalDateTime reference = product.getUpdatedAt() != null ? product.getUpdatedAt() : product.getCreatedAt();
+            if (reference == null) {
+                reference = LocalDateTime.now();
+            }
+            BigDecimal value = product.getSellingPrice() != null
+                    ? product.getSellingPrice().multiply(BigDecimal.valueOf(quantity))
+                    : BigDecimal.ZERO;
+
+            return new Contribution(
+                    product.getCategory() != null ? product.getCategory().getCategoryId() : null,
+                    product.getSupplier() != null ? product.getSupplier().getSupplierId() : null,
+                    reference.getYear() * 100 + reference.getMonthValue(),
+                    quantity,
+                    product.getOnTheWay() != null ? product.getOnTheWay() : 0,
+                    product.getQuantity() != null && product.getThresholdValue() != null
+                            && product.getQuantity() <= product.getThresholdValue(),
+                    value
+            );
+        }
+
+        /**
+         * The same contribution at a different stock level, priced and thresholded like {@code product}.
+         */
+        public Contribution withQuantity(long quantity, Product product) {
+            BigDecimal value = product.getSellingPrice() != null
+                    ? product.getSellingPrice().multiply(BigDecimal.valueOf(quantity))
+                    : BigDecimal.ZERO;
+            boolean lowStock = product.getThresholdValue() != null && quantity <= product.getThresholdValue();
+            return new Contribution(categoryId, supplierId, monthKey, quantity, onTheWay, lowStock, value);
+        }
+    }
+}
@@ -2,12 +2,11 @@ package com.kitakita.inventory.service;
 
 import com.kitakita.inventory.dto.request.InventoryAdjustmentRequest;
 import com.kitakita.inventory.dto.response.AdjustmentHistoryResponse;
+import com.kitakita.inventory.dto.response.PagedResponse;
 import com.kitakita.inventory.dto.response.PurchaseHistoryResponse;
 
-import java.util.List;
-
 public interface ProductHistoryService {
-    List<PurchaseHistoryResponse> getProductPurchases(Integer productId);
-    List<AdjustmentHistoryResponse> getProductAdjustments(Integer productId);
+    PagedResponse<PurchaseHistoryResponse> getProductPurchases(Integer productId, int page, int size);
+    PagedResponse<AdjustmentHistoryResponse> getProductAdjustments(Integer productId, int page, int size);
     AdjustmentHistoryResponse createAdjustment(InventoryAdjustmentRequest request);
 }
@@ -0,0 +1,77 @@
+package com.kitakita.inventory.service;
+
+import com.kitakita.inventory.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves inline base64 product images out of {@code products.image_url} into the image store at
+ * startup. Products are processed one at a time so only a single image is in memory; images that
+ * cannot be decoded are left in place and logged.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductImageMigration implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final ProductRepository productRepository;
+    private final ImageStorageService imageStorageService;
+
+    @Value("${images.migrate-inline-on-startup:true}")
+    private boolean migrateOnStartup;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!migrateOnStartup) {
+            return;
+        }
+        try {
+            int migrated = migrateInlineImages();
+            if (migrated > 0) {
+                log.info("Moved {} inline product images to the image store", migrated);
+            }
+        } catch (RuntimeException e) {
+            // Inline images keep working until the next attempt
+            log.warn("Could not migrate inline product images: {}", e.getMessage());
+        }
+    }
+
+    public int migrateInlineImages() {
+        int migrated = 0;
+        Integer afterId = 0;
+        List<Integer> productIds;
+        do {
+            productIds = productRepository.findInlineImageProductIds(afterId, PageRequest.of(0, BATCH_SIZE));
+            for (Integer productId : productIds) {
+                if (migrate(productId)) {
+                    migrated++;
+                }
+                afterId = productId;
+            }
+        } while (productIds.size() == BATCH_SIZE);
+        return migrated;
+    }
+
+    private boolean migrate(Integer productId) {
+        String dataUrl = productRepository.findImageUrl(productId);
+        if (dataUrl == null || !dataUrl.startsWith("data:")) {
+            return false;
+        }
+        try {
+            String key = imageStorageService.storeDataUrl(dataUrl);
+            return productRepository.moveImageToStore(productId, key) > 0;
+        } catch (IllegalArgumentException e) {
+            log.warn("Leaving inline image of product {} in place: {}", productId, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.kitakita.inventory.service;
+
+import com.kitakita.inventory.dto.response.ProductImportProgressResponse;
+import com.kitakita.inventory.dto.response.ProductImportResponse;
+
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    /**
+     * Creates or updates the current user's products from a CSV file with a header row, matched on
+     * product code. The file is read as a stream and written in batches that commit independently:
+     * a row that fails validation is reported and skipped, and a batch that fails to write is
+     * reported for each of its rows, without undoing batches already written.
+     */
+    ProductImportResponse importCsv(InputStream csv);
+
+    /**
+     * Rows read, written and rejected so far by the current user's import in progress.
+     */
+    ProductImportProgressResponse getProgress();
+}
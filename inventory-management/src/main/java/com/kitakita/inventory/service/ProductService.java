@@ -5,13 +5,18 @@ import com.kitakita.inventory.dto.response.PagedResponse;
 import com.kitakita.inventory.dto.response.ProductReferenceDataResponse;
 import com.kitakita.inventory.dto.response.ProductResponse;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.OutputStream;
 
 public interface ProductService {
-    PagedResponse<ProductResponse> getProducts(String search, Integer categoryId, Pageable pageable);
+    PagedResponse<ProductResponse> getProducts(String search, Integer categoryId, Pageable pageable, boolean includeImage);
+    PagedResponse<ProductResponse> getProductsAfter(String search, Integer categoryId, String after, int size,
+                                                    Sort.Direction direction, boolean includeImage);
     ProductResponse createProduct(ProductRequest request);
     ProductResponse updateProduct(Integer productId, ProductRequest request);
     void deleteProduct(Integer productId);
-    byte[] exportInventoryPdf(String search, Integer categoryId);
+    void exportInventoryPdf(String search, Integer categoryId, OutputStream out);
     ProductReferenceDataResponse getReferenceData();
 }
 
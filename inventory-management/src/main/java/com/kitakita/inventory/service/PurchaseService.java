@@ -1,8 +1,11 @@
 package com.kitakita.inventory.service;
 
+import com.kitakita.inventory.dto.request.PurchaseImportRequest;
 import com.kitakita.inventory.dto.request.PurchaseRequest;
+import com.kitakita.inventory.dto.response.BulkWriteResponse;
 import com.kitakita.inventory.dto.response.PurchaseHistoryResponse;
 
 public interface PurchaseService {
     PurchaseHistoryResponse createPurchase(PurchaseRequest request);
+    BulkWriteResponse importPurchases(PurchaseImportRequest request);
 }
\ No newline at end of file
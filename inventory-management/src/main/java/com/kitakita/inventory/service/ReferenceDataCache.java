@@ -0,0 +1,108 @@
+package com.kitakita.inventory.service;
+
+import com.kitakita.inventory.entity.Category;
+import com.kitakita.inventory.entity.Supplier;
+import com.kitakita.inventory.repository.CategoryRepository;
+import com.kitakita.inventory.repository.SupplierRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Caches categories (shared by all users) and each user's suppliers, which product forms and
+ * every product write look up but which rarely change.
+ * <p>
+ * Entries are detached entities in the order the repository returns them: they can be used as
+ * association targets and read, but must not be modified, and their lazy collections are not
+ * loaded. Writes through the category and supplier services evict the affected entry once they
+ * commit; changes made outside the application are picked up after {@code reference-data.cache.spec}'s
+ * expiry.
+ */
+@Component
+public class ReferenceDataCache {
+
+    public static final String CATEGORIES = "categories";
+    public static final String SUPPLIERS = "suppliers";
+
+    private static final String ALL = "all";
+
+    private final CategoryRepository categoryRepository;
+    private final SupplierRepository supplierRepository;
+    private final Cache categories;
+    private final Cache suppliers;
+
+    public ReferenceDataCache(CategoryRepository categoryRepository,
+                              SupplierRepository supplierRepository,
+                              CacheManager cacheManager) {
+        this.categoryRepository = categoryRepository;
+        this.supplierRepository = supplierRepository;
+        this.categories = cacheManager.getCache(CATEGORIES);
+        this.suppliers = cacheManager.getCache(SUPPLIERS);
+    }
+
+    public Collection<Category> getCategories() {
+        return categoriesById().values();
+    }
+
+    public Optional<Category> findCategory(Integer categoryId) {
+        return Optional.ofNullable(categoriesById().get(categoryId));
+    }
+
+    public Collection<Supplier> getSuppliers(Integer userId) {
+        return suppliersById(userId).values();
+    }
+
+    /**
+     * Finds one of the user's suppliers; suppliers of other users are not found.
+     */
+    public Optional<Supplier> findSupplier(Integer userId, Integer supplierId) {
+        return Optional.ofNullable(suppliersById(userId).get(supplierId));
+    }
+
+    public void evictCategories() {
+        evict(categories, ALL);
+    }
+
+    public void evictSuppliers(Integer userId) {
+        evict(suppliers, userId);
+    }
+
+    private void evict(Cache cache, Object key) {
+        cache.evict(key);
+
+        // Evict again once committed, in case a concurrent request reloaded the old rows meanwhile
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(key);
+                }
+            });
+        }
+    }
+
+    private Map<Integer, Category> categoriesById() {
+        return categories.get(ALL, () -> {
+            Map<Integer, Category> byId = new LinkedHashMap<>();
+            categoryRepository.findAll().forEach(category -> byId.put(category.getCategoryId(), category));
+            return Collections.unmodifiableMap(byId);
+        });
+    }
+
+    private Map<Integer, Supplier> suppliersById(Integer userId) {
+        return suppliers.get(userId, () -> {
+            Map<Integer, Supplier> byId = new LinkedHashMap<>();
+            supplierRepository.findByUserIdOrderBySupplierId(userId)
+                    .forEach(supplier -> byId.put(supplier.getSupplierId(), supplier));
+            return Collections.unmodifiableMap(byId);
+        });
+    }
+}
@@ -1,7 +1,14 @@
 package com.kitakita.inventory.service;
 
 import com.kitakita.inventory.dto.response.ReportsResponse;
+import com.kitakita.inventory.dto.response.SalesSeriesPointResponse;
+import com.kitakita.inventory.service.SalesRollupService.Granularity;
+
+import java.time.LocalDate;
+import java.util.List;
 
 public interface ReportsService {
-    ReportsResponse getReportsData();
+    ReportsResponse getReportsData(LocalDate from, LocalDate to);
+    List<SalesSeriesPointResponse> getSalesSeries(Granularity granularity, LocalDate from, LocalDate to);
+    void rebuildSalesRollup();
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.kitakita.inventory.service;
+
+import com.kitakita.inventory.dto.request.CancelSaleRequest;
+import com.kitakita.inventory.dto.request.ReturnBatchRequest;
+import com.kitakita.inventory.dto.request.ReturnRequest;
+import com.kitakita.inventory.dto.response.BulkWriteResponse;
+import com.kitakita.inventory.dto.response.CancellationResponse;
+import com.kitakita.inventory.dto.response.PagedResponse;
+import com.kitakita.inventory.dto.response.ReturnResponse;
+
+public interface ReturnService {
+    ReturnResponse createReturn(ReturnRequest request);
+    BulkWriteResponse processReturns(ReturnBatchRequest request);
+    CancellationResponse cancelSale(Integer saleId, CancelSaleRequest request);
+    PagedResponse<ReturnResponse> getReturns(int page, int size);
+    PagedResponse<CancellationResponse> getCancellations(int page, int size);
+}
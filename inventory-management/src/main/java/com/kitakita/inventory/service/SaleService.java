@@ -1,6 +1,10 @@
 package com.kitakita.inventory.service;
 
+import com.kitakita.inventory.dto.request.CheckoutRequest;
+import com.kitakita.inventory.dto.request.SaleImportRequest;
 import com.kitakita.inventory.dto.request.SaleRequest;
+import com.kitakita.inventory.dto.response.BulkWriteResponse;
+import com.kitakita.inventory.dto.response.CheckoutResponse;
 import com.kitakita.inventory.dto.response.PagedResponse;
 import com.kitakita.inventory.dto.response.SaleResponse;
 import com.kitakita.inventory.dto.response.SalesSummaryResponse;
@@ -8,6 +12,9 @@ import com.kitakita.inventory.dto.response.SalesSummaryResponse;
 public interface SaleService {
     PagedResponse<SaleResponse> getSales(String search, int page, int size);
     SaleResponse createSale(SaleRequest request);
+    CheckoutResponse checkout(CheckoutRequest request);
+    BulkWriteResponse importSales(SaleImportRequest request);
+    PagedResponse<SaleResponse> getSalesAfter(String search, String after, int size);
     SaleResponse getSaleById(Integer id);
     SaleResponse updateSale(Integer id, SaleRequest request);
     void deleteSale(Integer id);
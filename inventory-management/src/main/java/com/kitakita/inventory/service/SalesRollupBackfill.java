@@ -0,0 +1,43 @@
+package com.kitakita.inventory.service;
+
+import com.kitakita.inventory.repository.SaleRepository;
+import com.kitakita.inventory.repository.SalesDailyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the daily sales rollup from the existing {@code sales} rows when the application starts
+ * with an empty rollup, e.g. on the first deployment that introduces it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalesRollupBackfill implements ApplicationRunner {
+
+    private final SalesRollupService salesRollupService;
+    private final SalesDailyRollupRepository rollupRepository;
+    private final SaleRepository saleRepository;
+
+    @Value("${reports.rollup.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            if (rollupRepository.count() == 0 && saleRepository.count() > 0) {
+                salesRollupService.rebuildAll();
+                log.info("Backfilled sales_daily_rollup from {} sales", saleRepository.count());
+            }
+        } catch (RuntimeException e) {
+            // Analytics can be rebuilt on demand; never block startup on it
+            log.warn("Could not backfill sales rollup: {}", e.getMessage());
+        }
+    }
+}
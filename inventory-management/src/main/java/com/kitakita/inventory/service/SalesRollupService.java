@@ -0,0 +1,101 @@
+package com.kitakita.inventory.service;
+
+import com.kitakita.inventory.entity.Product;
+import com.kitakita.inventory.entity.Sale;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+public interface SalesRollupService {
+
+    /**
+     * Adds ({@code sign = 1}) or removes ({@code sign = -1}) a sale's quantity, revenue and cost
+     * from the daily rollup. Updates are recorded as a removal of the old values followed by an
+     * addition of the new ones.
+     */
+    void recordSale(Sale sale, int sign);
+
+    /**
+     * Adds new sales to the rollup, with one upsert per product and day rather than per sale.
+     */
+    void recordSales(List<Sale> sales);
+
+    /**
+     * Adds returned units and refunds to the rollup, with one upsert per product and day. Refunds
+     * count on the day they are processed, so past periods never change.
+     */
+    void recordRefunds(Integer userId, List<Refund> refunds);
+
+    SeriesPoint getTotals(Integer userId);
+
+    /**
+     * Returns one point per period between {@code from} and {@code to} (inclusive), including
+     * empty periods, with each point keyed by the first day of its period.
+     */
+    List<SeriesPoint> getSeries(Integer userId, Granularity granularity, LocalDate from, LocalDate to);
+
+    void rebuild(Integer userId);
+
+    void rebuildAll();
+
+    enum Granularity {
+        DAY(ChronoUnit.DAYS, 731),
+        WEEK(ChronoUnit.WEEKS, 260),
+        MONTH(ChronoUnit.MONTHS, 120),
+        YEAR(ChronoUnit.YEARS, 50);
+
+        private final ChronoUnit unit;
+        private final int maxPeriods;
+
+        Granularity(ChronoUnit unit, int maxPeriods) {
+            this.unit = unit;
+            this.maxPeriods = maxPeriods;
+        }
+
+        /** Largest number of periods one series request may span. */
+        public int maxPeriods() {
+            return maxPeriods;
+        }
+
+        /** First day of the period containing {@code date}. */
+        public LocalDate periodStart(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+                case YEAR -> date.withDayOfYear(1);
+            };
+        }
+
+        /** Number of periods from the one containing {@code from} to the one containing {@code to}, inclusive. */
+        public long periodsBetween(LocalDate from, LocalDate to) {
+            return unit.between(periodStart(from), periodStart(to)) + 1;
+        }
+    }
+
+    record SeriesPoint(LocalDate periodStart,
+                       long saleCount,
+                       long quantity,
+                       BigDecimal revenue,
+                       BigDecimal cost,
+                       long returnedQuantity,
+                       BigDecimal refunds,
+                       BigDecimal returnedCost) {
+
+        public BigDecimal netRevenue() {
+            return revenue.subtract(refunds);
+        }
+
+        // Returned units are back in stock, so their cost no longer counts against the sales
+        public BigDecimal profit() {
+            return netRevenue().subtract(cost.subtract(returnedCost));
+        }
+    }
+
+    record Refund(Product product, LocalDate day, int quantity, BigDecimal amount, BigDecimal unitCost) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.kitakita.inventory.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opens the stock ledger for products that have no movements yet when the application starts,
+ * e.g. on the first deployment that introduces it, where the table is created empty.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockLedgerBackfill implements ApplicationRunner {
+
+    private final StockLedgerService stockLedgerService;
+
+    @Value("${stock.ledger.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            int opened = stockLedgerService.seedOpeningBalances();
+            if (opened > 0) {
+                log.info("Opened the stock ledger for {} products", opened);
+            }
+        } catch (RuntimeException e) {
+            // Drift checks skip products without history, so a missed run is harmless
+            log.warn("Could not seed stock ledger opening balances: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.kitakita.inventory.service;
+
+import com.kitakita.inventory.dto.response.StockDriftResponse;
+import com.kitakita.inventory.dto.response.StockLevelResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reads stock levels from the {@link com.kitakita.inventory.entity.StockMovement ledger} rather
+ * than from {@code products.quantity}, which is only its live projection. A level is the latest
+ * {@link com.kitakita.inventory.entity.StockSnapshot snapshot} plus the movements after it, so
+ * queries replay at most a day of movements per product.
+ */
+public interface StockLedgerService {
+
+    /**
+     * The current user's stock of a product as of {@code at}, or now when {@code at} is null.
+     */
+    StockLevelResponse getStockAt(Integer productId, LocalDateTime at);
+
+    /**
+     * The current user's products whose quantity disagrees with the ledger. Products the ledger
+     * has no history for are left out rather than reported against a level of zero.
+     */
+    List<StockDriftResponse> findDrift();
+
+    /**
+     * Resets drifted quantities to the ledger level and returns the products that were reset.
+     * A product whose stock moves while this runs is left for the next run.
+     */
+    List<StockDriftResponse> rebuildQuantities();
+
+    /**
+     * Folds every product's movements since its last snapshot into a new snapshot, for all users.
+     *
+     * @return the number of snapshots written
+     */
+    int takeSnapshots();
+
+    /**
+     * Opens the ledger with an {@code OPENING} movement of the current quantity for every product
+     * that has no history yet, for all users.
+     *
+     * @return the number of products opened
+     */
+    int seedOpeningBalances();
+}
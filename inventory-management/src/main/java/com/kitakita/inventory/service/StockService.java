@@ -0,0 +1,66 @@
+package com.kitakita.inventory.service;
+
+import com.kitakita.inventory.entity.Product;
+import com.kitakita.inventory.entity.StockMovement.MovementType;
+
+import java.util.Collection;
+
+/**
+ * The only place product stock levels change outside of editing a product. Each change is a
+ * single conditional {@code UPDATE}, so concurrent sales, purchases and adjustments on the same
+ * product neither oversell nor overwrite each other, and only the product row is locked, until
+ * the surrounding transaction commits.
+ * <p>
+ * All methods must run inside a transaction. On return {@code product} holds the row as written,
+ * the owner's inventory summary has been adjusted, and the change has been appended to the
+ * {@link com.kitakita.inventory.entity.StockMovement stock ledger}.
+ */
+public interface StockService {
+
+    /**
+     * Removes {@code quantity} units.
+     *
+     * @throws com.kitakita.inventory.exception.InsufficientStockException if fewer are in stock
+     */
+    void decrease(Product product, int quantity, MovementType type);
+
+    /**
+     * Removes sold stock from several products in one statement, e.g. for a checkout. Either every
+     * product has enough units and all are decreased, or nothing changes.
+     *
+     * @param lines one line per product; all products must be managed by the current persistence context
+     * @throws com.kitakita.inventory.exception.InsufficientStockException if any product is short
+     */
+    void decreaseAll(Collection<Line> lines);
+
+    void increase(Product product, int quantity, MovementType type);
+
+    /**
+     * Puts stock back on several products in one statement, e.g. for a batch of returns.
+     *
+     * @param lines one line per product; all products must be managed by the current persistence context
+     */
+    void increaseAll(Collection<Line> lines, MovementType type);
+
+    /**
+     * Adds purchased units to both the stock on hand and the opening stock.
+     */
+    void receive(Product product, int quantity);
+
+    /**
+     * Receives purchased units for several products in one statement.
+     *
+     * @param lines one line per product; all products must be managed by the current persistence context
+     */
+    void receiveAll(Collection<Line> lines);
+
+    /**
+     * Sets the stock to an absolute value, e.g. a stocktake correction or an imported level. The
+     * ledger records the difference from the level found under the row lock, so units sold since
+     * {@code product} was loaded are accounted for rather than lost.
+     */
+    void set(Product product, int quantity, MovementType type);
+
+    record Line(Product product, int quantity) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.kitakita.inventory.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically snapshots stock levels so ledger queries stay bounded as movements pile up.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockSnapshotJob {
+
+    private final StockLedgerService stockLedgerService;
+
+    @Scheduled(cron = "${stock.snapshot.cron:0 0 3 * * *}")
+    public void snapshotAll() {
+        int written = stockLedgerService.takeSnapshots();
+        log.info("Snapshotted stock levels of {} products", written);
+    }
+}
@@ -6,6 +6,7 @@ import com.kitakita.inventory.dto.response.SupplierResponse;
 
 public interface SupplierService {
     PagedResponse<SupplierResponse> getSuppliers(String search, int page, int size);
+    PagedResponse<SupplierResponse> getSuppliersAfter(String search, String after, int size);
     SupplierResponse createSupplier(SupplierRequest request);
     SupplierResponse updateSupplier(Integer id, SupplierRequest request);
     void deleteSupplier(Integer id);
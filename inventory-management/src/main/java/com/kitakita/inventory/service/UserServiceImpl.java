@@ -54,7 +54,7 @@ public class UserServiceImpl implements UserService {
         User savedUser = userRepository.save(user);
 
         // Generate JWT token
-        String token = tokenProvider.generateTokenFromEmail(savedUser.getEmail());
+        String token = tokenProvider.generateToken(savedUser);
 
         return AuthResponse.builder()
                 .token(token)
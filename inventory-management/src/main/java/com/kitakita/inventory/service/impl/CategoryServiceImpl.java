@@ -8,6 +8,8 @@ import com.kitakita.inventory.exception.ResourceNotFoundException;
 import com.kitakita.inventory.repository.CategoryRepository;
 import com.kitakita.inventory.security.SecurityUtils;
 import com.kitakita.inventory.service.CategoryService;
+import com.kitakita.inventory.service.DataVersionService;
+import com.kitakita.inventory.service.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -21,17 +23,19 @@ public class CategoryServiceImpl implements CategoryService {
     
     private final CategoryRepository categoryRepository;
     private final SecurityUtils securityUtils;
+    private final ReferenceDataCache referenceDataCache;
+    private final DataVersionService dataVersionService;
     
     @Override
     public List<CategoryResponse> getAllCategories() {
-        return categoryRepository.findAll().stream()
+        return referenceDataCache.getCategories().stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
     @Override
     public CategoryResponse getCategoryById(Integer categoryId) {
-        Category category = categoryRepository.findById(categoryId)
+        Category category = referenceDataCache.findCategory(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
         return mapToResponse(category);
     }
@@ -49,6 +53,8 @@ public class CategoryServiceImpl implements CategoryService {
         category.setCreatedAt(LocalDateTime.now()); // Explicitly set createdAt
         
         Category savedCategory = categoryRepository.save(category);
+        referenceDataCache.evictCategories();
+        dataVersionService.bumpShared();
         return mapToResponse(savedCategory);
     }
     
@@ -67,6 +73,8 @@ public class CategoryServiceImpl implements CategoryService {
         existing.setDescription(request.getDescription());
         
         Category updatedCategory = categoryRepository.save(existing);
+        referenceDataCache.evictCategories();
+        dataVersionService.bumpShared();
         return mapToResponse(updatedCategory);
     }
     
@@ -81,6 +89,8 @@ public class CategoryServiceImpl implements CategoryService {
         }
         
         categoryRepository.delete(category);
+        referenceDataCache.evictCategories();
+        dataVersionService.bumpShared();
     }
     
     private CategoryResponse mapToResponse(Category category) {
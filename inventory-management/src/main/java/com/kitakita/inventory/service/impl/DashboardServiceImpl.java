@@ -1,24 +1,29 @@
 package com.kitakita.inventory.service.impl;
 
 import com.kitakita.inventory.dto.response.DashboardSummaryResponse;
+import com.kitakita.inventory.entity.Category;
+import com.kitakita.inventory.entity.InventorySummary;
+import com.kitakita.inventory.entity.InventorySummaryBucket;
+import com.kitakita.inventory.entity.InventorySummaryBucket.BucketType;
 import com.kitakita.inventory.entity.Product;
 import com.kitakita.inventory.entity.User;
 import com.kitakita.inventory.repository.ProductRepository;
 import com.kitakita.inventory.service.DashboardService;
+import com.kitakita.inventory.service.DataVersionService;
+import com.kitakita.inventory.service.InventorySummaryService;
+import com.kitakita.inventory.service.ReferenceDataCache;
 import com.kitakita.inventory.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,21 +31,40 @@ import java.util.stream.Collectors;
 public class DashboardServiceImpl implements DashboardService {
 
     private final ProductRepository productRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final DataVersionService dataVersionService;
+    private final InventorySummaryService inventorySummaryService;
     private final SecurityUtils securityUtils;
 
     @Override
-    @Transactional(readOnly = true)
     public DashboardSummaryResponse getSummary() {
         User currentUser = securityUtils.getCurrentUser();
-        
-        // Get products for current user only
-        List<Product> products = productRepository.searchProducts(currentUser, null, null, PageRequest.of(0, 1000)).getContent();
+        InventorySummary summary = inventorySummaryService.getSummary(currentUser.getUserId());
+        return buildResponse(currentUser, summary);
+    }
 
-        DashboardSummaryResponse.SummaryCards cards = buildSummaryCards(products);
-        List<DashboardSummaryResponse.ChartPoint> inventoryByCategory = buildInventoryByCategory(products);
-        List<DashboardSummaryResponse.ChartPoint> stockMovement = buildStockMovement(products);
-        List<DashboardSummaryResponse.ProductSnapshot> topSelling = buildTopProducts(products);
-        List<DashboardSummaryResponse.ProductSnapshot> lowStock = buildLowStockProducts(products);
+    @Override
+    public DashboardSummaryResponse rebuildSummary() {
+        User currentUser = securityUtils.getCurrentUser();
+        InventorySummary summary = inventorySummaryService.rebuild(currentUser.getUserId());
+        dataVersionService.bump(currentUser.getUserId());
+        return buildResponse(currentUser, summary);
+    }
+
+    private DashboardSummaryResponse buildResponse(User user, InventorySummary summary) {
+        Integer userId = user.getUserId();
+
+        DashboardSummaryResponse.SummaryCards cards = buildSummaryCards(summary,
+                inventorySummaryService.countBuckets(userId, BucketType.CATEGORY),
+                inventorySummaryService.countBuckets(userId, BucketType.SUPPLIER));
+        List<DashboardSummaryResponse.ChartPoint> inventoryByCategory =
+                buildInventoryByCategory(inventorySummaryService.getBuckets(userId, BucketType.CATEGORY));
+        List<DashboardSummaryResponse.ChartPoint> stockMovement =
+                buildStockMovement(inventorySummaryService.getBuckets(userId, BucketType.MONTH));
+        List<DashboardSummaryResponse.ProductSnapshot> topSelling =
+                buildTopProducts(productRepository.findTop5ByUserOrderByQuantityDesc(user));
+        List<DashboardSummaryResponse.ProductSnapshot> lowStock =
+                buildTopProducts(productRepository.findLowStockProducts(user, PageRequest.of(0, 5)));
 
         return DashboardSummaryResponse.builder()
                 .summaryCards(cards)
@@ -51,119 +75,66 @@ public class DashboardServiceImpl implements DashboardService {
                 .build();
     }
 
-    private DashboardSummaryResponse.SummaryCards buildSummaryCards(List<Product> products) {
-        long totalProducts = products.size();
-        
-        // Count distinct categories for this user
-        long totalCategories = products.stream()
-                .map(product -> product.getCategory() != null ? product.getCategory().getCategoryId() : null)
-                .filter(id -> id != null)
-                .distinct()
-                .count();
-        
-        // Count distinct suppliers for this user
-        long totalSuppliers = products.stream()
-                .map(product -> product.getSupplier() != null ? product.getSupplier().getSupplierId() : null)
-                .filter(id -> id != null)
-                .distinct()
-                .count();
-
-        long totalQuantity = products.stream()
-                .mapToLong(p -> p.getQuantity() != null ? p.getQuantity() : 0)
-                .sum();
-
-        long onTheWay = products.stream()
-                .mapToLong(p -> p.getOnTheWay() != null ? p.getOnTheWay() : 0)
-                .sum();
-
-        long lowStockCount = products.stream()
-                .filter(p -> p.getQuantity() != null && p.getThresholdValue() != null)
-                .filter(p -> p.getQuantity() <= p.getThresholdValue())
-                .count();
-
-        BigDecimal inventoryValue = products.stream()
-                .filter(p -> p.getSellingPrice() != null && p.getQuantity() != null)
-                .map(p -> p.getSellingPrice().multiply(BigDecimal.valueOf(p.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .setScale(2, RoundingMode.HALF_UP);
+    // The builders below are package-private so inventory-benchmarks can measure them in isolation
 
+    DashboardSummaryResponse.SummaryCards buildSummaryCards(InventorySummary summary,
+                                                            long totalCategories,
+                                                            long totalSuppliers) {
         return DashboardSummaryResponse.SummaryCards.builder()
-                .totalProducts(totalProducts)
+                .totalProducts(summary.getTotalProducts())
                 .totalCategories(totalCategories)
                 .totalSuppliers(totalSuppliers)
-                .lowStockCount(lowStockCount)
-                .onTheWay(onTheWay)
-                .totalQuantity(totalQuantity)
-                .inventoryValue(inventoryValue)
+                .lowStockCount(summary.getLowStockCount())
+                .onTheWay(summary.getOnTheWay())
+                .totalQuantity(summary.getTotalQuantity())
+                .inventoryValue(summary.getInventoryValue().setScale(2, RoundingMode.HALF_UP))
                 .build();
     }
 
-    private List<DashboardSummaryResponse.ChartPoint> buildInventoryByCategory(List<Product> products) {
-        Map<String, Integer> grouped = products.stream()
-                .collect(Collectors.groupingBy(
-                        product -> product.getCategory() != null ? product.getCategory().getCategoryName() : "Uncategorized",
-                        Collectors.summingInt(p -> p.getQuantity() != null ? p.getQuantity() : 0)
-                ));
-
-        if (grouped.isEmpty()) {
+    List<DashboardSummaryResponse.ChartPoint> buildInventoryByCategory(List<InventorySummaryBucket> buckets) {
+        if (buckets.isEmpty()) {
             return List.of(
                     DashboardSummaryResponse.ChartPoint.builder().label("No Data").value(0).build()
             );
         }
 
-        return grouped.entrySet().stream()
-                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+        List<InventorySummaryBucket> top = buckets.stream()
+                .sorted(Comparator.comparingLong(InventorySummaryBucket::getQuantity).reversed())
                 .limit(6)
-                .map(entry -> DashboardSummaryResponse.ChartPoint.builder()
-                        .label(entry.getKey())
-                        .value(entry.getValue())
+                .toList();
+
+        return top.stream()
+                .map(bucket -> DashboardSummaryResponse.ChartPoint.builder()
+                        .label(referenceDataCache.findCategory(bucket.getBucketKey())
+                                .map(Category::getCategoryName)
+                                .orElse("Uncategorized"))
+                        .value(bucket.getQuantity())
                         .build())
                 .collect(Collectors.toList());
     }
 
-    private List<DashboardSummaryResponse.ChartPoint> buildStockMovement(List<Product> products) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM yyyy", Locale.ENGLISH);
-        Map<java.time.LocalDate, Integer> grouped = new java.util.TreeMap<>();
-
-        products.forEach(product -> {
-            LocalDateTime reference = product.getUpdatedAt() != null ? product.getUpdatedAt() : product.getCreatedAt();
-            if (reference == null) {
-                reference = LocalDateTime.now();
-            }
-            java.time.LocalDate monthBucket = reference.toLocalDate().withDayOfMonth(1);
-            grouped.merge(monthBucket, product.getQuantity() != null ? product.getQuantity() : 0, Integer::sum);
-        });
-
-        if (grouped.isEmpty()) {
+    List<DashboardSummaryResponse.ChartPoint> buildStockMovement(List<InventorySummaryBucket> buckets) {
+        if (buckets.isEmpty()) {
             return List.of(DashboardSummaryResponse.ChartPoint.builder()
                     .label("No Data")
                     .value(0)
                     .build());
         }
 
-        return grouped.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(entry -> DashboardSummaryResponse.ChartPoint.builder()
-                        .label(entry.getKey().format(formatter))
-                        .value(entry.getValue())
-                        .build())
-                .collect(Collectors.toList());
-    }
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM yyyy", Locale.ENGLISH);
+        Function<Integer, YearMonth> toMonth = key -> YearMonth.of(key / 100, key % 100);
 
-    private List<DashboardSummaryResponse.ProductSnapshot> buildTopProducts(List<Product> products) {
-        return products.stream()
-                .sorted(Comparator.comparing(Product::getQuantity, Comparator.nullsLast(Integer::compareTo)).reversed())
-                .limit(5)
-                .map(this::toSnapshot)
+        return buckets.stream()
+                .sorted(Comparator.comparing(InventorySummaryBucket::getBucketKey))
+                .map(bucket -> DashboardSummaryResponse.ChartPoint.builder()
+                        .label(toMonth.apply(bucket.getBucketKey()).format(formatter))
+                        .value(bucket.getQuantity())
+                        .build())
                 .collect(Collectors.toList());
     }
 
-    private List<DashboardSummaryResponse.ProductSnapshot> buildLowStockProducts(List<Product> products) {
+    List<DashboardSummaryResponse.ProductSnapshot> buildTopProducts(List<Product> products) {
         return products.stream()
-                .filter(p -> p.getThresholdValue() != null && p.getQuantity() != null
-                        && p.getQuantity() <= p.getThresholdValue())
-                .sorted(Comparator.comparing(Product::getQuantity, Comparator.nullsLast(Integer::compareTo)))
-                .limit(5)
                 .map(this::toSnapshot)
                 .collect(Collectors.toList());
     }
@@ -177,4 +148,4 @@ public class DashboardServiceImpl implements DashboardService {
                 .unit(product.getUnit())
                 .build();
     }
-}
\ No newline at end of file
+}
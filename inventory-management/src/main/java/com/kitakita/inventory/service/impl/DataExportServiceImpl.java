@@ -0,0 +1,204 @@
+package com.kitakita.inventory.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kitakita.inventory.csv.CsvWriter;
+import com.kitakita.inventory.entity.User;
+import com.kitakita.inventory.repository.InventoryAdjustmentRepository;
+import com.kitakita.inventory.repository.ProductRepository;
+import com.kitakita.inventory.repository.PurchaseRepository;
+import com.kitakita.inventory.repository.SaleRepository;
+import com.kitakita.inventory.repository.projection.AdjustmentDataRow;
+import com.kitakita.inventory.repository.projection.ProductDataRow;
+import com.kitakita.inventory.repository.projection.PurchaseDataRow;
+import com.kitakita.inventory.repository.projection.SaleDataRow;
+import com.kitakita.inventory.security.SecurityUtils;
+import com.kitakita.inventory.service.DataExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class DataExportServiceImpl implements DataExportService {
+
+    private static final List<Column<ProductDataRow>> PRODUCT_COLUMNS = List.of(
+            new Column<>("productId", ProductDataRow::getProductId),
+            new Column<>("productCode", ProductDataRow::getProductCode),
+            new Column<>("productName", ProductDataRow::getProductName),
+            new Column<>("category", ProductDataRow::getCategoryName),
+            new Column<>("supplier", ProductDataRow::getSupplierName),
+            new Column<>("unit", ProductDataRow::getUnit),
+            new Column<>("buyingPrice", ProductDataRow::getBuyingPrice),
+            new Column<>("sellingPrice", ProductDataRow::getSellingPrice),
+            new Column<>("quantity", ProductDataRow::getQuantity),
+            new Column<>("thresholdValue", ProductDataRow::getThresholdValue),
+            new Column<>("openingStock", ProductDataRow::getOpeningStock),
+            new Column<>("onTheWay", ProductDataRow::getOnTheWay),
+            new Column<>("expiryDate", ProductDataRow::getExpiryDate),
+            new Column<>("isActive", ProductDataRow::getIsActive),
+            new Column<>("createdAt", ProductDataRow::getCreatedAt),
+            new Column<>("updatedAt", ProductDataRow::getUpdatedAt));
+
+    private static final List<Column<SaleDataRow>> SALE_COLUMNS = List.of(
+            new Column<>("saleId", SaleDataRow::getSaleId),
+            new Column<>("saleCode", SaleDataRow::getSaleCode),
+            new Column<>("receiptCode", SaleDataRow::getReceiptCode),
+            new Column<>("productId", SaleDataRow::getProductId),
+            new Column<>("productCode", SaleDataRow::getProductCode),
+            new Column<>("productName", SaleDataRow::getProductName),
+            new Column<>("quantity", SaleDataRow::getQuantity),
+            new Column<>("unitPrice", SaleDataRow::getUnitPrice),
+            new Column<>("totalValue", SaleDataRow::getTotalValue),
+            new Column<>("buyingPrice", SaleDataRow::getBuyingPrice),
+            new Column<>("saleDate", SaleDataRow::getSaleDate),
+            new Column<>("updatedAt", SaleDataRow::getUpdatedAt),
+            new Column<>("notes", SaleDataRow::getNotes));
+
+    private static final List<Column<PurchaseDataRow>> PURCHASE_COLUMNS = List.of(
+            new Column<>("purchaseId", PurchaseDataRow::getPurchaseId),
+            new Column<>("productId", PurchaseDataRow::getProductId),
+            new Column<>("productCode", PurchaseDataRow::getProductCode),
+            new Column<>("productName", PurchaseDataRow::getProductName),
+            new Column<>("supplier", PurchaseDataRow::getSupplierName),
+            new Column<>("quantity", PurchaseDataRow::getQuantity),
+            new Column<>("unitCost", PurchaseDataRow::getUnitCost),
+            new Column<>("totalCost", PurchaseDataRow::getTotalCost),
+            new Column<>("status", PurchaseDataRow::getStatus),
+            new Column<>("purchaseDate", PurchaseDataRow::getPurchaseDate),
+            new Column<>("notes", PurchaseDataRow::getNotes));
+
+    private static final List<Column<AdjustmentDataRow>> ADJUSTMENT_COLUMNS = List.of(
+            new Column<>("adjustmentId", AdjustmentDataRow::getAdjustmentId),
+            new Column<>("productId", AdjustmentDataRow::getProductId),
+            new Column<>("productCode", AdjustmentDataRow::getProductCode),
+            new Column<>("productName", AdjustmentDataRow::getProductName),
+            new Column<>("adjustmentType", AdjustmentDataRow::getAdjustmentType),
+            new Column<>("quantity", AdjustmentDataRow::getQuantity),
+            new Column<>("reason", AdjustmentDataRow::getReason),
+            new Column<>("adjustmentDate", AdjustmentDataRow::getAdjustmentDate));
+
+    private final ProductRepository productRepository;
+    private final SaleRepository saleRepository;
+    private final PurchaseRepository purchaseRepository;
+    private final InventoryAdjustmentRepository adjustmentRepository;
+    private final SecurityUtils securityUtils;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public DataExportServiceImpl(ProductRepository productRepository,
+                                 SaleRepository saleRepository,
+                                 PurchaseRepository purchaseRepository,
+                                 InventoryAdjustmentRepository adjustmentRepository,
+                                 SecurityUtils securityUtils,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.saleRepository = saleRepository;
+        this.purchaseRepository = purchaseRepository;
+        this.adjustmentRepository = adjustmentRepository;
+        this.securityUtils = securityUtils;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void export(Dataset dataset, TabularFormat format, ExportFilter filter, OutputStream out) {
+        User user = securityUtils.getCurrentUser();
+        Integer userId = user.getUserId();
+
+        // Rows are projections, not entities, so the persistence context stays empty however many are read
+        long rows = readOnlyTransaction.execute(status -> switch (dataset) {
+            case PRODUCTS -> write(productRepository.streamDataRows(userId, filter.from(), filter.to(),
+                    filter.changedSince()), PRODUCT_COLUMNS, format, out);
+            case SALES -> write(saleRepository.streamDataRows(userId, filter.from(), filter.to(),
+                    filter.changedSince()), SALE_COLUMNS, format, out);
+            case PURCHASES -> write(purchaseRepository.streamDataRows(userId, filter.from(), filter.to(),
+                    filter.changedSince()), PURCHASE_COLUMNS, format, out);
+            case ADJUSTMENTS -> write(adjustmentRepository.streamDataRows(userId, filter.from(), filter.to(),
+                    filter.changedSince()), ADJUSTMENT_COLUMNS, format, out);
+        });
+        log.debug("Exported {} {} rows for user {} as {}", rows, dataset, userId, format);
+    }
+
+    private <T> long write(Stream<T> rows, List<Column<T>> columns, TabularFormat format, OutputStream out) {
+        try (rows) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            long count = format == TabularFormat.CSV
+                    ? writeCsv(rows.iterator(), columns, writer)
+                    : writeNdjson(rows.iterator(), columns, writer);
+            writer.flush();
+            return count;
+        } catch (IOException e) {
+            // Usually the client went away; the cursor is closed by try-with-resources
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> long writeCsv(Iterator<T> rows, List<Column<T>> columns, Writer writer) throws IOException {
+        CsvWriter csv = new CsvWriter(writer);
+        csv.write(columns.stream().map(Column::name).toList());
+
+        List<String> record = new ArrayList<>(columns.size());
+        long count = 0;
+        while (rows.hasNext()) {
+            T row = rows.next();
+            record.clear();
+            for (Column<T> column : columns) {
+                record.add(format(column.value().apply(row)));
+            }
+            csv.write(record);
+            count++;
+        }
+        return count;
+    }
+
+    private <T> long writeNdjson(Iterator<T> rows, List<Column<T>> columns, Writer writer) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.setRootValueSeparator(null);
+
+        long count = 0;
+        while (rows.hasNext()) {
+            T row = rows.next();
+            json.writeStartObject();
+            for (Column<T> column : columns) {
+                json.writeObjectField(column.name(), column.value().apply(row));
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+            count++;
+        }
+        json.flush();
+        return count;
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return value.toString();
+    }
+
+    private record Column<T>(String name, Function<T, Object> value) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.kitakita.inventory.service.impl;
+
+import com.kitakita.inventory.entity.DataVersion;
+import com.kitakita.inventory.repository.DataVersionRepository;
+import com.kitakita.inventory.service.DataVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class DataVersionServiceImpl implements DataVersionService {
+
+    private final DataVersionRepository dataVersionRepository;
+
+    @Override
+    @Transactional
+    public void bump(Integer userId) {
+        // Joins the caller's transaction, so the new version is only visible once the write commits
+        dataVersionRepository.increment(userId);
+    }
+
+    @Override
+    @Transactional
+    public void bumpShared() {
+        dataVersionRepository.increment(DataVersion.SHARED);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getVersion(Integer userId) {
+        return dataVersionRepository.findVersion(userId).orElse(0L);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getSharedVersion() {
+        return dataVersionRepository.findVersion(DataVersion.SHARED).orElse(0L);
+    }
+}
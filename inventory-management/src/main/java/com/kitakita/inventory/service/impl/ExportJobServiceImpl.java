@@ -0,0 +1,283 @@
+package com.kitakita.inventory.service.impl;
+
+import com.kitakita.inventory.dto.request.ExportRequest;
+import com.kitakita.inventory.dto.response.ExportJobResponse;
+import com.kitakita.inventory.entity.User;
+import com.kitakita.inventory.exception.ResourceNotFoundException;
+import com.kitakita.inventory.exception.TooManyRequestsException;
+import com.kitakita.inventory.security.SecurityUtils;
+import com.kitakita.inventory.service.DataVersionService;
+import com.kitakita.inventory.service.ExportJobService;
+import com.kitakita.inventory.service.InventoryPdfExporter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs exports in the background on a small bounded pool and spools each result to a temp file.
+ * <p>
+ * Jobs are deduplicated on user, format, filters and the user's data versions: resubmitting
+ * an export while the data is unchanged returns the running or finished job instead of starting
+ * another one. Job state lives in memory, so a job id is only valid on the instance that
+ * accepted it and finished artifacts are dropped after {@code export.jobs.retention}.
+ */
+@Slf4j
+@Service
+public class ExportJobServiceImpl implements ExportJobService {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final InventoryPdfExporter inventoryPdfExporter;
+    private final DataVersionService dataVersionService;
+    private final SecurityUtils securityUtils;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolTaskExecutor executor;
+    private final Path directory;
+    private final int maxActivePerUser;
+    private final Duration retention;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, ExportJob> jobsByKey = new ConcurrentHashMap<>();
+
+    public ExportJobServiceImpl(InventoryPdfExporter inventoryPdfExporter,
+                                DataVersionService dataVersionService,
+                                SecurityUtils securityUtils,
+                                MeterRegistry meterRegistry,
+                                @Value("${export.jobs.workers:2}") int workers,
+                                @Value("${export.jobs.queue-capacity:20}") int queueCapacity,
+                                @Value("${export.jobs.max-active-per-user:2}") int maxActivePerUser,
+                                @Value("${export.jobs.retention:PT1H}") Duration retention,
+                                @Value("${export.jobs.directory:${java.io.tmpdir}/kitakita-exports}") Path directory) {
+        this.inventoryPdfExporter = inventoryPdfExporter;
+        this.dataVersionService = dataVersionService;
+        this.securityUtils = securityUtils;
+        this.meterRegistry = meterRegistry;
+        this.maxActivePerUser = maxActivePerUser;
+        this.retention = retention;
+        this.directory = directory;
+
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create export directory " + directory, e);
+        }
+
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("export-");
+        executor.initialize();
+        // Queue depth, active workers and rejected submissions as executor.* meters
+        ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), "exportJobs");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public ExportJobResponse submit(ExportRequest request) {
+        User currentUser = securityUtils.getCurrentUser();
+        Integer userId = currentUser.getUserId();
+        String search = normalize(request.getSearch());
+
+        // Any product, supplier or category write bumps a data version, so a finished artifact with the same key is current
+        String key = String.join("|", String.valueOf(userId), request.getFormat().name(),
+                Objects.toString(search, ""), Objects.toString(request.getCategoryId(), ""),
+                String.valueOf(dataVersionService.getVersion(userId)), String.valueOf(dataVersionService.getSharedVersion()));
+
+        synchronized (this) {
+            ExportJob existing = jobsByKey.get(key);
+            if (existing != null && (existing.isActive() || existing.hasArtifact())) {
+                return toResponse(existing);
+            }
+
+            long active = jobs.values().stream()
+                    .filter(job -> job.userId.equals(userId) && job.isActive())
+                    .count();
+            if (active >= maxActivePerUser) {
+                throw new TooManyRequestsException("You already have " + active + " exports in progress");
+            }
+
+            ExportJob job = new ExportJob(UUID.randomUUID().toString(), key, userId, request.getFormat(),
+                    search, request.getCategoryId());
+            try {
+                executor.execute(() -> run(job, currentUser));
+            } catch (TaskRejectedException e) {
+                throw new TooManyRequestsException("The export queue is full, please try again shortly");
+            }
+            jobs.put(job.id, job);
+            jobsByKey.put(key, job);
+            return toResponse(job);
+        }
+    }
+
+    @Override
+    public ExportJobResponse getJob(String jobId) {
+        return toResponse(findOwnJob(jobId));
+    }
+
+    @Override
+    public ExportDownload download(String jobId) {
+        ExportJob job = findOwnJob(jobId);
+        if (!job.hasArtifact()) {
+            throw new ResourceNotFoundException("Export " + jobId + " has no file to download (status " + job.status + ")");
+        }
+        return new ExportDownload(new FileSystemResource(job.file), job.fileName, job.format.getMediaType());
+    }
+
+    @Scheduled(fixedDelayString = "${export.jobs.cleanup-interval:PT5M}")
+    public void removeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().stream()
+                .filter(job -> !job.isActive() && job.completedAt != null && job.completedAt.isBefore(cutoff))
+                .toList()
+                .forEach(this::remove);
+    }
+
+    private void run(ExportJob job, User user) {
+        job.status = ExportStatus.RUNNING;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Path file = null;
+        try {
+            job.totalRows = inventoryPdfExporter.count(user, job.search, job.categoryId);
+            file = Files.createTempFile(directory, "export-" + job.id + "-", "." + job.format.getExtension());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                inventoryPdfExporter.write(user, job.search, job.categoryId, out, job.rowsWritten::set);
+            }
+            job.file = file;
+            job.fileName = "kitakita-inventory-" + FILE_TIMESTAMP.format(job.createdAt) + "." + job.format.getExtension();
+            job.completedAt = LocalDateTime.now();
+            job.status = ExportStatus.COMPLETED;
+        } catch (Exception e) {
+            log.warn("Export job {} failed: {}", job.id, e.getMessage(), e);
+            deleteQuietly(file);
+            job.error = e.getMessage();
+            job.completedAt = LocalDateTime.now();
+            job.status = ExportStatus.FAILED;
+        }
+        sample.stop(Timer.builder("export.jobs.run")
+                .description("Background export generation time")
+                .tag("format", job.format.name())
+                .tag("outcome", job.status.name().toLowerCase())
+                .register(meterRegistry));
+    }
+
+    private ExportJob findOwnJob(String jobId) {
+        Integer userId = securityUtils.getCurrentUser().getUserId();
+        ExportJob job = jobs.get(jobId);
+        if (job == null || !job.userId.equals(userId)) {
+            throw new ResourceNotFoundException("Export job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    private void remove(ExportJob job) {
+        jobs.remove(job.id);
+        jobsByKey.remove(job.key, job);
+        deleteQuietly(job.file);
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    private ExportJobResponse toResponse(ExportJob job) {
+        long written = job.rowsWritten.get();
+        Long total = job.totalRows;
+        Integer percent = null;
+        if (job.status == ExportStatus.COMPLETED) {
+            percent = 100;
+        } else if (total != null) {
+            percent = total == 0 ? 0 : (int) Math.min(99, written * 100 / total);
+        }
+
+        return ExportJobResponse.builder()
+                .jobId(job.id)
+                .format(job.format.name())
+                .status(job.status.name())
+                .rowsWritten(written)
+                .totalRows(total)
+                .progressPercent(percent)
+                .fileName(job.fileName)
+                .downloadUrl(job.hasArtifact() ? "/api/exports/" + job.id + "/download" : null)
+                .error(job.error)
+                .createdAt(job.createdAt)
+                .completedAt(job.completedAt)
+                .build();
+    }
+
+    private static final class ExportJob {
+        private final String id;
+        private final String key;
+        private final Integer userId;
+        private final ExportFormat format;
+        private final String search;
+        private final Integer categoryId;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final AtomicLong rowsWritten = new AtomicLong();
+
+        private volatile ExportStatus status = ExportStatus.QUEUED;
+        private volatile Long totalRows;
+        private volatile Path file;
+        private volatile String fileName;
+        private volatile String error;
+        private volatile LocalDateTime completedAt;
+
+        private ExportJob(String id, String key, Integer userId, ExportFormat format, String search, Integer categoryId) {
+            this.id = id;
+            this.key = key;
+            this.userId = userId;
+            this.format = format;
+            this.search = search;
+            this.categoryId = categoryId;
+        }
+
+        boolean isActive() {
+            return status == ExportStatus.QUEUED || status == ExportStatus.RUNNING;
+        }
+
+        boolean hasArtifact() {
+            return status == ExportStatus.COMPLETED && file != null && Files.exists(file);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.kitakita.inventory.service.impl;
+
+import com.kitakita.inventory.service.ImageStorageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stores product images on the local filesystem under their SHA-256 hash.
+ * <p>
+ * Keys look like {@code <sha256>.<ext>} and files are sharded by the first two hex digits. Because
+ * a key always names the same bytes, files are written once, never modified, and can be cached
+ * by clients indefinitely. Each image gets a thumbnail no larger than
+ * {@code images.thumbnail-size} pixels on its longest side.
+ */
+@Slf4j
+@Service
+public class FileSystemImageStorageService implements ImageStorageService {
+
+    private static final String URL_PREFIX = "/api/images/";
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}\\.(png|jpg|gif|bmp)");
+    private static final Pattern URL_KEY_PATTERN = Pattern.compile(Pattern.quote(URL_PREFIX) + "(" + KEY_PATTERN.pattern() + ")$");
+    private static final Pattern DATA_URL_PATTERN = Pattern.compile("^data:image/[\\w.+-]+;base64,(.*)$", Pattern.DOTALL);
+
+    // ImageIO format name -> file extension
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "png", "png",
+            "jpeg", "jpg",
+            "gif", "gif",
+            "bmp", "bmp"
+    );
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "png", "image/png",
+            "jpg", "image/jpeg",
+            "gif", "image/gif",
+            "bmp", "image/bmp"
+    );
+
+    private final Path root;
+    private final int thumbnailSize;
+    private final long maxBytes;
+    private final long maxPixels;
+
+    public FileSystemImageStorageService(@Value("${images.directory:./data/images}") Path root,
+                                         @Value("${images.thumbnail-size:256}") int thumbnailSize,
+                                         @Value("${images.max-bytes:5242880}") long maxBytes,
+                                         @Value("${images.max-pixels:25000000}") long maxPixels) {
+        this.root = root;
+        this.thumbnailSize = thumbnailSize;
+        this.maxBytes = maxBytes;
+        this.maxPixels = maxPixels;
+
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create image directory " + root, e);
+        }
+    }
+
+    @Override
+    public String store(byte[] data) {
+        if (data == null || data.length == 0) {
+            throw new IllegalArgumentException("Image is empty");
+        }
+        if (data.length > maxBytes) {
+            throw new IllegalArgumentException("Image exceeds the maximum size of " + maxBytes + " bytes");
+        }
+
+        DecodedImage decoded = decode(data);
+        String hash = sha256(data);
+        String key = hash + "." + decoded.extension();
+
+        try {
+            Path original = pathFor(key, false);
+            if (!Files.exists(original)) {
+                writeAtomically(original, data);
+            }
+            Path thumbnail = pathFor(key, true);
+            if (!Files.exists(thumbnail)) {
+                writeAtomically(thumbnail, thumbnail(decoded.image(), thumbnailExtension(decoded.extension())));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store image " + key, e);
+        }
+        return key;
+    }
+
+    @Override
+    public String storeDataUrl(String dataUrl) {
+        Matcher matcher = DATA_URL_PATTERN.matcher(dataUrl.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Image must be a base64 data URL");
+        }
+        byte[] data;
+        try {
+            data = Base64.getMimeDecoder().decode(matcher.group(1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Image data is not valid base64", e);
+        }
+        return store(data);
+    }
+
+    @Override
+    public Optional<StoredImage> load(String key, boolean thumbnail) {
+        if (!KEY_PATTERN.matcher(key).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathFor(key, thumbnail);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+
+        String extension = thumbnail ? thumbnailExtension(extensionOf(key)) : extensionOf(key);
+        String etag = "\"" + key.substring(0, 64) + (thumbnail ? "-t" : "") + "\"";
+        return Optional.of(new StoredImage(path, CONTENT_TYPES.get(extension), etag));
+    }
+
+    @Override
+    public Optional<String> keyFromUrl(String url) {
+        if (url == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = URL_KEY_PATTERN.matcher(url.trim());
+        return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+    }
+
+    @Override
+    public String imageUrl(String key) {
+        return absolute(URL_PREFIX + key);
+    }
+
+    @Override
+    public String thumbnailUrl(String key) {
+        return absolute(URL_PREFIX + key + "/thumbnail");
+    }
+
+    private String absolute(String path) {
+        // Outside a request (e.g. background jobs) fall back to the server-relative path
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            return path;
+        }
+        return ServletUriComponentsBuilder.fromCurrentContextPath().path(path).toUriString();
+    }
+
+    private DecodedImage decode(byte[] data) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                String extension = EXTENSIONS.get(reader.getFormatName().toLowerCase());
+                if (extension == null) {
+                    throw new IllegalArgumentException("Unsupported image format: " + reader.getFormatName());
+                }
+                reader.setInput(input, true, true);
+                // Dimensions come from the header; a small file can declare a huge canvas, so check before decoding
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IllegalArgumentException("Image exceeds the maximum of " + maxPixels + " pixels");
+                }
+                return new DecodedImage(reader.read(0), extension);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Image could not be read", e);
+        }
+    }
+
+    private byte[] thumbnail(BufferedImage source, String extension) throws IOException {
+        double scale = Math.min(1.0, (double) thumbnailSize / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        // JPEG has no alpha channel
+        int type = extension.equals("jpg") ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(scaled, extension.equals("jpg") ? "jpeg" : extension, out);
+        return out.toByteArray();
+    }
+
+    private void writeAtomically(Path target, byte[] data) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "upload-", ".tmp");
+        try {
+            Files.write(temp, data);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target);
+            }
+        } catch (FileAlreadyExistsException e) {
+            // Stored concurrently with identical content
+            log.debug("Image {} already stored", target.getFileName());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path pathFor(String key, boolean thumbnail) {
+        String hash = key.substring(0, 64);
+        String extension = extensionOf(key);
+        String fileName = thumbnail ? hash + ".thumb." + thumbnailExtension(extension) : key;
+        return root.resolve(hash.substring(0, 2)).resolve(fileName);
+    }
+
+    private static String extensionOf(String key) {
+        return key.substring(key.lastIndexOf('.') + 1);
+    }
+
+    private static String thumbnailExtension(String extension) {
+        // Photos stay JPEG; everything else becomes PNG so transparency survives
+        return extension.equals("jpg") ? "jpg" : "png";
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record DecodedImage(BufferedImage image, String extension) {
+    }
+}
@@ -0,0 +1,165 @@
+package com.kitakita.inventory.service.impl;
+
+import com.kitakita.inventory.entity.InventorySummary;
+import com.kitakita.inventory.entity.InventorySummaryBucket;
+import com.kitakita.inventory.entity.InventorySummaryBucket.BucketType;
+import com.kitakita.inventory.repository.InventorySummaryBucketRepository;
+import com.kitakita.inventory.repository.InventorySummaryRepository;
+import com.kitakita.inventory.repository.ProductRepository;
+import com.kitakita.inventory.repository.projection.InventoryTotals;
+import com.kitakita.inventory.repository.projection.SummaryBucketTotal;
+import com.kitakita.inventory.service.DataVersionService;
+import com.kitakita.inventory.service.InventorySummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class InventorySummaryServiceImpl implements InventorySummaryService {
+
+    private final InventorySummaryRepository summaryRepository;
+    private final InventorySummaryBucketRepository bucketRepository;
+    private final ProductRepository productRepository;
+    private final DataVersionService dataVersionService;
+
+    @Override
+    @Transactional
+    public void recordChange(Integer userId, Contribution before, Contribution after) {
+        long products = (after != null ? 1 : 0) - (before != null ? 1 : 0);
+        long quantity = valueOf(after, Contribution::quantity) - valueOf(before, Contribution::quantity);
+        long onTheWay = valueOf(after, Contribution::onTheWay) - valueOf(before, Contribution::onTheWay);
+        long lowStock = valueOf(after, c -> c.lowStock() ? 1L : 0L) - valueOf(before, c -> c.lowStock() ? 1L : 0L);
+        BigDecimal value = (after != null ? after.value() : BigDecimal.ZERO)
+                .subtract(before != null ? before.value() : BigDecimal.ZERO);
+
+        int updated = summaryRepository.applyDelta(userId, products, quantity, onTheWay, lowStock, value);
+        if (updated == 0) {
+            // No summary yet; it is built from the products table on first read
+            return;
+        }
+
+        applyBucketDelta(userId, BucketType.CATEGORY, before, after, Contribution::categoryId);
+        applyBucketDelta(userId, BucketType.SUPPLIER, before, after, Contribution::supplierId);
+        applyBucketDelta(userId, BucketType.MONTH, before, after, Contribution::monthKey);
+    }
+
+    /**
+     * Summaries are seeded by {@link com.kitakita.inventory.service.InventorySummaryReconciler}; a user
+     * created since then gets one built here. The build only upserts, so concurrent first reads agree.
+     */
+    @Override
+    @Transactional
+    public InventorySummary getSummary(Integer userId) {
+        return summaryRepository.findById(userId).orElseGet(() -> rebuild(userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventorySummaryBucket> getBuckets(Integer userId, BucketType bucketType) {
+        return bucketRepository.findActiveBuckets(userId, bucketType);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countBuckets(Integer userId, BucketType bucketType) {
+        return bucketRepository.countActiveBuckets(userId, bucketType);
+    }
+
+    @Override
+    @Transactional
+    public InventorySummary rebuild(Integer userId) {
+        InventoryTotals totals = productRepository.getInventoryTotals(userId);
+
+        bucketRepository.resetByUserId(userId);
+        bucketRepository.rebuildCategoryBuckets(userId);
+        bucketRepository.rebuildSupplierBuckets(userId);
+        bucketRepository.rebuildMonthBuckets(userId);
+
+        summaryRepository.upsertTotals(userId, totals.getTotalProducts(), totals.getTotalQuantity(),
+                totals.getOnTheWay(), totals.getLowStockCount(),
+                totals.getInventoryValue().setScale(2, RoundingMode.HALF_UP));
+        return summaryRepository.findById(userId).orElseThrow();
+    }
+
+    @Override
+    @Transactional
+    public boolean reconcile(Integer userId) {
+        SummaryState before = stateOf(userId);
+        rebuild(userId);
+        if (before.equals(stateOf(userId))) {
+            return false;
+        }
+        dataVersionService.bump(userId);
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public int seedMissing() {
+        List<Integer> userIds = summaryRepository.findUserIdsWithoutSummary();
+        for (Integer userId : userIds) {
+            rebuild(userId);
+            // A dashboard read before the seed may have been cached against the current version
+            dataVersionService.bump(userId);
+        }
+        return userIds.size();
+    }
+
+    private SummaryState stateOf(Integer userId) {
+        InventoryTotals totals = summaryRepository.findTotals(userId).orElse(null);
+        Set<BucketState> buckets = bucketRepository.findActiveTotals(userId).stream()
+                .map(b -> new BucketState(b.getBucketType(), b.getBucketKey(), b.getProductCount(), b.getQuantity()))
+                .collect(Collectors.toSet());
+        if (totals == null) {
+            return new SummaryState(0, 0, 0, 0, null, buckets);
+        }
+        return new SummaryState(totals.getTotalProducts(), totals.getTotalQuantity(), totals.getOnTheWay(),
+                totals.getLowStockCount(), totals.getInventoryValue().setScale(2, RoundingMode.HALF_UP), buckets);
+    }
+
+    private void applyBucketDelta(Integer userId, BucketType bucketType, Contribution before, Contribution after,
+                                  Function<Contribution, Integer> keyOf) {
+        Integer beforeKey = before != null ? keyOrNone(keyOf.apply(before)) : null;
+        Integer afterKey = after != null ? keyOrNone(keyOf.apply(after)) : null;
+
+        if (Objects.equals(beforeKey, afterKey)) {
+            // Same bucket (or no product on either side): only the quantity can have moved
+            if (afterKey != null && after.quantity() != before.quantity()) {
+                bucketRepository.upsertDelta(userId, bucketType.name(), afterKey, 0, after.quantity() - before.quantity());
+            }
+            return;
+        }
+
+        if (beforeKey != null) {
+            bucketRepository.upsertDelta(userId, bucketType.name(), beforeKey, -1, -before.quantity());
+        }
+        if (afterKey != null) {
+            bucketRepository.upsertDelta(userId, bucketType.name(), afterKey, 1, after.quantity());
+        }
+    }
+
+    private Integer keyOrNone(Integer key) {
+        return key != null ? key : InventorySummaryBucket.NO_KEY;
+    }
+
+    private long valueOf(Contribution contribution, Function<Contribution, Long> field) {
+        return contribution != null ? field.apply(contribution) : 0L;
+    }
+
+    // What a client can see of a summary; a missing one has no value, so building it counts as a change
+    private record SummaryState(long products, long quantity, long onTheWay, long lowStock, BigDecimal value,
+                                Set<BucketState> buckets) {
+    }
+
+    private record BucketState(BucketType bucketType, Integer bucketKey, long productCount, long quantity) {
+    }
+}
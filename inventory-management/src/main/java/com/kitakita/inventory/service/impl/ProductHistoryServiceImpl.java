@@ -2,22 +2,28 @@ package com.kitakita.inventory.service.impl;
 
 import com.kitakita.inventory.dto.response.AdjustmentHistoryResponse;
 import com.kitakita.inventory.dto.request.InventoryAdjustmentRequest;
+import com.kitakita.inventory.dto.response.PagedResponse;
 import com.kitakita.inventory.dto.response.PurchaseHistoryResponse;
 import com.kitakita.inventory.entity.InventoryAdjustment;
 import com.kitakita.inventory.entity.Product;
 import com.kitakita.inventory.entity.Purchase;
+import com.kitakita.inventory.entity.StockMovement.MovementType;
 import com.kitakita.inventory.entity.User;
+import com.kitakita.inventory.exception.ResourceNotFoundException;
 import com.kitakita.inventory.repository.InventoryAdjustmentRepository;
 import com.kitakita.inventory.repository.ProductRepository;
 import com.kitakita.inventory.repository.PurchaseRepository;
 import com.kitakita.inventory.security.SecurityUtils;
+import com.kitakita.inventory.service.DataVersionService;
 import com.kitakita.inventory.service.ProductHistoryService;
+import com.kitakita.inventory.service.StockService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -27,9 +33,12 @@ public class ProductHistoryServiceImpl implements ProductHistoryService {
     private final InventoryAdjustmentRepository adjustmentRepository;
     private final ProductRepository productRepository;
     private final SecurityUtils securityUtils;
+    private final StockService stockService;
+    private final DataVersionService dataVersionService;
 
     @Override
-    public List<PurchaseHistoryResponse> getProductPurchases(Integer productId) {
+    @Transactional(readOnly = true)
+    public PagedResponse<PurchaseHistoryResponse> getProductPurchases(Integer productId, int page, int size) {
         User currentUser = securityUtils.getCurrentUser();
         
         // Check if user is authenticated
@@ -37,18 +46,14 @@ public class ProductHistoryServiceImpl implements ProductHistoryService {
             throw new RuntimeException("User not authenticated");
         }
 
-        // Verify the product belongs to the current user
-        productRepository.findById(productId)
-                .filter(product -> product.getUser().getUserId().equals(currentUser.getUserId()))
-                .orElseThrow(() -> new RuntimeException("Product not found or access denied"));
-        List<Purchase> purchases = purchaseRepository.findByUserAndProductId(currentUser, productId);
-        return purchases.stream()
-                .map(this::mapToPurchaseResponse)
-                .collect(Collectors.toList());
+        Slice<Purchase> purchases = purchaseRepository.findHistory(currentUser.getUserId(), productId,
+                PageRequest.of(page, size));
+        return toPage(purchases, this::mapToPurchaseResponse, currentUser, productId);
     }
 
     @Override
-    public List<AdjustmentHistoryResponse> getProductAdjustments(Integer productId) {
+    @Transactional(readOnly = true)
+    public PagedResponse<AdjustmentHistoryResponse> getProductAdjustments(Integer productId, int page, int size) {
         User currentUser = securityUtils.getCurrentUser();
         
         // Check if user is authenticated
@@ -56,14 +61,27 @@ public class ProductHistoryServiceImpl implements ProductHistoryService {
             throw new RuntimeException("User not authenticated");
         }
 
-        // Verify the product belongs to the current user
-        productRepository.findById(productId)
-                .filter(product -> product.getUser().getUserId().equals(currentUser.getUserId()))
-                .orElseThrow(() -> new RuntimeException("Product not found or access denied"));
-        List<InventoryAdjustment> adjustments = adjustmentRepository.findByUserAndProductId(currentUser, productId);
-        return adjustments.stream()
-                .map(this::mapToAdjustmentResponse)
-                .collect(Collectors.toList());
+        Slice<InventoryAdjustment> adjustments = adjustmentRepository.findHistory(currentUser.getUserId(), productId,
+                PageRequest.of(page, size));
+        return toPage(adjustments, this::mapToAdjustmentResponse, currentUser, productId);
+    }
+
+    /**
+     * History is read as a slice, so no count query runs. The history query already filters by owner;
+     * only an empty page needs a second look to tell a foreign product from one without history.
+     */
+    private <T, R> PagedResponse<R> toPage(Slice<T> slice, Function<T, R> mapper, User user, Integer productId) {
+        if (!slice.hasContent() && !productRepository.existsByProductIdAndUserUserId(productId, user.getUserId())) {
+            throw new ResourceNotFoundException("Product not found");
+        }
+
+        return PagedResponse.<R>builder()
+                .content(slice.getContent().stream().map(mapper).toList())
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .hasNext(slice.hasNext())
+                .hasPrevious(slice.hasPrevious())
+                .build();
     }
 
     @Override
@@ -99,27 +117,21 @@ public class ProductHistoryServiceImpl implements ProductHistoryService {
         InventoryAdjustment savedAdjustment = adjustmentRepository.save(adjustment);
 
         // Update product quantity based on adjustment type
-        int newQuantity;
         switch (adjustmentType) {
             case ADD:
-                newQuantity = product.getQuantity() + request.getQuantity();
+                stockService.increase(product, request.getQuantity(), MovementType.ADJUSTMENT);
                 break;
             case REMOVE:
-                newQuantity = product.getQuantity() - request.getQuantity();
-                // Prevent negative quantities
-                if (newQuantity < 0) {
-                    throw new RuntimeException("Cannot remove more items than currently in stock");
-                }
+                // Refuses to go below zero
+                stockService.decrease(product, request.getQuantity(), MovementType.ADJUSTMENT);
                 break;
             case CORRECTION:
-                newQuantity = request.getQuantity();
+                stockService.set(product, request.getQuantity(), MovementType.STOCKTAKE);
                 break;
             default:
                 throw new RuntimeException("Invalid adjustment type");
         }
-
-        product.setQuantity(newQuantity);
-        productRepository.save(product);
+        dataVersionService.bump(currentUser.getUserId());
 
         // Return the response
         return mapToAdjustmentResponse(savedAdjustment);
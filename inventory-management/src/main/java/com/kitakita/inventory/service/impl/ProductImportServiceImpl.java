@@ -0,0 +1,454 @@
+package com.kitakita.inventory.service.impl;
+
+import com.kitakita.inventory.csv.CsvReader;
+import com.kitakita.inventory.dto.response.ProductImportProgressResponse;
+import com.kitakita.inventory.dto.response.ProductImportResponse;
+import com.kitakita.inventory.entity.Category;
+import com.kitakita.inventory.entity.Product;
+import com.kitakita.inventory.entity.StockMovement.MovementType;
+import com.kitakita.inventory.entity.Supplier;
+import com.kitakita.inventory.entity.User;
+import com.kitakita.inventory.repository.ProductRepository;
+import com.kitakita.inventory.repository.StockMovementRepository;
+import com.kitakita.inventory.search.ProductSearchIndex;
+import com.kitakita.inventory.security.SecurityUtils;
+import com.kitakita.inventory.service.CodeGenerator;
+import com.kitakita.inventory.service.DataVersionService;
+import com.kitakita.inventory.service.InventorySummaryService;
+import com.kitakita.inventory.service.ProductImportService;
+import com.kitakita.inventory.service.ReferenceDataCache;
+import com.kitakita.inventory.service.StockService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams a product CSV in batches of {@code product.import.batch-size} rows, each upserted in its
+ * own transaction: existing products (by code) are updated through the entity, which flushes only
+ * the changed columns and never the quantity, and new ones are inserted with one JDBC batch. Categories and suppliers are
+ * resolved from maps loaded once up front. A changed stock level of an existing product goes
+ * through {@link StockService#set}, so it is written under the row lock and recorded in the ledger.
+ * The inventory summary and search index are rebuilt once at the end instead of per row.
+ * <p>
+ * Counters of the import in progress are published per user for {@link #getProgress()}.
+ */
+@Slf4j
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final List<String> REQUIRED_COLUMNS =
+            List.of("productname", "category", "buyingprice", "sellingprice", "unit", "quantity");
+    private static final Map<String, String> COLUMN_ALIASES = Map.of(
+            "name", "productname",
+            "code", "productcode",
+            "sku", "productcode",
+            "categoryname", "category",
+            "categoryid", "category",
+            "suppliername", "supplier",
+            "supplierid", "supplier",
+            "threshold", "thresholdvalue",
+            "active", "isactive");
+
+    private final ProductRepository productRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final StockService stockService;
+    private final ReferenceDataCache referenceDataCache;
+    private final SecurityUtils securityUtils;
+    private final InventorySummaryService inventorySummaryService;
+    private final ProductSearchIndex productSearchIndex;
+    private final DataVersionService dataVersionService;
+    private final CodeGenerator codeGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxErrors;
+    // Imports in progress by user id; entries are removed when the import finishes
+    private final Map<Integer, ImportRun> running = new ConcurrentHashMap<>();
+
+    public ProductImportServiceImpl(ProductRepository productRepository,
+                                    StockMovementRepository stockMovementRepository,
+                                    StockService stockService,
+                                    ReferenceDataCache referenceDataCache,
+                                    SecurityUtils securityUtils,
+                                    InventorySummaryService inventorySummaryService,
+                                    ProductSearchIndex productSearchIndex,
+                                    DataVersionService dataVersionService,
+                                    CodeGenerator codeGenerator,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${product.import.batch-size:500}") int batchSize,
+                                    @Value("${product.import.max-errors:1000}") int maxErrors) {
+        this.productRepository = productRepository;
+        this.stockMovementRepository = stockMovementRepository;
+        this.stockService = stockService;
+        this.referenceDataCache = referenceDataCache;
+        this.securityUtils = securityUtils;
+        this.inventorySummaryService = inventorySummaryService;
+        this.productSearchIndex = productSearchIndex;
+        this.dataVersionService = dataVersionService;
+        this.codeGenerator = codeGenerator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    @Override
+    public ProductImportResponse importCsv(InputStream csv) {
+        User user = securityUtils.getCurrentUser();
+        ImportRun run = new ImportRun();
+        running.put(user.getUserId(), run);
+
+        try (CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8)))) {
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new IllegalArgumentException("The file is empty");
+            }
+            Map<String, Integer> columns = indexColumns(header);
+            Lookups lookups = loadLookups(user);
+
+            List<ImportRow> batch = new ArrayList<>(batchSize);
+            Set<String> seenCodes = new HashSet<>();
+            List<String> record;
+            while (true) {
+                try {
+                    record = reader.next();
+                } catch (IOException e) {
+                    // Malformed CSV: keep what was imported so far and report where reading stopped
+                    run.fail(reader.getRecordLine(), e.getMessage());
+                    break;
+                }
+                if (record == null) {
+                    break;
+                }
+
+                run.totalRows++;
+                long line = reader.getRecordLine();
+                try {
+                    ImportRow row = parseRow(line, new Fields(columns, record), lookups);
+                    if (row.code() != null && !seenCodes.add(row.code().toLowerCase(Locale.ROOT))) {
+                        throw new IllegalArgumentException("Duplicate product code in file: " + row.code());
+                    }
+                    batch.add(row);
+                } catch (IllegalArgumentException e) {
+                    run.fail(line, e.getMessage());
+                }
+
+                if (batch.size() == batchSize) {
+                    writeBatch(user, batch, run);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(user, batch, run);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read the CSV file: " + e.getMessage(), e);
+        } finally {
+            running.remove(user.getUserId(), run);
+            if (run.created + run.updated > 0) {
+                inventorySummaryService.rebuild(user.getUserId());
+                productSearchIndex.invalidate(user.getUserId());
+                dataVersionService.bump(user.getUserId());
+            }
+        }
+
+        log.info("Product import for user {} finished: {} rows, {} created, {} updated, {} failed",
+                user.getUserId(), run.totalRows, run.created, run.updated, run.failed);
+        return ProductImportResponse.builder()
+                .totalRows(run.totalRows)
+                .created(run.created)
+                .updated(run.updated)
+                .failed(run.failed)
+                .errors(run.errors)
+                .errorsTruncated(run.failed > run.errors.size())
+                .build();
+    }
+
+    @Override
+    public ProductImportProgressResponse getProgress() {
+        ImportRun run = running.get(securityUtils.getCurrentUser().getUserId());
+        if (run == null) {
+            return ProductImportProgressResponse.builder().running(false).build();
+        }
+        return ProductImportProgressResponse.builder()
+                .running(true)
+                .startedAt(run.startedAt)
+                .rowsRead(run.totalRows)
+                .rowsWritten(run.created + run.updated)
+                .rowsRejected(run.failed)
+                .build();
+    }
+
+    private void writeBatch(User user, List<ImportRow> batch, ImportRun run) {
+        try {
+            BatchResult result = transactionTemplate.execute(status -> upsert(user, batch));
+            run.created += result.created();
+            run.updated += result.updated();
+            result.rejected().forEach(row -> run.fail(row.line(), "Product code is already used by another account: " + row.code()));
+        } catch (DataAccessException e) {
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Product import batch for user {} failed: {}", user.getUserId(), cause);
+            for (ImportRow row : batch) {
+                run.fail(row.line(), "Not saved, the batch failed: " + cause);
+            }
+        }
+        log.debug("Product import for user {}: {} rows read, {} written, {} rejected",
+                user.getUserId(), run.totalRows, run.created + run.updated, run.failed);
+    }
+
+    private BatchResult upsert(User user, List<ImportRow> batch) {
+        Set<String> codes = new HashSet<>();
+        for (ImportRow row : batch) {
+            if (row.code() != null) {
+                codes.add(row.code());
+            }
+        }
+        // Codes are unique across all users and compared case-insensitively by MySQL
+        Map<String, Product> existing = new HashMap<>();
+        if (!codes.isEmpty()) {
+            for (Product product : productRepository.findByProductCodeIn(codes)) {
+                existing.put(product.getProductCode().toLowerCase(Locale.ROOT), product);
+            }
+        }
+
+        List<Product> inserts = new ArrayList<>();
+        List<ImportRow> rejected = new ArrayList<>();
+        int updated = 0;
+        for (ImportRow row : batch) {
+            Product product = row.code() != null ? existing.get(row.code().toLowerCase(Locale.ROOT)) : null;
+            if (product == null) {
+                product = Product.builder()
+                        .productCode(row.code() != null ? row.code() : codeGenerator.productCode())
+                        .user(user)
+                        .quantity(row.quantity())
+                        .build();
+                apply(row, product);
+                inserts.add(product);
+            } else if (!product.getUser().getUserId().equals(user.getUserId())) {
+                rejected.add(row);
+            } else {
+                // Stock first: set() refreshes the entity, which would drop the other changes
+                int previousQuantity = product.getQuantity() != null ? product.getQuantity() : 0;
+                if (row.quantity() != previousQuantity) {
+                    stockService.set(product, row.quantity(), MovementType.EDIT);
+                }
+                // Managed entity: flushed with the other updates of the batch at commit, leaving quantity out
+                apply(row, product);
+                updated++;
+            }
+        }
+
+        productRepository.insertAll(inserts);
+        stockMovementRepository.insertOpening(user.getUserId(),
+                inserts.stream().map(Product::getProductCode).toList());
+        return new BatchResult(inserts.size(), updated, rejected);
+    }
+
+    // Everything but the stock level, which only StockService writes
+    private void apply(ImportRow row, Product product) {
+        product.setProductName(row.name());
+        product.setCategory(row.category());
+        product.setSupplier(row.supplier());
+        product.setBuyingPrice(row.buyingPrice());
+        product.setSellingPrice(row.sellingPrice());
+        product.setUnit(row.unit());
+        product.setThresholdValue(row.thresholdValue());
+        product.setOpeningStock(row.openingStock());
+        product.setOnTheWay(row.onTheWay());
+        product.setExpiryDate(row.expiryDate());
+        product.setIsActive(row.active());
+    }
+
+    private ImportRow parseRow(long line, Fields fields, Lookups lookups) {
+        String name = fields.get("productname");
+        if (name == null) {
+            throw new IllegalArgumentException("Product name is required");
+        }
+        String unit = fields.get("unit");
+        if (unit == null) {
+            throw new IllegalArgumentException("Unit is required");
+        }
+
+        Category category = lookups.category(fields.get("category"));
+        String supplierName = fields.get("supplier");
+        Supplier supplier = supplierName != null ? lookups.supplier(supplierName) : null;
+
+        int quantity = parseCount(fields.get("quantity"), "Quantity", null);
+        String expiry = fields.get("expirydate");
+        String active = fields.get("isactive");
+
+        return new ImportRow(
+                line,
+                fields.get("productcode"),
+                name,
+                category,
+                supplier,
+                parsePrice(fields.get("buyingprice"), "Buying price"),
+                parsePrice(fields.get("sellingprice"), "Selling price"),
+                unit,
+                quantity,
+                parseCount(fields.get("thresholdvalue"), "Threshold value", 0),
+                parseCount(fields.get("openingstock"), "Opening stock", quantity),
+                parseCount(fields.get("ontheway"), "On the way quantity", 0),
+                expiry != null ? parseDate(expiry) : null,
+                active == null || !List.of("false", "no", "0").contains(active.toLowerCase(Locale.ROOT)));
+    }
+
+    private Map<String, Integer> indexColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String key = header.get(i).replace("\uFEFF", "").toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+            columns.putIfAbsent(COLUMN_ALIASES.getOrDefault(key, key), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Missing required columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private Lookups loadLookups(User user) {
+        Map<String, Category> categories = new HashMap<>();
+        for (Category category : referenceDataCache.getCategories()) {
+            categories.put(category.getCategoryName().toLowerCase(Locale.ROOT), category);
+            categories.putIfAbsent(String.valueOf(category.getCategoryId()), category);
+        }
+        Map<String, Supplier> suppliers = new HashMap<>();
+        for (Supplier supplier : referenceDataCache.getSuppliers(user.getUserId())) {
+            suppliers.put(supplier.getSupplierName().toLowerCase(Locale.ROOT), supplier);
+            suppliers.putIfAbsent(String.valueOf(supplier.getSupplierId()), supplier);
+        }
+        return new Lookups(categories, suppliers);
+    }
+
+    private static BigDecimal parsePrice(String value, String label) {
+        if (value == null) {
+            throw new IllegalArgumentException(label + " is required");
+        }
+        try {
+            BigDecimal price = new BigDecimal(value);
+            if (price.signum() <= 0) {
+                throw new IllegalArgumentException(label + " must be greater than zero");
+            }
+            return price;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(label + " is not a number: " + value);
+        }
+    }
+
+    private static int parseCount(String value, String label, Integer defaultValue) {
+        if (value == null) {
+            if (defaultValue == null) {
+                throw new IllegalArgumentException(label + " is required");
+            }
+            return defaultValue;
+        }
+        try {
+            int count = Integer.parseInt(value);
+            if (count < 0) {
+                throw new IllegalArgumentException(label + " cannot be negative");
+            }
+            return count;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(label + " is not a whole number: " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Expiry date must be yyyy-MM-dd: " + value);
+        }
+    }
+
+    private record Fields(Map<String, Integer> columns, List<String> record) {
+        // Trimmed value of the column, or null when the column is absent or blank
+        String get(String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= record.size()) {
+                return null;
+            }
+            String value = record.get(index).trim();
+            return StringUtils.hasText(value) ? value : null;
+        }
+    }
+
+    private record Lookups(Map<String, Category> categories, Map<String, Supplier> suppliers) {
+        Category category(String value) {
+            if (value == null) {
+                throw new IllegalArgumentException("Category is required");
+            }
+            Category category = categories.get(value.toLowerCase(Locale.ROOT));
+            if (category == null) {
+                throw new IllegalArgumentException("Category not found: " + value);
+            }
+            return category;
+        }
+
+        Supplier supplier(String value) {
+            Supplier supplier = suppliers.get(value.toLowerCase(Locale.ROOT));
+            if (supplier == null) {
+                throw new IllegalArgumentException("Supplier not found: " + value);
+            }
+            return supplier;
+        }
+    }
+
+    private record ImportRow(long line,
+                             String code,
+                             String name,
+                             Category category,
+                             Supplier supplier,
+                             BigDecimal buyingPrice,
+                             BigDecimal sellingPrice,
+                             String unit,
+                             int quantity,
+                             int thresholdValue,
+                             int openingStock,
+                             int onTheWay,
+                             LocalDate expiryDate,
+                             boolean active) {
+    }
+
+    private record BatchResult(int created, int updated, List<ImportRow> rejected) {
+    }
+
+    // Written by the importing thread only; volatile so progress reads see current counts
+    private final class ImportRun {
+        final LocalDateTime startedAt = LocalDateTime.now();
+        volatile long totalRows;
+        volatile long created;
+        volatile long updated;
+        volatile long failed;
+        final List<ProductImportResponse.RowError> errors = new ArrayList<>();
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ProductImportResponse.RowError(line, message));
+            }
+        }
+    }
+}
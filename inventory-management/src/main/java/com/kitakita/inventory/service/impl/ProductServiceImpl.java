@@ -6,39 +6,43 @@ import com.kitakita.inventory.dto.response.ProductReferenceDataResponse;
 import com.kitakita.inventory.dto.response.ProductResponse;
 import com.kitakita.inventory.entity.Category;
 import com.kitakita.inventory.entity.Product;
+import com.kitakita.inventory.entity.StockMovement;
+import com.kitakita.inventory.entity.StockMovement.MovementType;
 import com.kitakita.inventory.entity.Supplier;
 import com.kitakita.inventory.entity.User;
 import com.kitakita.inventory.exception.ResourceNotFoundException;
-import com.kitakita.inventory.repository.CategoryRepository;
+import com.kitakita.inventory.pagination.Cursor;
 import com.kitakita.inventory.repository.ProductRepository;
-import com.kitakita.inventory.repository.SupplierRepository;
+import com.kitakita.inventory.repository.StockMovementRepository;
 import com.kitakita.inventory.repository.UserRepository;
+import com.kitakita.inventory.repository.projection.ProductImageUrl;
+import com.kitakita.inventory.repository.projection.ProductListRow;
+import com.kitakita.inventory.search.ProductSearchIndex;
+import com.kitakita.inventory.service.CodeGenerator;
+import com.kitakita.inventory.service.DataVersionService;
+import com.kitakita.inventory.service.ImageStorageService;
+import com.kitakita.inventory.service.InventoryPdfExporter;
+import com.kitakita.inventory.service.InventorySummaryService;
+import com.kitakita.inventory.service.InventorySummaryService.Contribution;
 import com.kitakita.inventory.service.ProductService;
+import com.kitakita.inventory.service.ReferenceDataCache;
+import com.kitakita.inventory.service.StockService;
 import com.kitakita.inventory.security.SecurityUtils;
-import com.lowagie.text.Document;
-import com.lowagie.text.DocumentException;
-import com.lowagie.text.Font;
-import com.lowagie.text.FontFactory;
-import com.lowagie.text.PageSize;
-import com.lowagie.text.Paragraph;
-import com.lowagie.text.pdf.PdfPCell;
-import com.lowagie.text.pdf.PdfPTable;
-import com.lowagie.text.pdf.PdfWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
-import java.io.ByteArrayOutputStream;
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.io.OutputStream;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -46,24 +50,31 @@ import java.util.stream.Collectors;
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
-    private final CategoryRepository categoryRepository;
-    private final SupplierRepository supplierRepository;
     private final UserRepository userRepository;
     private final SecurityUtils securityUtils;
+    private final ProductSearchIndex productSearchIndex;
+    private final InventorySummaryService inventorySummaryService;
+    private final InventoryPdfExporter inventoryPdfExporter;
+    private final ImageStorageService imageStorageService;
+    private final CodeGenerator codeGenerator;
+    private final ReferenceDataCache referenceDataCache;
+    private final DataVersionService dataVersionService;
+    private final StockMovementRepository stockMovementRepository;
+    private final StockService stockService;
 
     @Override
     @Transactional(readOnly = true)
-    public PagedResponse<ProductResponse> getProducts(String search, Integer categoryId, Pageable pageable) {
+    public PagedResponse<ProductResponse> getProducts(String search, Integer categoryId, Pageable pageable, boolean includeImage) {
         User currentUser = securityUtils.getCurrentUser();
-        Page<Product> productPage = productRepository.searchProducts(
-                currentUser,
-                normalize(search),
-                categoryId,
-                pageable
-        );
+        Page<ProductListRow> productPage = findProducts(currentUser, normalize(search), categoryId, pageable);
+
+        // Legacy image_url values are only read when asked for, in one query for the whole page
+        Map<Integer, String> imageUrls = includeImage ? findImageUrls(productPage.getContent()) : Map.of();
 
         return PagedResponse.<ProductResponse>builder()
-                .content(productPage.getContent().stream().map(this::mapToResponse).toList())
+                .content(productPage.getContent().stream()
+                        .map(row -> mapToResponse(row, imageUrls.get(row.getProductId())))
+                        .toList())
                 .totalElements(productPage.getTotalElements())
                 .totalPages(productPage.getTotalPages())
                 .page(productPage.getNumber())
@@ -73,16 +84,40 @@ public class ProductServiceImpl implements ProductService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<ProductResponse> getProductsAfter(String search, Integer categoryId, String after, int size,
+                                                           Sort.Direction direction, boolean includeImage) {
+        User currentUser = securityUtils.getCurrentUser();
+        Cursor cursor = Cursor.decode(after);
+        Slice<ProductListRow> slice = findProductsAfter(currentUser, normalize(search), categoryId, cursor,
+                direction, PageRequest.of(0, size));
+
+        Map<Integer, String> imageUrls = includeImage ? findImageUrls(slice.getContent()) : Map.of();
+        List<ProductListRow> rows = slice.getContent();
+        ProductListRow last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+
+        return PagedResponse.<ProductResponse>builder()
+                .content(rows.stream()
+                        .map(row -> mapToResponse(row, imageUrls.get(row.getProductId())))
+                        .toList())
+                .size(size)
+                .hasNext(slice.hasNext())
+                .hasPrevious(cursor != null)
+                .nextCursor(slice.hasNext() ? new Cursor(last.getProductName(), last.getProductId()).encode() : null)
+                .build();
+    }
+
     @Override
     @Transactional
     public ProductResponse createProduct(ProductRequest request) {
         User currentUser = securityUtils.getCurrentUser();
-        Category category = categoryRepository.findById(request.getCategoryId())
+        Category category = referenceDataCache.findCategory(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
 
         Supplier supplier = null;
         if (request.getSupplierId() != null) {
-            supplier = supplierRepository.findById(request.getSupplierId())
+            supplier = referenceDataCache.findSupplier(currentUser.getUserId(), request.getSupplierId())
                     .orElseThrow(() -> new ResourceNotFoundException("Supplier not found"));
         }
 
@@ -100,11 +135,15 @@ public class ProductServiceImpl implements ProductService {
                 .openingStock(request.getOpeningStock())
                 .onTheWay(request.getOnTheWay())
                 .expiryDate(request.getExpiryDate())
-                .imageUrl(request.getImageUrl())
                 .isActive(Optional.ofNullable(request.getIsActive()).orElse(true))
                 .build();
+        applyImage(product, request);
 
         Product saved = productRepository.save(product);
+        productSearchIndex.indexAfterCommit(saved);
+        inventorySummaryService.recordChange(currentUser.getUserId(), null, Contribution.of(saved));
+        recordOpeningStock(saved);
+        dataVersionService.bump(currentUser.getUserId());
         return mapToResponse(saved);
     }
 
@@ -120,15 +159,19 @@ public class ProductServiceImpl implements ProductService {
             throw new ResourceNotFoundException("Product not found");
         }
 
-        Category category = categoryRepository.findById(request.getCategoryId())
+        Category category = referenceDataCache.findCategory(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
 
         Supplier supplier = null;
         if (request.getSupplierId() != null) {
-            supplier = supplierRepository.findById(request.getSupplierId())
+            supplier = referenceDataCache.findSupplier(currentUser.getUserId(), request.getSupplierId())
                     .orElseThrow(() -> new ResourceNotFoundException("Supplier not found"));
         }
 
+        // Stock first, under the row lock and into the ledger: set() refreshes the entity, which would
+        // drop the other changes
+        stockService.set(existing, request.getQuantity(), MovementType.EDIT);
+        Contribution before = Contribution.of(existing);
         existing.setProductName(request.getProductName());
         if (!StringUtils.hasText(existing.getProductCode())) {
             existing.setProductCode(resolveProductCode(request.getProductCode()));
@@ -138,18 +181,28 @@ public class ProductServiceImpl implements ProductService {
         existing.setBuyingPrice(request.getBuyingPrice());
         existing.setSellingPrice(request.getSellingPrice());
         existing.setUnit(request.getUnit());
-        existing.setQuantity(request.getQuantity());
         existing.setThresholdValue(request.getThresholdValue());
         existing.setOpeningStock(request.getOpeningStock());
         existing.setOnTheWay(request.getOnTheWay());
         existing.setExpiryDate(request.getExpiryDate());
-        existing.setImageUrl(request.getImageUrl());
+        applyImage(existing, request);
         existing.setIsActive(Optional.ofNullable(request.getIsActive()).orElse(existing.getIsActive()));
 
-        Product updated = productRepository.save(existing);
+        Product updated = productRepository.saveAndFlush(existing);
+        productSearchIndex.indexAfterCommit(updated);
+        inventorySummaryService.recordChange(currentUser.getUserId(), before, Contribution.of(updated));
+        dataVersionService.bump(currentUser.getUserId());
         return mapToResponse(updated);
     }
 
+    // A new product's stock enters the ledger as its opening balance
+    private void recordOpeningStock(Product product) {
+        int quantity = Optional.ofNullable(product.getQuantity()).orElse(0);
+        if (quantity != 0) {
+            stockMovementRepository.insertAll(List.of(StockMovement.of(product, quantity, MovementType.OPENING)));
+        }
+    }
+
     @Override
     @Transactional
     public void deleteProduct(Integer productId) {
@@ -162,36 +215,32 @@ public class ProductServiceImpl implements ProductService {
             throw new ResourceNotFoundException("Product not found");
         }
         
+        Contribution before = Contribution.of(product);
         productRepository.delete(product);
+        productSearchIndex.removeAfterCommit(currentUser.getUserId(), productId);
+        inventorySummaryService.recordChange(currentUser.getUserId(), before, null);
+        dataVersionService.bump(currentUser.getUserId());
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public byte[] exportInventoryPdf(String search, Integer categoryId) {
+    public void exportInventoryPdf(String search, Integer categoryId, OutputStream out) {
+        // Not transactional: each chunk is read in its own short query while the PDF streams out
         User currentUser = securityUtils.getCurrentUser();
-        Page<Product> productPage = productRepository.searchProducts(
-                currentUser,
-                normalize(search),
-                categoryId,
-                Pageable.unpaged()
-        );
-
-        List<Product> products = productPage.getContent();
-        return buildPdf(products);
+        inventoryPdfExporter.write(currentUser, normalize(search), categoryId, out);
     }
 
     @Override
     @Transactional(readOnly = true)
     public ProductReferenceDataResponse getReferenceData() {
         User currentUser = securityUtils.getCurrentUser();
-        var categories = categoryRepository.findAll().stream()
+        var categories = referenceDataCache.getCategories().stream()
                 .map(category -> ProductReferenceDataResponse.Option.builder()
                         .id(category.getCategoryId())
                         .label(category.getCategoryName())
                         .build())
                 .toList();
 
-        var suppliers = supplierRepository.findByUser(currentUser).stream()
+        var suppliers = referenceDataCache.getSuppliers(currentUser.getUserId()).stream()
                 .map(supplier -> ProductReferenceDataResponse.Option.builder()
                         .id(supplier.getSupplierId())
                         .label(supplier.getSupplierName())
@@ -204,6 +253,56 @@ public class ProductServiceImpl implements ProductService {
                 .build();
     }
 
+    private Page<ProductListRow> findProducts(User user, String search, Integer categoryId, Pageable pageable) {
+        if (search == null) {
+            return productRepository.searchProductRows(user, null, categoryId, pageable);
+        }
+
+        // Resolve the term through the in-memory index; very broad terms fall back to the LIKE scan
+        Optional<List<Integer>> matchingIds = productSearchIndex.findMatchingIds(user.getUserId(), search);
+        if (matchingIds.isEmpty()) {
+            return productRepository.searchProductRows(user, search, categoryId, pageable);
+        }
+        if (matchingIds.get().isEmpty()) {
+            return Page.empty(pageable);
+        }
+        return productRepository.searchProductRowsByIds(user, matchingIds.get(), categoryId, pageable);
+    }
+
+    private Slice<ProductListRow> findProductsAfter(User user, String search, Integer categoryId, Cursor cursor,
+                                                    Sort.Direction direction, Pageable limit) {
+        String afterName = cursor != null ? cursor.sortKey() : null;
+        Integer afterId = cursor != null ? cursor.id() : null;
+        boolean ascending = direction.isAscending();
+
+        Optional<List<Integer>> matchingIds = search == null
+                ? Optional.empty()
+                : productSearchIndex.findMatchingIds(user.getUserId(), search);
+        if (matchingIds.isEmpty()) {
+            return ascending
+                    ? productRepository.findProductRowsByNameAsc(user, search, categoryId, afterName, afterId, limit)
+                    : productRepository.findProductRowsByNameDesc(user, search, categoryId, afterName, afterId, limit);
+        }
+        if (matchingIds.get().isEmpty()) {
+            return new SliceImpl<>(List.of(), limit, false);
+        }
+        return ascending
+                ? productRepository.findProductRowsByIdsByNameAsc(user, matchingIds.get(), categoryId, afterName, afterId, limit)
+                : productRepository.findProductRowsByIdsByNameDesc(user, matchingIds.get(), categoryId, afterName, afterId, limit);
+    }
+
+    private Map<Integer, String> findImageUrls(List<ProductListRow> rows) {
+        List<Integer> productIds = rows.stream()
+                .filter(row -> row.getImageKey() == null)
+                .map(ProductListRow::getProductId)
+                .toList();
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return productRepository.findImageUrls(productIds).stream()
+                .collect(Collectors.toMap(ProductImageUrl::getProductId, ProductImageUrl::getImageUrl));
+    }
+
     private String normalize(String value) {
         if (value == null || value.isBlank()) {
             return null;
@@ -211,7 +310,34 @@ public class ProductServiceImpl implements ProductService {
         return value.trim();
     }
 
-    private ProductResponse mapToResponse(Product product) {
+    // Package-private so inventory-benchmarks can measure the mapping in isolation
+    ProductResponse mapToResponse(ProductListRow row, String imageUrl) {
+        return ProductResponse.builder()
+                .productId(row.getProductId())
+                .productName(row.getProductName())
+                .productCode(row.getProductCode())
+                .categoryId(row.getCategoryId())
+                .categoryName(row.getCategoryName())
+                .supplierId(row.getSupplierId())
+                .supplierName(row.getSupplierName())
+                .supplierContact(row.getSupplierContact())
+                .buyingPrice(row.getBuyingPrice())
+                .sellingPrice(row.getSellingPrice())
+                .unit(row.getUnit())
+                .quantity(row.getQuantity())
+                .thresholdValue(row.getThresholdValue())
+                .openingStock(row.getOpeningStock())
+                .onTheWay(row.getOnTheWay())
+                .expiryDate(row.getExpiryDate())
+                .imageUrl(row.getImageKey() != null ? imageStorageService.imageUrl(row.getImageKey()) : imageUrl)
+                .thumbnailUrl(row.getImageKey() != null ? imageStorageService.thumbnailUrl(row.getImageKey()) : null)
+                .isActive(row.getIsActive())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+
+    ProductResponse mapToResponse(Product product) {
         Supplier supplier = product.getSupplier();
         Category category = product.getCategory();
 
@@ -232,88 +358,51 @@ public class ProductServiceImpl implements ProductService {
                 .openingStock(product.getOpeningStock())
                 .onTheWay(product.getOnTheWay())
                 .expiryDate(product.getExpiryDate())
-                .imageUrl(product.getImageUrl())
+                .imageUrl(product.getImageKey() != null
+                        ? imageStorageService.imageUrl(product.getImageKey())
+                        : product.getImageUrl())
+                .thumbnailUrl(product.getImageKey() != null
+                        ? imageStorageService.thumbnailUrl(product.getImageKey())
+                        : null)
                 .isActive(product.getIsActive())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
                 .build();
     }
 
-    private byte[] buildPdf(List<Product> products) {
-        Document document = new Document(PageSize.A4.rotate());
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-        try {
-            PdfWriter.getInstance(document, baos);
-            document.open();
-
-            Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16);
-            document.add(new Paragraph("KitaKita Inventory Report", titleFont));
-            document.add(new Paragraph("Generated on: " + DateTimeFormatter.ISO_DATE.format(LocalDate.now())));
-            document.add(new Paragraph("Total products: " + products.size()));
-            document.add(new Paragraph(" "));
-            
-            PdfPTable table = new PdfPTable(7);
-            table.setWidthPercentage(100);
-            table.setWidths(new float[]{3f, 2f, 2f, 2f, 2f, 2f, 2f});
-            
-            addHeader(table, "Product");
-            addHeader(table, "Code");
-            addHeader(table, "Category");
-            addHeader(table, "Quantity");
-            addHeader(table, "Unit");
-            addHeader(table, "Buying Price");
-            addHeader(table, "Selling Price");
-            
-            products.forEach(product -> {
-                table.addCell(nullable(product.getProductName()));
-                table.addCell(nullable(product.getProductCode()));
-                table.addCell(product.getCategory() != null ? product.getCategory().getCategoryName() : "-");
-                table.addCell(nullable(product.getQuantity()));
-                table.addCell(nullable(product.getUnit()));
-                table.addCell(toCurrency(product.getBuyingPrice()));
-                table.addCell(toCurrency(product.getSellingPrice()));
-            });
-            
-            document.add(table);
-        } catch (DocumentException e) {
-            throw new IllegalStateException("Failed to generate PDF", e);
-        } finally {
-            document.close();
+    /**
+     * Keeps image bytes out of the products table: data URLs are moved to the image store and
+     * links to our own images are reduced to their key. Only external links stay in imageUrl.
+     */
+    private void applyImage(Product product, ProductRequest request) {
+        String key = StringUtils.hasText(request.getImageKey()) ? request.getImageKey().trim() : null;
+        String url = StringUtils.hasText(request.getImageUrl()) ? request.getImageUrl().trim() : null;
+
+        if (key == null && url != null) {
+            if (url.startsWith("data:")) {
+                key = imageStorageService.storeDataUrl(url);
+            } else {
+                key = imageStorageService.keyFromUrl(url).orElse(null);
+            }
         }
-        
-        return baos.toByteArray();
-    }
-    
-    private void addHeader(PdfPTable table, String text) {
-        Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12);
-        PdfPCell headerCell = new PdfPCell(new Paragraph(text, headerFont));
-        table.addCell(headerCell);
-    }
-    
-    private String nullable(Object value) {
-        return Objects.toString(value, "-");
-    }
-    
-    private String toCurrency(BigDecimal value) {
-        if (value == null) {
-            return "-";
+
+        if (key != null) {
+            if (imageStorageService.load(key, false).isEmpty()) {
+                throw new ResourceNotFoundException("Image not found: " + key);
+            }
+            product.setImageKey(key);
+            product.setImageUrl(null);
+        } else {
+            product.setImageKey(null);
+            product.setImageUrl(url);
         }
-        return "₱" + value;
     }
 
     private String resolveProductCode(String requestedCode) {
-        String candidate = StringUtils.hasText(requestedCode)
-                ? requestedCode.trim()
-                : generateProductCode();
-
-        while (productRepository.existsByProductCode(candidate)) {
-            candidate = generateProductCode();
+        // Generated codes are unique by construction; only a code the user chose needs checking
+        if (StringUtils.hasText(requestedCode) && !productRepository.existsByProductCode(requestedCode.trim())) {
+            return requestedCode.trim();
         }
-        return candidate;
-    }
-
-    private String generateProductCode() {
-        return "SKU-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return codeGenerator.productCode();
     }
 }
\ No newline at end of file
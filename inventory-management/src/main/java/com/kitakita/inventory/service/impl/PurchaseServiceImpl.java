@@ -1,22 +1,36 @@
 package com.kitakita.inventory.service.impl;
 
+import com.kitakita.inventory.dto.request.PurchaseImportRequest;
 import com.kitakita.inventory.dto.request.PurchaseRequest;
+import com.kitakita.inventory.dto.response.BulkWriteResponse;
 import com.kitakita.inventory.dto.response.PurchaseHistoryResponse;
 import com.kitakita.inventory.entity.Product;
 import com.kitakita.inventory.entity.Purchase;
 import com.kitakita.inventory.entity.Supplier;
 import com.kitakita.inventory.entity.User;
+import com.kitakita.inventory.exception.ResourceNotFoundException;
 import com.kitakita.inventory.repository.ProductRepository;
 import com.kitakita.inventory.repository.PurchaseRepository;
 import com.kitakita.inventory.repository.SupplierRepository;
 import com.kitakita.inventory.security.SecurityUtils;
+import com.kitakita.inventory.service.DataVersionService;
 import com.kitakita.inventory.service.PurchaseService;
+import com.kitakita.inventory.service.StockService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class PurchaseServiceImpl implements PurchaseService {
@@ -33,6 +47,15 @@ public class PurchaseServiceImpl implements PurchaseService {
     @Autowired
     private SecurityUtils securityUtils;
     
+    @Autowired
+    private StockService stockService;
+    
+    @Autowired
+    private DataVersionService dataVersionService;
+    
+    @Value("${bulk.import.max-rows:10000}")
+    private int maxImportRows;
+    
     @Override
     @Transactional
     public PurchaseHistoryResponse createPurchase(PurchaseRequest request) {
@@ -79,16 +102,10 @@ public class PurchaseServiceImpl implements PurchaseService {
         // 1. The remaining stock (quantity)
         // 2. The opening stock (as this represents total inventory ever purchased)
         // 3. On the way stock is not affected by completed purchases
-        
-        int newQuantity = product.getQuantity() + request.getQuantity();
-        int newOpeningStock = product.getOpeningStock() + request.getQuantity();
-        
-        product.setQuantity(newQuantity);
-        product.setOpeningStock(newOpeningStock);
+        stockService.receive(product, request.getQuantity());
+        dataVersionService.bump(currentUser.getUserId());
         // Note: onTheWay is not updated as this represents pending shipments, not completed purchases
         
-        productRepository.save(product);
-        
         // Map to response
         return PurchaseHistoryResponse.builder()
                 .purchaseId(savedPurchase.getPurchaseId())
@@ -103,4 +120,74 @@ public class PurchaseServiceImpl implements PurchaseService {
                 .status(savedPurchase.getStatus().name())
                 .build();
     }
-}
\ No newline at end of file
+    
+    @Override
+    @Transactional
+    public BulkWriteResponse importPurchases(PurchaseImportRequest request) {
+        User currentUser = securityUtils.getCurrentUser();
+        List<PurchaseRequest> rows = request.getPurchases();
+        if (rows.size() > maxImportRows) {
+            throw new IllegalArgumentException("An import can have at most " + maxImportRows + " rows");
+        }
+        
+        // Products and suppliers are resolved with one query each instead of one per row
+        Set<Integer> productIds = new HashSet<>();
+        Set<Integer> supplierIds = new HashSet<>();
+        for (PurchaseRequest row : rows) {
+            if (row.getProductId() == null) {
+                throw new IllegalArgumentException("Product is required");
+            }
+            productIds.add(row.getProductId());
+            if (row.getSupplierId() != null) {
+                supplierIds.add(row.getSupplierId());
+            }
+        }
+        Map<Integer, Product> products = productRepository.findByUserIdAndProductIdIn(currentUser.getUserId(), productIds)
+                .stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        Map<Integer, Supplier> suppliers = supplierIds.isEmpty() ? Map.of()
+                : supplierRepository.findByUserIdAndSupplierIdIn(currentUser.getUserId(), supplierIds).stream()
+                        .collect(Collectors.toMap(Supplier::getSupplierId, Function.identity()));
+        
+        LocalDateTime purchaseDate = LocalDateTime.now();
+        List<Purchase> purchases = new ArrayList<>(rows.size());
+        Map<Integer, Integer> received = new LinkedHashMap<>();
+        for (PurchaseRequest row : rows) {
+            Product product = products.get(row.getProductId());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product not found: " + row.getProductId());
+            }
+            Supplier supplier = null;
+            if (row.getSupplierId() != null) {
+                supplier = suppliers.get(row.getSupplierId());
+                if (supplier == null) {
+                    throw new ResourceNotFoundException("Supplier not found: " + row.getSupplierId());
+                }
+            }
+            
+            purchases.add(Purchase.builder()
+                    .product(product)
+                    .supplier(supplier)
+                    .quantity(row.getQuantity())
+                    .unitCost(row.getUnitCost())
+                    .totalCost(row.getUnitCost().multiply(BigDecimal.valueOf(row.getQuantity())))
+                    .notes(row.getNotes())
+                    .status(Purchase.PurchaseStatus.COMPLETED)
+                    .purchaseDate(purchaseDate)
+                    .build());
+            received.merge(product.getProductId(), row.getQuantity(), Integer::sum);
+        }
+        
+        purchaseRepository.insertAll(purchases);
+        stockService.receiveAll(received.entrySet().stream()
+                .map(entry -> new StockService.Line(products.get(entry.getKey()), entry.getValue()))
+                .toList());
+        dataVersionService.bump(currentUser.getUserId());
+        
+        return BulkWriteResponse.builder()
+                .created(purchases.size())
+                .totalQuantity(purchases.stream().mapToInt(Purchase::getQuantity).sum())
+                .totalValue(purchases.stream().map(Purchase::getTotalCost).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .build();
+    }
+}
@@ -1,27 +1,28 @@
 package com.kitakita.inventory.service.impl;
 
 import com.kitakita.inventory.dto.response.ReportsResponse;
-import com.kitakita.inventory.entity.Category;
-import com.kitakita.inventory.entity.Product;
-import com.kitakita.inventory.entity.Sale;
+import com.kitakita.inventory.dto.response.SalesSeriesPointResponse;
 import com.kitakita.inventory.entity.User;
 import com.kitakita.inventory.repository.CategoryRepository;
 import com.kitakita.inventory.repository.ProductRepository;
 import com.kitakita.inventory.repository.SaleRepository;
 import com.kitakita.inventory.security.SecurityUtils;
+import com.kitakita.inventory.service.DataVersionService;
 import com.kitakita.inventory.service.ReportsService;
+import com.kitakita.inventory.service.SalesRollupService;
+import com.kitakita.inventory.service.SalesRollupService.Granularity;
+import com.kitakita.inventory.service.SalesRollupService.SeriesPoint;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,17 +32,26 @@ public class ReportsServiceImpl implements ReportsService {
     private final SaleRepository saleRepository;
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final SalesRollupService salesRollupService;
     private final SecurityUtils securityUtils;
+    private final DataVersionService dataVersionService;
     
     @Override
-    public ReportsResponse getReportsData() {
+    @Transactional(readOnly = true)
+    public ReportsResponse getReportsData(LocalDate from, LocalDate to) {
         User currentUser = securityUtils.getCurrentUser();
         
+        // Best sellers cover the requested range (all time by default), the chart its months (last 12 by default)
+        LocalDateTime rangeStart = from != null ? from.atStartOfDay() : null;
+        LocalDateTime rangeEnd = to != null ? to.plusDays(1).atStartOfDay() : null;
+        YearMonth lastMonth = YearMonth.from(to != null ? to : LocalDate.now());
+        YearMonth firstMonth = from != null ? YearMonth.from(from) : lastMonth.minusMonths(11);
+        
         // Build the response with dynamic data
         ReportsResponse.SalesOverview salesOverview = buildSalesOverview(currentUser);
-        List<ReportsResponse.CategoryPerformance> categories = buildBestSellingCategories(currentUser);
-        List<ReportsResponse.ProductPerformance> products = buildBestSellingProducts(currentUser);
-        List<ReportsResponse.ProfitRevenueData> profitRevenue = buildProfitRevenueData(currentUser);
+        List<ReportsResponse.CategoryPerformance> categories = buildBestSellingCategories(currentUser, rangeStart, rangeEnd);
+        List<ReportsResponse.ProductPerformance> products = buildBestSellingProducts(currentUser, rangeStart, rangeEnd);
+        List<ReportsResponse.ProfitRevenueData> profitRevenue = buildProfitRevenueData(currentUser, firstMonth, lastMonth);
         
         return ReportsResponse.builder()
                 .salesOverview(salesOverview)
@@ -52,34 +62,24 @@ public class ReportsServiceImpl implements ReportsService {
     }
     
     private ReportsResponse.SalesOverview buildSalesOverview(User user) {
-        // Get real data from the database
-        BigDecimal totalSalesValue = saleRepository.getTotalSalesValue(user);
-        Long totalSalesCount = saleRepository.getTotalSalesCount(user);
-        Long totalProductsSold = saleRepository.getTotalProductsSold(user);
-        
-        // Also get product data
-        Long totalProducts = productRepository.count();
-        Long lowStockCount = productRepository.getLowStockCount(user);
+        // Sales totals come from the daily rollup rather than the sales table
+        SeriesPoint totals = salesRollupService.getTotals(user.getUserId());
         BigDecimal inventoryValue = productRepository.getInventoryValue(user);
-        Long totalQuantity = productRepository.getTotalQuantity(user);
-        
-        // Handle null values
-        if (totalSalesValue == null) totalSalesValue = BigDecimal.ZERO;
-        if (totalSalesCount == null) totalSalesCount = 0L;
-        if (totalProductsSold == null) totalProductsSold = 0L;
-        if (totalProducts == null) totalProducts = 0L;
-        if (lowStockCount == null) lowStockCount = 0L;
         if (inventoryValue == null) inventoryValue = BigDecimal.ZERO;
-        if (totalQuantity == null) totalQuantity = 0L;
         
-        // Calculate derived values based on real data
-        BigDecimal totalProfit = totalSalesValue.subtract(inventoryValue.multiply(BigDecimal.valueOf(0.7))); // Simplified profit calculation
-        BigDecimal revenue = totalSalesValue;
-        BigDecimal sales = totalSalesValue;
+        // Current month and current year, each a single rollup period
+        LocalDate today = LocalDate.now();
+        SeriesPoint thisMonth = salesRollupService.getSeries(user.getUserId(), Granularity.MONTH, today, today).get(0);
+        SeriesPoint thisYear = salesRollupService.getSeries(user.getUserId(), Granularity.YEAR, today, today).get(0);
+        
+        // Profit and revenue are net of returns and cancellations; sales is the gross amount rung up
+        BigDecimal totalProfit = totals.profit();
+        BigDecimal revenue = totals.netRevenue();
+        BigDecimal sales = totals.revenue();
         BigDecimal netPurchaseValue = inventoryValue; // Simplified
-        BigDecimal netSalesValue = totalSalesValue;
-        BigDecimal momProfit = totalProfit.multiply(BigDecimal.valueOf(1.05)); // 5% increase assumption
-        BigDecimal yoyProfit = totalProfit.multiply(BigDecimal.valueOf(1.2)); // 20% increase assumption
+        BigDecimal netSalesValue = totals.netRevenue();
+        BigDecimal momProfit = thisMonth.profit();
+        BigDecimal yoyProfit = thisYear.profit();
         
         return ReportsResponse.SalesOverview.builder()
                 .totalProfit(totalProfit)
@@ -87,126 +87,83 @@ public class ReportsServiceImpl implements ReportsService {
                 .sales(sales)
                 .netPurchaseValue(netPurchaseValue)
                 .netSalesValue(netSalesValue)
+                .refunds(totals.refunds())
                 .momProfit(momProfit)
                 .yoyProfit(yoyProfit)
                 .build();
     }
     
-    private List<ReportsResponse.CategoryPerformance> buildBestSellingCategories(User user) {
-        List<ReportsResponse.CategoryPerformance> categories = new ArrayList<>();
-        
-        // Get real sales data grouped by category
-        Pageable pageable = PageRequest.of(0, 1000); // Get all sales
-        List<Sale> allSales = saleRepository.findByUser(user, pageable).getContent();
-        
-        // Group sales by category and calculate turnover
-        Map<Category, BigDecimal> categoryTurnover = allSales.stream()
-                .collect(Collectors.groupingBy(
-                        sale -> sale.getProduct().getCategory(),
-                        Collectors.reducing(
-                                BigDecimal.ZERO,
-                                Sale::getTotalValue,
-                                BigDecimal::add
-                        )
-                ));
-        
-        // Sort by turnover and take top 3
-        categoryTurnover.entrySet().stream()
-                .sorted(Map.Entry.<Category, BigDecimal>comparingByValue().reversed())
-                .limit(3)
-                .forEach(entry -> {
-                    Category category = entry.getKey();
-                    BigDecimal turnover = entry.getValue();
-                    if (category != null && turnover != null) {
-                        categories.add(ReportsResponse.CategoryPerformance.builder()
-                                .category(category.getCategoryName())
-                                .turnOver(turnover)
-                                .increaseBy(5.0 + Math.random() * 10) // Random increase for demo purposes
-                                .build());
-                    }
-                });
-        
-        return categories;
+    private List<ReportsResponse.CategoryPerformance> buildBestSellingCategories(User user, LocalDateTime from, LocalDateTime to) {
+        // Sum turnover per category in the database and keep the top 3
+        return saleRepository.getSalesByCategory(user, from, to, PageRequest.of(0, 3)).stream()
+                .filter(total -> total.getTurnover() != null)
+                .map(total -> ReportsResponse.CategoryPerformance.builder()
+                        .category(total.getCategoryName())
+                        .turnOver(total.getTurnover())
+                        .increaseBy(5.0 + Math.random() * 10) // Random increase for demo purposes
+                        .build())
+                .collect(Collectors.toList());
     }
     
-    private List<ReportsResponse.ProductPerformance> buildBestSellingProducts(User user) {
-        List<ReportsResponse.ProductPerformance> products = new ArrayList<>();
-        
-        // Get real sales data
-        Pageable pageable = PageRequest.of(0, 1000); // Get all sales
-        List<Sale> allSales = saleRepository.findByUser(user, pageable).getContent();
-        
-        // Group sales by product and calculate turnover
-        Map<Product, BigDecimal> productTurnover = allSales.stream()
-                .collect(Collectors.groupingBy(
-                        Sale::getProduct,
-                        Collectors.reducing(
-                                BigDecimal.ZERO,
-                                Sale::getTotalValue,
-                                BigDecimal::add
-                        )
-                ));
-        
-        // Sort by turnover and take top 6
-        productTurnover.entrySet().stream()
-                .sorted(Map.Entry.<Product, BigDecimal>comparingByValue().reversed())
-                .limit(6)
-                .forEach(entry -> {
-                    Product product = entry.getKey();
-                    BigDecimal turnover = entry.getValue();
-                    if (product != null && turnover != null) {
-                        products.add(ReportsResponse.ProductPerformance.builder()
-                                .product(product.getProductName())
-                                .productId(product.getProductId())
-                                .category(product.getCategory() != null ? product.getCategory().getCategoryName() : "Unknown")
-                                .remainingQuantity(product.getQuantity() + " " + product.getUnit())
-                                .turnOver(turnover)
-                                .increaseBy(3.0 + Math.random() * 8) // Random increase for demo purposes
-                                .build());
-                    }
-                });
-        
-        return products;
+    private List<ReportsResponse.ProductPerformance> buildBestSellingProducts(User user, LocalDateTime from, LocalDateTime to) {
+        // Sum turnover per product in the database and keep the top 6
+        return saleRepository.getSalesByProduct(user, from, to, PageRequest.of(0, 6)).stream()
+                .filter(total -> total.getTurnover() != null)
+                .map(total -> ReportsResponse.ProductPerformance.builder()
+                        .product(total.getProductName())
+                        .productId(total.getProductId())
+                        .category(total.getCategoryName() != null ? total.getCategoryName() : "Unknown")
+                        .remainingQuantity(total.getRemainingQuantity() + " " + total.getUnit())
+                        .turnOver(total.getTurnover())
+                        .increaseBy(3.0 + Math.random() * 8) // Random increase for demo purposes
+                        .build())
+                .collect(Collectors.toList());
     }
     
-    private List<ReportsResponse.ProfitRevenueData> buildProfitRevenueData(User user) {
-        List<ReportsResponse.ProfitRevenueData> data = new ArrayList<>();
-        
-        // Get real sales data grouped by month
-        Pageable pageable = PageRequest.of(0, 1000); // Get all sales
-        List<Sale> allSales = saleRepository.findByUser(user, pageable).getContent();
-        
-        // Group sales by month and calculate revenue/profit
-        Map<LocalDate, List<Sale>> salesByMonth = allSales.stream()
-                .collect(Collectors.groupingBy(
-                        sale -> sale.getSaleDate().withDayOfMonth(1).toLocalDate() // Group by first day of month
-                ));
-        
-        // Generate data for the last 12 months
-        LocalDate currentDate = LocalDate.now();
-        
-        for (int i = 11; i >= 0; i--) {
-            LocalDate date = currentDate.minusMonths(i);
-            String month = date.format(DateTimeFormatter.ofPattern("MMM"));
-            
-            // Get sales for this month
-            List<Sale> monthlySales = salesByMonth.getOrDefault(date.withDayOfMonth(1), new ArrayList<>());
-            
-            // Calculate revenue and profit for this month
-            BigDecimal revenue = monthlySales.stream()
-                    .map(Sale::getTotalValue)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            // Simplified profit calculation
-            BigDecimal profit = revenue.multiply(BigDecimal.valueOf(0.3)); // Assume 30% margin
-            
-            data.add(ReportsResponse.ProfitRevenueData.builder()
-                    .month(month)
-                    .revenue(revenue)
-                    .profit(profit)
-                    .build());
+    private List<ReportsResponse.ProfitRevenueData> buildProfitRevenueData(User user, YearMonth firstMonth, YearMonth lastMonth) {
+        // One rollup point per month, empty months included
+        return salesRollupService.getSeries(
+                        user.getUserId(), Granularity.MONTH, firstMonth.atDay(1), lastMonth.atEndOfMonth()).stream()
+                .map(point -> ReportsResponse.ProfitRevenueData.builder()
+                        .month(point.periodStart().format(DateTimeFormatter.ofPattern("MMM")))
+                        .revenue(point.netRevenue())
+                        .profit(point.profit())
+                        .build())
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<SalesSeriesPointResponse> getSalesSeries(Granularity granularity, LocalDate from, LocalDate to) {
+        User currentUser = securityUtils.getCurrentUser();
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusMonths(11).withDayOfMonth(1);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (granularity.periodsBetween(start, end) > granularity.maxPeriods()) {
+            throw new IllegalArgumentException("A " + granularity.name().toLowerCase()
+                    + " series can span at most " + granularity.maxPeriods() + " periods");
         }
         
-        return data;
+        return salesRollupService.getSeries(currentUser.getUserId(), granularity, start, end).stream()
+                .map(point -> SalesSeriesPointResponse.builder()
+                        .periodStart(point.periodStart())
+                        .saleCount(point.saleCount())
+                        .quantity(point.quantity())
+                        .revenue(point.revenue())
+                        .cost(point.cost())
+                        .returnedQuantity(point.returnedQuantity())
+                        .refunds(point.refunds())
+                        .netRevenue(point.netRevenue())
+                        .profit(point.profit())
+                        .build())
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public void rebuildSalesRollup() {
+        User currentUser = securityUtils.getCurrentUser();
+        salesRollupService.rebuild(currentUser.getUserId());
+        dataVersionService.bump(currentUser.getUserId());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,317 @@
+package com.kitakita.inventory.service.impl;
+
+import com.kitakita.inventory.dto.request.CancelSaleRequest;
+import com.kitakita.inventory.dto.request.ReturnBatchRequest;
+import com.kitakita.inventory.dto.request.ReturnRequest;
+import com.kitakita.inventory.dto.response.BulkWriteResponse;
+import com.kitakita.inventory.dto.response.CancellationResponse;
+import com.kitakita.inventory.dto.response.PagedResponse;
+import com.kitakita.inventory.dto.response.ReturnResponse;
+import com.kitakita.inventory.entity.CancelledOrder;
+import com.kitakita.inventory.entity.Product;
+import com.kitakita.inventory.entity.Return;
+import com.kitakita.inventory.entity.Sale;
+import com.kitakita.inventory.entity.StockMovement.MovementType;
+import com.kitakita.inventory.entity.User;
+import com.kitakita.inventory.exception.ResourceNotFoundException;
+import com.kitakita.inventory.exception.SaleLockedException;
+import com.kitakita.inventory.repository.CancelledOrderRepository;
+import com.kitakita.inventory.repository.ProductRepository;
+import com.kitakita.inventory.repository.ReturnRepository;
+import com.kitakita.inventory.repository.SaleRepository;
+import com.kitakita.inventory.repository.projection.SaleReturnedQuantity;
+import com.kitakita.inventory.security.SecurityUtils;
+import com.kitakita.inventory.service.DataVersionService;
+import com.kitakita.inventory.service.ReturnService;
+import com.kitakita.inventory.service.SalesRollupService;
+import com.kitakita.inventory.service.StockService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ReturnServiceImpl implements ReturnService {
+
+    private final ReturnRepository returnRepository;
+    private final CancelledOrderRepository cancelledOrderRepository;
+    private final ProductRepository productRepository;
+    private final SaleRepository saleRepository;
+    private final SecurityUtils securityUtils;
+    private final StockService stockService;
+    private final SalesRollupService salesRollupService;
+    private final DataVersionService dataVersionService;
+
+    @Value("${bulk.import.max-rows:10000}")
+    private int maxImportRows;
+
+    @Override
+    @Transactional
+    public ReturnResponse createReturn(ReturnRequest request) {
+        User currentUser = securityUtils.getCurrentUser();
+
+        Product product = productRepository.findById(request.getProductId())
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
+
+        if (!product.getUser().getUserId().equals(currentUser.getUserId())) {
+            throw new ResourceNotFoundException("Product not found");
+        }
+        Map<Integer, Sale> sales = checkReturnable(currentUser, List.of(request));
+
+        Return saved = returnRepository.save(toReturn(product, request, saleOf(request, sales), currentUser));
+        stockService.increase(product, request.getQuantity(), MovementType.RETURN);
+        salesRollupService.recordRefunds(currentUser.getUserId(), List.of(toRefund(saved)));
+        dataVersionService.bump(currentUser.getUserId());
+        return mapToResponse(saved);
+    }
+
+    @Override
+    @Transactional
+    public BulkWriteResponse processReturns(ReturnBatchRequest request) {
+        User currentUser = securityUtils.getCurrentUser();
+        List<ReturnRequest> rows = request.getReturns();
+        if (rows.size() > maxImportRows) {
+            throw new IllegalArgumentException("A batch can have at most " + maxImportRows + " returns");
+        }
+
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        for (ReturnRequest row : rows) {
+            quantities.merge(row.getProductId(), row.getQuantity(), Integer::sum);
+        }
+        // Anything missing or owned by someone else is simply not found
+        Map<Integer, Product> products = productRepository.findByUserIdAndProductIdIn(currentUser.getUserId(), quantities.keySet())
+                .stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+
+        List<StockService.Line> stockLines = new ArrayList<>(quantities.size());
+        for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product not found: " + entry.getKey());
+            }
+            stockLines.add(new StockService.Line(product, entry.getValue()));
+        }
+        Map<Integer, Sale> sales = checkReturnable(currentUser, rows);
+
+        List<Return> returns = new ArrayList<>(rows.size());
+        for (ReturnRequest row : rows) {
+            returns.add(toReturn(products.get(row.getProductId()), row, saleOf(row, sales), currentUser));
+        }
+
+        returnRepository.insertAll(returns);
+        stockService.increaseAll(stockLines, MovementType.RETURN);
+        salesRollupService.recordRefunds(currentUser.getUserId(), returns.stream().map(this::toRefund).toList());
+        dataVersionService.bump(currentUser.getUserId());
+
+        return BulkWriteResponse.builder()
+                .created(returns.size())
+                .totalQuantity(returns.stream().mapToInt(Return::getQuantity).sum())
+                .totalValue(returns.stream().map(Return::getReturnValue).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .build();
+    }
+
+    /**
+     * Cancels a sale by refunding whatever of it has not been returned yet and putting those units
+     * back in stock. The sale row is kept, so sales history still shows what was rung up; deleting a
+     * sale remains the way to fix one entered by mistake.
+     */
+    @Override
+    @Transactional
+    public CancellationResponse cancelSale(Integer saleId, CancelSaleRequest request) {
+        User currentUser = securityUtils.getCurrentUser();
+        Sale sale = lockSales(currentUser, List.of(saleId)).get(saleId);
+
+        // uk_cancelled_orders_sale backs this check up
+        if (cancelledOrderRepository.existsByOriginalSaleId(saleId)) {
+            throw new SaleLockedException("Sale has already been cancelled");
+        }
+        long returned = returnedQuantities(List.of(saleId)).getOrDefault(saleId, 0L);
+        int quantity = sale.getQuantity() - (int) returned;
+        if (quantity <= 0) {
+            throw new SaleLockedException("Sale has already been returned in full");
+        }
+        BigDecimal refund = prorate(sale, quantity);
+
+        CancelledOrder saved = cancelledOrderRepository.save(CancelledOrder.builder()
+                .originalSaleId(saleId)
+                .product(sale.getProduct())
+                .quantity(quantity)
+                .refundAmount(refund)
+                .unitCost(sale.getBuyingPrice())
+                .reason(request != null ? request.getReason() : null)
+                .processedBy(currentUser)
+                .build());
+        if (sale.getStockDeducted()) {
+            stockService.increase(sale.getProduct(), quantity, MovementType.CANCELLATION);
+        }
+        salesRollupService.recordRefunds(currentUser.getUserId(), List.of(new SalesRollupService.Refund(
+                sale.getProduct(), LocalDate.now(), quantity, refund, sale.getBuyingPrice())));
+        dataVersionService.bump(currentUser.getUserId());
+        return mapToCancellationResponse(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<ReturnResponse> getReturns(int page, int size) {
+        User currentUser = securityUtils.getCurrentUser();
+        Slice<Return> returns = returnRepository.findByUserId(currentUser.getUserId(), PageRequest.of(page, size));
+        return toPage(returns, this::mapToResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<CancellationResponse> getCancellations(int page, int size) {
+        User currentUser = securityUtils.getCurrentUser();
+        Slice<CancelledOrder> cancellations = cancelledOrderRepository.findByUserId(currentUser.getUserId(),
+                PageRequest.of(page, size));
+        return toPage(cancellations, this::mapToCancellationResponse);
+    }
+
+    /**
+     * Checks the rows that name a sale: it must be the user's, for the same product, not cancelled,
+     * and not returned beyond what was sold. The sales stay locked until the transaction ends, so
+     * concurrent returns against one sale cannot both pass.
+     *
+     * @return the named sales by id
+     */
+    private Map<Integer, Sale> checkReturnable(User user, List<ReturnRequest> rows) {
+        Map<Integer, Integer> requested = new LinkedHashMap<>();
+        for (ReturnRequest row : rows) {
+            if (row.getSaleId() != null) {
+                requested.merge(row.getSaleId(), row.getQuantity(), Integer::sum);
+            }
+        }
+        if (requested.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Integer, Sale> sales = lockSales(user, requested.keySet());
+        for (ReturnRequest row : rows) {
+            if (row.getSaleId() != null
+                    && !sales.get(row.getSaleId()).getProduct().getProductId().equals(row.getProductId())) {
+                throw new IllegalArgumentException("Sale " + row.getSaleId() + " is not for product " + row.getProductId());
+            }
+        }
+        List<Integer> cancelled = cancelledOrderRepository.findCancelledSaleIds(requested.keySet());
+        if (!cancelled.isEmpty()) {
+            throw new SaleLockedException("Sale " + cancelled.get(0) + " has been cancelled");
+        }
+        Map<Integer, Long> returned = returnedQuantities(requested.keySet());
+        for (Map.Entry<Integer, Integer> entry : requested.entrySet()) {
+            long returnable = sales.get(entry.getKey()).getQuantity() - returned.getOrDefault(entry.getKey(), 0L);
+            if (entry.getValue() > returnable) {
+                throw new IllegalArgumentException("Only " + returnable + " units of sale " + entry.getKey()
+                        + " can still be returned");
+            }
+        }
+        return sales;
+    }
+
+    private Map<Integer, Sale> lockSales(User user, Collection<Integer> saleIds) {
+        // Anything missing or owned by someone else is simply not found
+        Map<Integer, Sale> sales = saleRepository.findAllByIdForUpdate(saleIds).stream()
+                .filter(sale -> sale.getUser().getUserId().equals(user.getUserId()))
+                .collect(Collectors.toMap(Sale::getSaleId, Function.identity()));
+        for (Integer saleId : saleIds) {
+            if (!sales.containsKey(saleId)) {
+                throw new ResourceNotFoundException("Sale not found: " + saleId);
+            }
+        }
+        return sales;
+    }
+
+    private Map<Integer, Long> returnedQuantities(Collection<Integer> saleIds) {
+        return returnRepository.sumQuantityBySaleIds(saleIds).stream()
+                .collect(Collectors.toMap(SaleReturnedQuantity::getSaleId, SaleReturnedQuantity::getQuantity));
+    }
+
+    private static Sale saleOf(ReturnRequest request, Map<Integer, Sale> sales) {
+        return request.getSaleId() != null ? sales.get(request.getSaleId()) : null;
+    }
+
+    // A return naming its sale is valued at what that sale charged and cost, not at today's prices
+    private Return toReturn(Product product, ReturnRequest request, Sale sale, User processedBy) {
+        BigDecimal refund;
+        if (request.getRefundAmount() != null) {
+            refund = request.getRefundAmount();
+        } else if (sale != null) {
+            refund = prorate(sale, request.getQuantity());
+        } else {
+            refund = product.getSellingPrice().multiply(BigDecimal.valueOf(request.getQuantity()));
+        }
+        return Return.builder()
+                .originalSaleId(request.getSaleId())
+                .product(product)
+                .supplier(product.getSupplier())
+                .quantity(request.getQuantity())
+                .returnValue(refund)
+                .unitCost(sale != null ? sale.getBuyingPrice() : product.getBuyingPrice())
+                .reason(request.getReason())
+                .processedBy(processedBy)
+                .build();
+    }
+
+    // The share of what the sale took in for some of its units
+    private static BigDecimal prorate(Sale sale, int quantity) {
+        return quantity == sale.getQuantity()
+                ? sale.getTotalValue()
+                : sale.getTotalValue().multiply(BigDecimal.valueOf(quantity))
+                        .divide(BigDecimal.valueOf(sale.getQuantity()), 2, RoundingMode.HALF_UP);
+    }
+
+    // Refunds count on the day they are processed, not on the day of the original sale
+    private SalesRollupService.Refund toRefund(Return item) {
+        return new SalesRollupService.Refund(item.getProduct(), LocalDate.now(), item.getQuantity(),
+                item.getReturnValue(), item.getUnitCost());
+    }
+
+    private <T, R> PagedResponse<R> toPage(Slice<T> slice, Function<T, R> mapper) {
+        return PagedResponse.<R>builder()
+                .content(slice.getContent().stream().map(mapper).toList())
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .hasNext(slice.hasNext())
+                .hasPrevious(slice.hasPrevious())
+                .build();
+    }
+
+    private ReturnResponse mapToResponse(Return item) {
+        return ReturnResponse.builder()
+                .returnId(item.getReturnId())
+                .saleId(item.getOriginalSaleId())
+                .productId(item.getProduct().getProductId())
+                .productName(item.getProduct().getProductName())
+                .quantity(item.getQuantity())
+                .refundAmount(item.getReturnValue())
+                .returnDate(item.getReturnDate())
+                .reason(item.getReason())
+                .build();
+    }
+
+    private CancellationResponse mapToCancellationResponse(CancelledOrder cancellation) {
+        return CancellationResponse.builder()
+                .cancelId(cancellation.getCancelId())
+                .saleId(cancellation.getOriginalSaleId())
+                .productId(cancellation.getProduct().getProductId())
+                .productName(cancellation.getProduct().getProductName())
+                .quantity(cancellation.getQuantity())
+                .refundAmount(cancellation.getRefundAmount())
+                .cancellationDate(cancellation.getCancellationDate())
+                .reason(cancellation.getReason())
+                .build();
+    }
+}
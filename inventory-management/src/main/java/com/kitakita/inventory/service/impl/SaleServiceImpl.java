@@ -1,28 +1,50 @@
 package com.kitakita.inventory.service.impl;
 
+import com.kitakita.inventory.dto.request.CheckoutRequest;
+import com.kitakita.inventory.dto.request.SaleImportRequest;
 import com.kitakita.inventory.dto.request.SaleRequest;
+import com.kitakita.inventory.dto.response.BulkWriteResponse;
+import com.kitakita.inventory.dto.response.CheckoutResponse;
 import com.kitakita.inventory.dto.response.PagedResponse;
 import com.kitakita.inventory.dto.response.SaleResponse;
 import com.kitakita.inventory.dto.response.SalesSummaryResponse;
 import com.kitakita.inventory.entity.Product;
 import com.kitakita.inventory.entity.Sale;
+import com.kitakita.inventory.entity.StockMovement.MovementType;
 import com.kitakita.inventory.entity.User;
+import com.kitakita.inventory.exception.InsufficientStockException;
 import com.kitakita.inventory.exception.ResourceNotFoundException;
+import com.kitakita.inventory.exception.SaleLockedException;
+import com.kitakita.inventory.pagination.Cursor;
+import com.kitakita.inventory.repository.CancelledOrderRepository;
 import com.kitakita.inventory.repository.ProductRepository;
+import com.kitakita.inventory.repository.ReturnRepository;
 import com.kitakita.inventory.repository.SaleRepository;
 import com.kitakita.inventory.security.SecurityUtils;
+import com.kitakita.inventory.service.CodeGenerator;
+import com.kitakita.inventory.service.DataVersionService;
 import com.kitakita.inventory.service.SaleService;
+import com.kitakita.inventory.service.SalesRollupService;
+import com.kitakita.inventory.service.StockService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -30,7 +52,19 @@ public class SaleServiceImpl implements SaleService {
 
     private final SaleRepository saleRepository;
     private final ProductRepository productRepository;
+    private final CancelledOrderRepository cancelledOrderRepository;
+    private final ReturnRepository returnRepository;
     private final SecurityUtils securityUtils;
+    private final StockService stockService;
+    private final SalesRollupService salesRollupService;
+    private final CodeGenerator codeGenerator;
+    private final DataVersionService dataVersionService;
+
+    @Value("${sales.checkout.max-lines:200}")
+    private int maxCheckoutLines;
+
+    @Value("${bulk.import.max-rows:10000}")
+    private int maxImportRows;
 
     @Override
     @Transactional(readOnly = true)
@@ -57,6 +91,31 @@ public class SaleServiceImpl implements SaleService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<SaleResponse> getSalesAfter(String search, String after, int size) {
+        User currentUser = securityUtils.getCurrentUser();
+        Cursor cursor = Cursor.decode(after);
+        Integer afterId = cursor != null ? cursor.id() : null;
+        Pageable limit = PageRequest.of(0, size);
+
+        Slice<Sale> slice;
+        if (StringUtils.hasText(search)) {
+            slice = saleRepository.findByUserAndSearchAfter(currentUser, search.trim().toLowerCase(), afterId, limit);
+        } else {
+            slice = saleRepository.findByUserAfter(currentUser, afterId, limit);
+        }
+
+        List<Sale> sales = slice.getContent();
+        return PagedResponse.<SaleResponse>builder()
+                .content(sales.stream().map(this::mapToResponse).toList())
+                .size(size)
+                .hasNext(slice.hasNext())
+                .hasPrevious(cursor != null)
+                .nextCursor(slice.hasNext() ? new Cursor(null, sales.get(sales.size() - 1).getSaleId()).encode() : null)
+                .build();
+    }
+
     @Override
     @Transactional
     public SaleResponse createSale(SaleRequest request) {
@@ -71,13 +130,8 @@ public class SaleServiceImpl implements SaleService {
             throw new ResourceNotFoundException("Product not found");
         }
         
-        // Check if there's enough stock
-        if (product.getQuantity() < request.getQuantity()) {
-            throw new IllegalArgumentException("Insufficient stock for product: " + product.getProductName());
-        }
-        
         // Generate unique sale code
-        String saleCode = generateSaleCode();
+        String saleCode = codeGenerator.saleCode();
         
         // Create sale
         Sale sale = Sale.builder()
@@ -91,14 +145,114 @@ public class SaleServiceImpl implements SaleService {
                 .notes(request.getNotes())
                 .build();
         
-        // Update product quantity
-        product.setQuantity(product.getQuantity() - request.getQuantity());
-        productRepository.save(product);
+        // Fails without changing anything when there is not enough stock
+        stockService.decrease(product, request.getQuantity(), MovementType.SALE);
         
         Sale saved = saleRepository.save(sale);
+        salesRollupService.recordSale(saved, 1);
+        dataVersionService.bump(currentUser.getUserId());
         return mapToResponse(saved);
     }
 
+    @Override
+    @Transactional
+    public CheckoutResponse checkout(CheckoutRequest request) {
+        User currentUser = securityUtils.getCurrentUser();
+        List<CheckoutRequest.Line> lines = request.getLines();
+        if (lines.size() > maxCheckoutLines) {
+            throw new IllegalArgumentException("A checkout can have at most " + maxCheckoutLines + " lines");
+        }
+        
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        for (CheckoutRequest.Line line : lines) {
+            quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+        Map<Integer, Product> products = takeStock(currentUser, quantities);
+        
+        String receiptCode = codeGenerator.receiptCode();
+        LocalDateTime saleDate = LocalDateTime.now();
+        List<Sale> sales = new ArrayList<>(lines.size());
+        for (CheckoutRequest.Line line : lines) {
+            Product product = products.get(line.getProductId());
+            BigDecimal unitPrice = line.getUnitPrice() != null ? line.getUnitPrice() : product.getSellingPrice();
+            sales.add(Sale.builder()
+                    .saleCode(codeGenerator.saleCode())
+                    .receiptCode(receiptCode)
+                    .product(product)
+                    .quantity(line.getQuantity())
+                    .unitPrice(unitPrice)
+                    .totalValue(unitPrice.multiply(BigDecimal.valueOf(line.getQuantity())))
+                    .buyingPrice(line.getBuyingPrice() != null ? line.getBuyingPrice() : product.getBuyingPrice())
+                    .saleDate(saleDate)
+                    .user(currentUser)
+                    .notes(request.getNotes())
+                    .build());
+        }
+        
+        saleRepository.insertAll(sales);
+        salesRollupService.recordSales(sales);
+        dataVersionService.bump(currentUser.getUserId());
+        
+        List<SaleResponse> saved = saleRepository.findByUserAndReceiptCode(currentUser, receiptCode).stream()
+                .map(this::mapToResponse)
+                .toList();
+        return CheckoutResponse.builder()
+                .receiptCode(receiptCode)
+                .sales(saved)
+                .totalQuantity(sales.stream().mapToInt(Sale::getQuantity).sum())
+                .totalValue(sales.stream().map(Sale::getTotalValue).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .saleDate(saleDate)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public BulkWriteResponse importSales(SaleImportRequest request) {
+        User currentUser = securityUtils.getCurrentUser();
+        List<SaleImportRequest.Line> lines = request.getSales();
+        if (lines.size() > maxImportRows) {
+            throw new IllegalArgumentException("An import can have at most " + maxImportRows + " rows");
+        }
+        
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        for (SaleImportRequest.Line line : lines) {
+            quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+        boolean deductStock = request.getDeductStock();
+        Map<Integer, Product> products = deductStock
+                ? takeStock(currentUser, quantities)
+                : findProducts(currentUser, quantities.keySet());
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Sale> sales = new ArrayList<>(lines.size());
+        for (SaleImportRequest.Line line : lines) {
+            Product product = products.get(line.getProductId());
+            BigDecimal unitPrice = line.getUnitPrice() != null ? line.getUnitPrice() : product.getSellingPrice();
+            sales.add(Sale.builder()
+                    .saleCode(codeGenerator.saleCode())
+                    .product(product)
+                    .quantity(line.getQuantity())
+                    .unitPrice(unitPrice)
+                    .totalValue(unitPrice.multiply(BigDecimal.valueOf(line.getQuantity())))
+                    .buyingPrice(line.getBuyingPrice() != null ? line.getBuyingPrice() : product.getBuyingPrice())
+                    .saleDate(line.getSaleDate() != null ? line.getSaleDate() : now)
+                    .user(currentUser)
+                    .notes(line.getNotes())
+                    .stockDeducted(deductStock)
+                    .build());
+        }
+        
+        saleRepository.insertAll(sales);
+        salesRollupService.recordSales(sales);
+        dataVersionService.bump(currentUser.getUserId());
+        
+        return BulkWriteResponse.builder()
+                .created(sales.size())
+                .totalQuantity(sales.stream().mapToInt(Sale::getQuantity).sum())
+                .totalValue(sales.stream().map(Sale::getTotalValue).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public SaleResponse getSaleById(Integer id) {
@@ -118,7 +272,9 @@ public class SaleServiceImpl implements SaleService {
     @Transactional
     public SaleResponse updateSale(Integer id, SaleRequest request) {
         User currentUser = securityUtils.getCurrentUser();
-        Sale sale = saleRepository.findById(id)
+        // Locked so a return or cancellation of the same sale cannot slip in between the checks and the write
+        Sale sale = saleRepository.findAllByIdForUpdate(List.of(id)).stream()
+                .findFirst()
                 .orElseThrow(() -> new ResourceNotFoundException("Sale not found"));
         
         // Check if sale belongs to current user
@@ -126,6 +282,14 @@ public class SaleServiceImpl implements SaleService {
             throw new ResourceNotFoundException("Sale not found");
         }
         
+        // Some or all of its units are already back in stock and refunded in the reports
+        if (cancelledOrderRepository.existsByOriginalSaleId(id)) {
+            throw new SaleLockedException("A cancelled sale cannot be changed");
+        }
+        if (returnRepository.existsByOriginalSaleId(id)) {
+            throw new SaleLockedException("A sale with returns cannot be changed; cancel the rest of it instead");
+        }
+        
         // Get the product
         Product product = productRepository.findById(request.getProductId())
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
@@ -135,34 +299,14 @@ public class SaleServiceImpl implements SaleService {
             throw new ResourceNotFoundException("Product not found");
         }
         
-        // Calculate quantity difference
-        int quantityDifference = request.getQuantity() - sale.getQuantity();
+        // Take the old values out of the rollup before the sale changes
+        salesRollupService.recordSale(sale, -1);
         
-        // If changing product, restore old product quantity and check new product stock
-        if (!sale.getProduct().getProductId().equals(request.getProductId())) {
-            // Restore old product quantity
-            Product oldProduct = sale.getProduct();
-            oldProduct.setQuantity(oldProduct.getQuantity() + sale.getQuantity());
-            productRepository.save(oldProduct);
-            
-            // Check if new product has enough stock
-            if (product.getQuantity() < request.getQuantity()) {
-                throw new IllegalArgumentException("Insufficient stock for product: " + product.getProductName());
-            }
-            
-            // Deduct from new product
-            product.setQuantity(product.getQuantity() - request.getQuantity());
-        } else {
-            // Same product - adjust quantity
-            int newProductQuantity = product.getQuantity() + quantityDifference;
-            if (newProductQuantity < 0) {
-                throw new IllegalArgumentException("Insufficient stock for product: " + product.getProductName());
-            }
-            product.setQuantity(newProductQuantity);
+        // A sale imported without taking stock stays that way when corrected
+        if (sale.getStockDeducted()) {
+            moveStock(sale, product, request.getQuantity());
         }
         
-        productRepository.save(product);
-        
         // Update sale
         sale.setProduct(product);
         sale.setQuantity(request.getQuantity());
@@ -172,6 +316,8 @@ public class SaleServiceImpl implements SaleService {
         sale.setNotes(request.getNotes());
         
         Sale updated = saleRepository.save(sale);
+        salesRollupService.recordSale(updated, 1);
+        dataVersionService.bump(currentUser.getUserId());
         return mapToResponse(updated);
     }
 
@@ -179,7 +325,9 @@ public class SaleServiceImpl implements SaleService {
     @Transactional
     public void deleteSale(Integer id) {
         User currentUser = securityUtils.getCurrentUser();
-        Sale sale = saleRepository.findById(id)
+        // Locked so a return or cancellation of the same sale cannot slip in between the checks and the write
+        Sale sale = saleRepository.findAllByIdForUpdate(List.of(id)).stream()
+                .findFirst()
                 .orElseThrow(() -> new ResourceNotFoundException("Sale not found"));
         
         // Check if sale belongs to current user
@@ -187,12 +335,22 @@ public class SaleServiceImpl implements SaleService {
             throw new ResourceNotFoundException("Sale not found");
         }
         
+        // Some or all of its units are already back in stock and refunded in the reports
+        if (cancelledOrderRepository.existsByOriginalSaleId(id)) {
+            throw new SaleLockedException("A cancelled sale cannot be changed");
+        }
+        if (returnRepository.existsByOriginalSaleId(id)) {
+            throw new SaleLockedException("A sale with returns cannot be changed; cancel the rest of it instead");
+        }
+        
         // Restore product quantity
-        Product product = sale.getProduct();
-        product.setQuantity(product.getQuantity() + sale.getQuantity());
-        productRepository.save(product);
+        if (sale.getStockDeducted()) {
+            stockService.increase(sale.getProduct(), sale.getQuantity(), MovementType.SALE_CHANGE);
+        }
         
+        salesRollupService.recordSale(sale, -1);
         saleRepository.delete(sale);
+        dataVersionService.bump(currentUser.getUserId());
     }
 
     @Override
@@ -200,26 +358,77 @@ public class SaleServiceImpl implements SaleService {
     public SalesSummaryResponse getSalesSummary() {
         User currentUser = securityUtils.getCurrentUser();
         
-        BigDecimal totalSalesValue = saleRepository.getTotalSalesValue(currentUser);
-        Long totalSalesCount = saleRepository.getTotalSalesCount(currentUser);
-        Long totalProductsSold = saleRepository.getTotalProductsSold(currentUser);
-        
-        // Handle null values
-        if (totalSalesValue == null) totalSalesValue = BigDecimal.ZERO;
-        if (totalSalesCount == null) totalSalesCount = 0L;
-        if (totalProductsSold == null) totalProductsSold = 0L;
+        SalesRollupService.SeriesPoint totals = salesRollupService.getTotals(currentUser.getUserId());
         
         return SalesSummaryResponse.builder()
-                .totalSalesValue(totalSalesValue)
-                .totalSalesCount(totalSalesCount)
-                .totalProductsSold(totalProductsSold)
+                .totalSalesValue(totals.revenue())
+                .totalSalesCount(totals.saleCount())
+                .totalProductsSold(totals.quantity())
+                .totalRefunds(totals.refunds())
+                .netSalesValue(totals.netRevenue())
                 .build();
     }
 
+    // Moves the stock of an edited sale: the whole quantity when its product changes, else the difference
+    private void moveStock(Sale sale, Product product, int quantity) {
+        if (!sale.getProduct().getProductId().equals(product.getProductId())) {
+            // Changing product: return the units to the old product and take them from the new one
+            stockService.increase(sale.getProduct(), sale.getQuantity(), MovementType.SALE_CHANGE);
+            stockService.decrease(product, quantity, MovementType.SALE_CHANGE);
+        } else {
+            // Same product: only the difference moves
+            int quantityDifference = quantity - sale.getQuantity();
+            if (quantityDifference > 0) {
+                stockService.decrease(product, quantityDifference, MovementType.SALE_CHANGE);
+            } else if (quantityDifference < 0) {
+                stockService.increase(product, -quantityDifference, MovementType.SALE_CHANGE);
+            }
+        }
+    }
+    
+    /**
+     * Loads the user's products for a set of sales with one query and takes the combined quantity
+     * of each out of stock, failing the whole batch if any product is missing or short.
+     */
+    private Map<Integer, Product> takeStock(User user, Map<Integer, Integer> quantities) {
+        Map<Integer, Product> products = findProducts(user, quantities.keySet());
+        
+        List<StockService.Line> stockLines = new ArrayList<>(quantities.size());
+        List<String> shortProducts = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            if (product.getQuantity() < entry.getValue()) {
+                shortProducts.add(product.getProductName());
+            }
+            stockLines.add(new StockService.Line(product, entry.getValue()));
+        }
+        if (!shortProducts.isEmpty()) {
+            throw new InsufficientStockException("Insufficient stock for: " + String.join(", ", shortProducts));
+        }
+        
+        // The check above is only a fast path; this decrement is what guards against concurrent sales
+        stockService.decreaseAll(stockLines);
+        return products;
+    }
+    
+    private Map<Integer, Product> findProducts(User user, Set<Integer> productIds) {
+        // Anything missing or owned by someone else is simply not found
+        Map<Integer, Product> products = productRepository.findByUserIdAndProductIdIn(user.getUserId(), productIds)
+                .stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        for (Integer productId : productIds) {
+            if (!products.containsKey(productId)) {
+                throw new ResourceNotFoundException("Product not found: " + productId);
+            }
+        }
+        return products;
+    }
+
     private SaleResponse mapToResponse(Sale sale) {
         return SaleResponse.builder()
                 .saleId(sale.getSaleId())
                 .saleCode(sale.getSaleCode())
+                .receiptCode(sale.getReceiptCode())
                 .productId(sale.getProduct().getProductId())
                 .productName(sale.getProduct().getProductName())
                 .quantity(sale.getQuantity())
@@ -228,10 +437,7 @@ public class SaleServiceImpl implements SaleService {
                 .buyingPrice(sale.getBuyingPrice())
                 .saleDate(sale.getSaleDate())
                 .notes(sale.getNotes())
+                .stockDeducted(sale.getStockDeducted())
                 .build();
     }
-    
-    private String generateSaleCode() {
-        return "SL-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,175 @@
+package com.kitakita.inventory.service.impl;
+
+import com.kitakita.inventory.entity.Product;
+import com.kitakita.inventory.entity.Sale;
+import com.kitakita.inventory.repository.SalesDailyRollupRepository;
+import com.kitakita.inventory.repository.projection.DailySalesTotal;
+import com.kitakita.inventory.repository.projection.SalesTotals;
+import com.kitakita.inventory.service.SalesRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+public class SalesRollupServiceImpl implements SalesRollupService {
+
+    private final SalesDailyRollupRepository rollupRepository;
+
+    @Override
+    @Transactional
+    public void recordSale(Sale sale, int sign) {
+        Product product = sale.getProduct();
+        LocalDate salesDay = sale.getSaleDate() != null ? sale.getSaleDate().toLocalDate() : LocalDate.now();
+        BigDecimal quantity = BigDecimal.valueOf(sale.getQuantity());
+        BigDecimal multiplier = BigDecimal.valueOf(sign);
+
+        rollupRepository.upsertDelta(
+                sale.getUser().getUserId(),
+                product.getProductId(),
+                product.getCategory() != null ? product.getCategory().getCategoryId() : null,
+                salesDay,
+                sign,
+                (long) sign * sale.getQuantity(),
+                sale.getTotalValue().multiply(multiplier),
+                sale.getBuyingPrice().multiply(quantity).multiply(multiplier)
+        );
+    }
+
+    @Override
+    @Transactional
+    public void recordSales(List<Sale> sales) {
+        Map<RollupKey, SeriesPoint> deltas = new LinkedHashMap<>();
+        for (Sale sale : sales) {
+            Product product = sale.getProduct();
+            RollupKey key = new RollupKey(
+                    sale.getUser().getUserId(),
+                    product.getProductId(),
+                    product.getCategory() != null ? product.getCategory().getCategoryId() : null,
+                    sale.getSaleDate() != null ? sale.getSaleDate().toLocalDate() : LocalDate.now());
+            SeriesPoint delta = new SeriesPoint(key.salesDay(), 1, sale.getQuantity(), sale.getTotalValue(),
+                    sale.getBuyingPrice().multiply(BigDecimal.valueOf(sale.getQuantity())),
+                    0, BigDecimal.ZERO, BigDecimal.ZERO);
+            deltas.merge(key, delta, SalesRollupServiceImpl::add);
+        }
+
+        deltas.forEach((key, delta) -> rollupRepository.upsertDelta(
+                key.userId(), key.productId(), key.categoryId(), key.salesDay(),
+                delta.saleCount(), delta.quantity(), delta.revenue(), delta.cost()));
+    }
+
+    @Override
+    @Transactional
+    public void recordRefunds(Integer userId, List<Refund> refunds) {
+        Map<RollupKey, SeriesPoint> deltas = new LinkedHashMap<>();
+        for (Refund refund : refunds) {
+            Product product = refund.product();
+            RollupKey key = new RollupKey(
+                    userId,
+                    product.getProductId(),
+                    product.getCategory() != null ? product.getCategory().getCategoryId() : null,
+                    refund.day());
+            BigDecimal unitCost = refund.unitCost() != null ? refund.unitCost() : BigDecimal.ZERO;
+            SeriesPoint delta = new SeriesPoint(key.salesDay(), 0, 0, BigDecimal.ZERO, BigDecimal.ZERO,
+                    refund.quantity(), refund.amount(), unitCost.multiply(BigDecimal.valueOf(refund.quantity())));
+            deltas.merge(key, delta, SalesRollupServiceImpl::add);
+        }
+
+        deltas.forEach((key, delta) -> rollupRepository.upsertRefund(
+                key.userId(), key.productId(), key.categoryId(), key.salesDay(),
+                delta.returnedQuantity(), delta.refunds(), delta.returnedCost()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SeriesPoint getTotals(Integer userId) {
+        return toPoint(null, rollupRepository.getTotals(userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SeriesPoint> getSeries(Integer userId, Granularity granularity, LocalDate from, LocalDate to) {
+        LocalDate firstPeriod = granularity.periodStart(from);
+        LocalDate lastPeriod = granularity.periodStart(to);
+
+        // Fold the per-day totals into their periods
+        Map<LocalDate, SeriesPoint> byPeriod = new TreeMap<>();
+        for (DailySalesTotal day : rollupRepository.getDailyTotals(userId, firstPeriod, to)) {
+            byPeriod.merge(granularity.periodStart(day.getSalesDay()),
+                    toPoint(day.getSalesDay(), day),
+                    SalesRollupServiceImpl::add);
+        }
+
+        List<SeriesPoint> series = new ArrayList<>();
+        for (LocalDate period = firstPeriod; !period.isAfter(lastPeriod); period = nextPeriod(period, granularity)) {
+            SeriesPoint point = byPeriod.get(period);
+            series.add(point != null
+                    ? new SeriesPoint(period, point.saleCount(), point.quantity(), point.revenue(), point.cost(),
+                            point.returnedQuantity(), point.refunds(), point.returnedCost())
+                    : new SeriesPoint(period, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO, 0, BigDecimal.ZERO, BigDecimal.ZERO));
+        }
+        return series;
+    }
+
+    @Override
+    @Transactional
+    public void rebuild(Integer userId) {
+        rollupRepository.deleteByUserId(userId);
+        rollupRepository.backfillForUser(userId);
+        rollupRepository.backfillRefundsForUser(userId);
+    }
+
+    @Override
+    @Transactional
+    public void rebuildAll() {
+        rollupRepository.deleteAllInBatch();
+        rollupRepository.backfillAll();
+        rollupRepository.backfillRefundsAll();
+    }
+
+    private static LocalDate nextPeriod(LocalDate periodStart, Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> periodStart.plusDays(1);
+            case WEEK -> periodStart.plusWeeks(1);
+            case MONTH -> periodStart.plusMonths(1);
+            case YEAR -> periodStart.plusYears(1);
+        };
+    }
+
+    private static SeriesPoint toPoint(LocalDate periodStart, SalesTotals totals) {
+        return new SeriesPoint(
+                periodStart,
+                totals.getSaleCount() != null ? totals.getSaleCount() : 0,
+                totals.getQuantity() != null ? totals.getQuantity() : 0,
+                totals.getRevenue() != null ? totals.getRevenue() : BigDecimal.ZERO,
+                totals.getCost() != null ? totals.getCost() : BigDecimal.ZERO,
+                totals.getReturnedQuantity() != null ? totals.getReturnedQuantity() : 0,
+                totals.getRefunds() != null ? totals.getRefunds() : BigDecimal.ZERO,
+                totals.getReturnedCost() != null ? totals.getReturnedCost() : BigDecimal.ZERO
+        );
+    }
+
+    private static SeriesPoint add(SeriesPoint left, SeriesPoint right) {
+        return new SeriesPoint(
+                left.periodStart(),
+                left.saleCount() + right.saleCount(),
+                left.quantity() + right.quantity(),
+                left.revenue().add(right.revenue()),
+                left.cost().add(right.cost()),
+                left.returnedQuantity() + right.returnedQuantity(),
+                left.refunds().add(right.refunds()),
+                left.returnedCost().add(right.returnedCost())
+        );
+    }
+
+    private record RollupKey(Integer userId, Integer productId, Integer categoryId, LocalDate salesDay) {
+    }
+}
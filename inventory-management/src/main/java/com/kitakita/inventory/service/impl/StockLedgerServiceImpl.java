@@ -0,0 +1,182 @@
+package com.kitakita.inventory.service.impl;
+
+import com.kitakita.inventory.dto.response.StockDriftResponse;
+import com.kitakita.inventory.dto.response.StockLevelResponse;
+import com.kitakita.inventory.entity.StockSnapshot;
+import com.kitakita.inventory.exception.ResourceNotFoundException;
+import com.kitakita.inventory.repository.ProductRepository;
+import com.kitakita.inventory.repository.StockMovementRepository;
+import com.kitakita.inventory.repository.StockSnapshotRepository;
+import com.kitakita.inventory.repository.projection.ProductDelta;
+import com.kitakita.inventory.repository.projection.ProductQuantity;
+import com.kitakita.inventory.security.SecurityUtils;
+import com.kitakita.inventory.service.DataVersionService;
+import com.kitakita.inventory.service.InventorySummaryService;
+import com.kitakita.inventory.service.StockLedgerService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+public class StockLedgerServiceImpl implements StockLedgerService {
+
+    // Lower bound for products that have never been snapshotted
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int SNAPSHOT_CHUNK_SIZE = 1000;
+
+    private final StockMovementRepository stockMovementRepository;
+    private final StockSnapshotRepository stockSnapshotRepository;
+    private final ProductRepository productRepository;
+    private final InventorySummaryService inventorySummaryService;
+    private final DataVersionService dataVersionService;
+    private final SecurityUtils securityUtils;
+    private final Duration snapshotLag;
+
+    public StockLedgerServiceImpl(StockMovementRepository stockMovementRepository,
+                                  StockSnapshotRepository stockSnapshotRepository,
+                                  ProductRepository productRepository,
+                                  InventorySummaryService inventorySummaryService,
+                                  DataVersionService dataVersionService,
+                                  SecurityUtils securityUtils,
+                                  @Value("${stock.snapshot.lag:PT10M}") Duration snapshotLag) {
+        this.stockMovementRepository = stockMovementRepository;
+        this.stockSnapshotRepository = stockSnapshotRepository;
+        this.productRepository = productRepository;
+        this.inventorySummaryService = inventorySummaryService;
+        this.dataVersionService = dataVersionService;
+        this.securityUtils = securityUtils;
+        this.snapshotLag = snapshotLag;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StockLevelResponse getStockAt(Integer productId, LocalDateTime at) {
+        Integer userId = securityUtils.getCurrentUser().getUserId();
+        if (!productRepository.existsByProductIdAndUserUserId(productId, userId)) {
+            throw new ResourceNotFoundException("Product not found");
+        }
+
+        LocalDateTime upTo = at != null ? at : LocalDateTime.now();
+        Optional<StockSnapshot> snapshot = stockSnapshotRepository
+                .findFirstByProductIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(productId, upTo);
+        LocalDateTime snapshotAt = snapshot.map(StockSnapshot::getSnapshotAt).orElse(null);
+        long quantity = snapshot.map(StockSnapshot::getQuantity).orElse(0L)
+                + stockMovementRepository.sumDeltas(productId, snapshotAt, upTo);
+
+        return StockLevelResponse.builder()
+                .productId(productId)
+                .at(upTo)
+                .quantity(quantity)
+                .snapshotAt(snapshotAt)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockDriftResponse> findDrift() {
+        return findDrift(securityUtils.getCurrentUser().getUserId());
+    }
+
+    @Override
+    @Transactional
+    public List<StockDriftResponse> rebuildQuantities() {
+        Integer userId = securityUtils.getCurrentUser().getUserId();
+        List<StockDriftResponse> rebuilt = new ArrayList<>();
+        for (StockDriftResponse drift : findDrift(userId)) {
+            int updated = productRepository.setStockIfUnchanged(drift.getProductId(),
+                    Math.toIntExact(drift.getQuantity()), Math.toIntExact(drift.getLedgerQuantity()));
+            if (updated > 0) {
+                rebuilt.add(drift);
+            }
+        }
+
+        if (!rebuilt.isEmpty()) {
+            inventorySummaryService.rebuild(userId);
+            dataVersionService.bump(userId);
+        }
+        return rebuilt;
+    }
+
+    @Override
+    @Transactional
+    public int takeSnapshots() {
+        // Movements are stamped before their transaction commits; the lag lets in-flight ones land
+        // before the window they fall into is closed
+        LocalDateTime cutoff = LocalDateTime.now().minus(snapshotLag);
+        List<ProductDelta> changed = stockMovementRepository.sumDeltasSinceSnapshot(null, cutoff, EPOCH);
+
+        for (int from = 0; from < changed.size(); from += SNAPSHOT_CHUNK_SIZE) {
+            List<ProductDelta> chunk = changed.subList(from, Math.min(from + SNAPSHOT_CHUNK_SIZE, changed.size()));
+            Map<Integer, Long> previous = new HashMap<>();
+            for (StockSnapshot snapshot : stockSnapshotRepository.findLatestByProductIds(
+                    chunk.stream().map(ProductDelta::getProductId).toList())) {
+                previous.put(snapshot.getProductId(), snapshot.getQuantity());
+            }
+
+            stockSnapshotRepository.saveAll(chunk.stream()
+                    .map(delta -> StockSnapshot.builder()
+                            .productId(delta.getProductId())
+                            .userId(delta.getUserId())
+                            .quantity(previous.getOrDefault(delta.getProductId(), 0L) + delta.getDelta())
+                            .snapshotAt(cutoff)
+                            .build())
+                    .toList());
+        }
+        return changed.size();
+    }
+
+    @Override
+    @Transactional
+    public int seedOpeningBalances() {
+        List<Integer> userIds = productRepository.findUserIdsWithoutStockHistory();
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        int opened = stockMovementRepository.insertMissingOpenings();
+        // Stock-at and drift answers change for these users
+        userIds.forEach(dataVersionService::bump);
+        return opened;
+    }
+
+    private List<StockDriftResponse> findDrift(Integer userId) {
+        // Products first: a sale committing in between then shows up in the ledger only, and the
+        // compare-and-set in rebuildQuantities skips the product instead of undoing the sale
+        List<ProductQuantity> products = productRepository.findQuantitiesByUserId(userId);
+
+        Map<Integer, Long> ledger = new HashMap<>();
+        for (StockSnapshot snapshot : stockSnapshotRepository.findLatestByUserId(userId)) {
+            ledger.put(snapshot.getProductId(), snapshot.getQuantity());
+        }
+        for (ProductDelta delta : stockMovementRepository.sumDeltasSinceSnapshot(userId, LocalDateTime.now(), EPOCH)) {
+            ledger.merge(delta.getProductId(), delta.getDelta(), Long::sum);
+        }
+
+        List<StockDriftResponse> drift = new ArrayList<>();
+        for (ProductQuantity product : products) {
+            Long ledgerQuantity = ledger.get(product.getProductId());
+            if (ledgerQuantity == null) {
+                // No history to compare with, and rebuilding from it would zero the stock
+                continue;
+            }
+            long quantity = product.getQuantity() != null ? product.getQuantity() : 0;
+            if (quantity != ledgerQuantity) {
+                drift.add(StockDriftResponse.builder()
+                        .productId(product.getProductId())
+                        .productCode(product.getProductCode())
+                        .productName(product.getProductName())
+                        .quantity(quantity)
+                        .ledgerQuantity(ledgerQuantity)
+                        .build());
+            }
+        }
+        return drift;
+    }
+}
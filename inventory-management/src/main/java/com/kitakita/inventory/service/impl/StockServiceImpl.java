@@ -0,0 +1,196 @@
+package com.kitakita.inventory.service.impl;
+
+import com.kitakita.inventory.entity.Product;
+import com.kitakita.inventory.entity.StockMovement;
+import com.kitakita.inventory.entity.StockMovement.MovementType;
+import com.kitakita.inventory.exception.InsufficientStockException;
+import com.kitakita.inventory.repository.ProductRepository;
+import com.kitakita.inventory.repository.StockMovementRepository;
+import com.kitakita.inventory.repository.projection.ProductStockLevel;
+import com.kitakita.inventory.service.InventorySummaryService;
+import com.kitakita.inventory.service.InventorySummaryService.Contribution;
+import com.kitakita.inventory.service.StockService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class StockServiceImpl implements StockService {
+
+    private final ProductRepository productRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final InventorySummaryService inventorySummaryService;
+    private final EntityManager entityManager;
+
+    @Override
+    public void decrease(Product product, int quantity, MovementType type) {
+        requirePositive(quantity);
+        apply(product, -quantity, type, () -> productRepository.decrementStock(product.getProductId(), quantity));
+    }
+
+    @Override
+    public void decreaseAll(Collection<Line> lines) {
+        applyAll(lines, -1, MovementType.SALE);
+    }
+
+    @Override
+    public void increase(Product product, int quantity, MovementType type) {
+        requirePositive(quantity);
+        apply(product, quantity, type, () -> productRepository.incrementStock(product.getProductId(), quantity));
+    }
+
+    @Override
+    public void increaseAll(Collection<Line> lines, MovementType type) {
+        if (type == MovementType.PURCHASE) {
+            throw new IllegalArgumentException("Purchases are received with receiveAll");
+        }
+        applyAll(lines, 1, type);
+    }
+
+    @Override
+    public void receive(Product product, int quantity) {
+        requirePositive(quantity);
+        apply(product, quantity, MovementType.PURCHASE,
+                () -> productRepository.receiveStock(product.getProductId(), quantity));
+    }
+
+    @Override
+    public void receiveAll(Collection<Line> lines) {
+        applyAll(lines, 1, MovementType.PURCHASE);
+    }
+
+    @Override
+    public void set(Product product, int quantity, MovementType type) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Stock cannot be negative");
+        }
+        // An absolute write needs the current level for the summary, so lock the row first
+        entityManager.refresh(product, LockModeType.PESSIMISTIC_WRITE);
+        Contribution before = Contribution.of(product);
+        productRepository.setStock(product.getProductId(), quantity);
+        entityManager.refresh(product);
+        Contribution after = Contribution.of(product);
+        inventorySummaryService.recordChange(product.getUser().getUserId(), before, after);
+        if (after.quantity() != before.quantity()) {
+            stockMovementRepository.insertAll(List.of(
+                    StockMovement.of(product, (int) (after.quantity() - before.quantity()), type)));
+        }
+    }
+
+    private void apply(Product product, int delta, MovementType type, IntSupplier update) {
+        // Category, supplier and month bucket come from the loaded row; stock levels from the database
+        Contribution loaded = Contribution.of(product);
+        if (update.getAsInt() == 0) {
+            throw new InsufficientStockException("Insufficient stock for product: " + product.getProductName());
+        }
+
+        // The UPDATE holds the row lock until commit, so the refreshed quantity is exactly ours
+        entityManager.refresh(product);
+        Contribution after = Contribution.of(product);
+        Contribution before = loaded.withQuantity(after.quantity() - delta, product);
+        inventorySummaryService.recordChange(product.getUser().getUserId(), before, after);
+        stockMovementRepository.insertAll(List.of(StockMovement.of(product, delta, type)));
+    }
+
+    /**
+     * Applies every line with one UPDATE (a CASE per product), then reads the written levels back in
+     * one query. Decreases are guarded: a short product fails its row, and the row count gives it away.
+     */
+    private void applyAll(Collection<Line> lines, int sign, MovementType type) {
+        boolean received = type == MovementType.PURCHASE;
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Line> byProduct = new LinkedHashMap<>();
+        Map<Integer, Contribution> loaded = new HashMap<>();
+        for (Line line : lines) {
+            requirePositive(line.quantity());
+            Integer productId = line.product().getProductId();
+            if (byProduct.put(productId, line) != null) {
+                throw new IllegalArgumentException("Product " + productId + " appears on more than one line");
+            }
+            loaded.put(productId, Contribution.of(line.product()));
+        }
+
+        StringBuilder amount = new StringBuilder("CASE product_id");
+        for (int index = 0; index < byProduct.size(); index++) {
+            amount.append(" WHEN :id").append(index).append(" THEN :qty").append(index);
+        }
+        amount.append(" END");
+
+        String operator = sign < 0 ? " - " : " + ";
+        StringBuilder sql = new StringBuilder("UPDATE products SET quantity = quantity").append(operator).append(amount);
+        if (received) {
+            sql.append(", opening_stock = opening_stock + ").append(amount);
+        }
+        sql.append(", updated_at = CURRENT_TIMESTAMP WHERE product_id IN (:ids)");
+        if (sign < 0) {
+            sql.append(" AND quantity >= ").append(amount);
+        }
+
+        Query update = entityManager.createNativeQuery(sql.toString());
+        int index = 0;
+        for (Line line : byProduct.values()) {
+            update.setParameter("id" + index, line.product().getProductId());
+            update.setParameter("qty" + index, line.quantity());
+            index++;
+        }
+        update.setParameter("ids", byProduct.keySet());
+
+        if (update.executeUpdate() != byProduct.size()) {
+            // The partial update is rolled back with the transaction
+            throw new InsufficientStockException("Insufficient stock for one or more products");
+        }
+
+        // The UPDATE holds the row locks until commit, so these levels are exactly ours
+        Session session = entityManager.unwrap(Session.class);
+        List<StockMovement> movements = new ArrayList<>(byProduct.size());
+        for (ProductStockLevel level : productRepository.findStockLevels(byProduct.keySet())) {
+            Line line = byProduct.get(level.getProductId());
+            Product product = line.product();
+            syncStock(session, product, level);
+
+            Contribution after = Contribution.of(product);
+            Contribution before = loaded.get(product.getProductId())
+                    .withQuantity(after.quantity() - (long) sign * line.quantity(), product);
+            inventorySummaryService.recordChange(product.getUser().getUserId(), before, after);
+            movements.add(StockMovement.of(product, sign * line.quantity(), type));
+        }
+        stockMovementRepository.insertAll(movements);
+    }
+
+    /**
+     * Copies the written stock level onto the managed entity without a refresh per product and
+     * without the entity becoming dirty: making a read-only entity modifiable again takes a new
+     * snapshot from its current state.
+     */
+    private void syncStock(Session session, Product product, ProductStockLevel level) {
+        session.setReadOnly(product, true);
+        product.setQuantity(level.getQuantity());
+        product.setOpeningStock(level.getOpeningStock());
+        product.setUpdatedAt(level.getUpdatedAt());
+        session.setReadOnly(product, false);
+    }
+
+    private void requirePositive(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be greater than zero");
+        }
+    }
+}
@@ -6,23 +6,31 @@ import com.kitakita.inventory.dto.response.SupplierResponse;
 import com.kitakita.inventory.entity.Supplier;
 import com.kitakita.inventory.entity.User;
 import com.kitakita.inventory.exception.ResourceNotFoundException;
+import com.kitakita.inventory.pagination.Cursor;
 import com.kitakita.inventory.repository.SupplierRepository;
 import com.kitakita.inventory.security.SecurityUtils;
+import com.kitakita.inventory.service.DataVersionService;
+import com.kitakita.inventory.service.ReferenceDataCache;
 import com.kitakita.inventory.service.SupplierService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class SupplierServiceImpl implements SupplierService {
 
     private final SupplierRepository supplierRepository;
     private final SecurityUtils securityUtils;
+    private final ReferenceDataCache referenceDataCache;
+    private final DataVersionService dataVersionService;
 
     @Override
     @Transactional(readOnly = true)
@@ -49,6 +57,33 @@ public class SupplierServiceImpl implements SupplierService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<SupplierResponse> getSuppliersAfter(String search, String after, int size) {
+        User currentUser = securityUtils.getCurrentUser();
+        Cursor cursor = Cursor.decode(after);
+        String afterName = cursor != null ? cursor.sortKey() : null;
+        Integer afterId = cursor != null ? cursor.id() : null;
+        Pageable limit = PageRequest.of(0, size);
+
+        Slice<Supplier> slice;
+        if (StringUtils.hasText(search)) {
+            slice = supplierRepository.findByUserAndSearchAfter(currentUser, search.trim().toLowerCase(), afterName, afterId, limit);
+        } else {
+            slice = supplierRepository.findByUserAfter(currentUser, afterName, afterId, limit);
+        }
+
+        List<Supplier> suppliers = slice.getContent();
+        Supplier last = suppliers.isEmpty() ? null : suppliers.get(suppliers.size() - 1);
+        return PagedResponse.<SupplierResponse>builder()
+                .content(suppliers.stream().map(this::mapToResponse).toList())
+                .size(size)
+                .hasNext(slice.hasNext())
+                .hasPrevious(cursor != null)
+                .nextCursor(slice.hasNext() ? new Cursor(last.getSupplierName(), last.getSupplierId()).encode() : null)
+                .build();
+    }
+
     @Override
     @Transactional
     public SupplierResponse createSupplier(SupplierRequest request) {
@@ -64,6 +99,8 @@ public class SupplierServiceImpl implements SupplierService {
                 .build();
 
         Supplier saved = supplierRepository.save(supplier);
+        referenceDataCache.evictSuppliers(currentUser.getUserId());
+        dataVersionService.bump(currentUser.getUserId());
         return mapToResponse(saved);
     }
 
@@ -86,6 +123,8 @@ public class SupplierServiceImpl implements SupplierService {
         existing.setIsActive(request.getIsActive() != null ? request.getIsActive() : existing.getIsActive());
 
         Supplier updated = supplierRepository.save(existing);
+        referenceDataCache.evictSuppliers(currentUser.getUserId());
+        dataVersionService.bump(currentUser.getUserId());
         return mapToResponse(updated);
     }
 
@@ -102,6 +141,8 @@ public class SupplierServiceImpl implements SupplierService {
         }
 
         supplierRepository.delete(supplier);
+        referenceDataCache.evictSuppliers(currentUser.getUserId());
+        dataVersionService.bump(currentUser.getUserId());
     }
 
     private SupplierResponse mapToResponse(Supplier supplier) {
@@ -0,0 +1,3 @@
+-- Indexes backing cursor (keyset) pagination; sales page by (user_id, sale_id) via the user_id FK index
+CREATE INDEX idx_products_user_name ON products (user_id, product_name, product_id);
+CREATE INDEX idx_suppliers_user_name ON suppliers (user_id, supplier_name, supplier_id);
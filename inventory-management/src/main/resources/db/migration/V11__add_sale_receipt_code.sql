@@ -0,0 +1,3 @@
+-- Sales rung up together at checkout share a receipt code
+ALTER TABLE sales ADD COLUMN receipt_code VARCHAR(32) NULL AFTER sale_code;
+CREATE INDEX idx_sales_receipt_code ON sales (receipt_code);
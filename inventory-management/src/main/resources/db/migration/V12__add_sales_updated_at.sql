@@ -0,0 +1,5 @@
+-- Incremental ("changed since") data exports
+ALTER TABLE sales ADD COLUMN updated_at DATETIME(6) NULL AFTER sale_date;
+UPDATE sales SET updated_at = sale_date WHERE updated_at IS NULL;
+CREATE INDEX idx_sales_user_updated ON sales (user_id, updated_at);
+CREATE INDEX idx_products_user_updated ON products (user_id, updated_at);
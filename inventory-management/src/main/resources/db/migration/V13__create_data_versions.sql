@@ -0,0 +1,6 @@
+-- Per-user data versions behind ETags on read endpoints; user_id 0 versions data shared by all users
+CREATE TABLE IF NOT EXISTS data_versions (
+    user_id INT PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NULL
+);
@@ -0,0 +1,3 @@
+-- Product history pages, newest first (/api/products/{id}/purchases and /adjustments)
+CREATE INDEX idx_purchases_product_date ON purchases (product_id, purchase_date, purchase_id);
+CREATE INDEX idx_adjustments_product_date ON inventory_adjustments (product_id, adjustment_date, adjustment_id);
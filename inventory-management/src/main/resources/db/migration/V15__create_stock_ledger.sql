@@ -0,0 +1,27 @@
+-- Append-only record of every stock change; products.quantity is the live projection of it
+CREATE TABLE stock_movements (
+    movement_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_id INT NOT NULL,
+    user_id INT NOT NULL,
+    movement_type VARCHAR(20) NOT NULL,
+    delta INT NOT NULL,
+    occurred_at DATETIME(6) NOT NULL
+);
+CREATE INDEX idx_stock_movements_product_time ON stock_movements (product_id, occurred_at);
+CREATE INDEX idx_stock_movements_user_time ON stock_movements (user_id, occurred_at);
+CREATE INDEX idx_stock_movements_time ON stock_movements (occurred_at);
+
+-- Levels folded from the ledger, written by the nightly snapshot job
+CREATE TABLE stock_snapshots (
+    snapshot_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_id INT NOT NULL,
+    user_id INT NOT NULL,
+    quantity BIGINT NOT NULL,
+    snapshot_at DATETIME(6) NOT NULL
+);
+CREATE INDEX idx_stock_snapshots_product_time ON stock_snapshots (product_id, snapshot_at);
+CREATE INDEX idx_stock_snapshots_user ON stock_snapshots (user_id);
+
+-- Existing stock has no history, so it opens the ledger as of the migration
+INSERT INTO stock_movements (product_id, user_id, movement_type, delta, occurred_at)
+SELECT product_id, user_id, 'OPENING', quantity, NOW(6) FROM products WHERE quantity <> 0;
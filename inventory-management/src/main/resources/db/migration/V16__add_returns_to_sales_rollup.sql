@@ -0,0 +1,29 @@
+-- Buying price of returned and cancelled units, so refunds also come off the cost of sales
+ALTER TABLE returns ADD COLUMN unit_cost DECIMAL(10, 2) NULL;
+ALTER TABLE cancelled_orders ADD COLUMN unit_cost DECIMAL(10, 2) NULL;
+
+-- A sale can be cancelled only once
+ALTER TABLE cancelled_orders ADD CONSTRAINT uk_cancelled_orders_sale UNIQUE (original_sale_id);
+
+-- Refunds are kept in the daily rollup next to the sales they offset, on the day they were processed
+ALTER TABLE sales_daily_rollup
+    ADD COLUMN returned_quantity BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN refunds DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    ADD COLUMN returned_cost DECIMAL(14, 2) NOT NULL DEFAULT 0;
+
+-- Seed from existing returns and cancellations (their cost is unknown and counts as zero)
+INSERT INTO sales_daily_rollup (user_id, product_id, category_id, sales_day, sale_count, quantity,
+                                revenue, cost, returned_quantity, refunds, returned_cost)
+SELECT x.user_id, x.product_id, MAX(x.category_id), x.refund_day, 0, 0, 0, 0,
+       SUM(x.quantity), SUM(x.refund), 0
+FROM (
+    SELECT p.user_id, r.product_id, p.category_id, DATE(r.return_date) AS refund_day,
+           r.quantity, r.return_value AS refund
+    FROM returns r JOIN products p ON p.product_id = r.product_id
+    UNION ALL
+    SELECT p.user_id, c.product_id, p.category_id, DATE(c.cancellation_date), c.quantity, c.refund_amount
+    FROM cancelled_orders c JOIN products p ON p.product_id = c.product_id
+) x
+GROUP BY x.user_id, x.product_id, x.refund_day
+ON DUPLICATE KEY UPDATE returned_quantity = returned_quantity + VALUES(returned_quantity),
+                        refunds = refunds + VALUES(refunds);
@@ -0,0 +1,3 @@
+-- Returns can name the sale they came from, so a sale is never returned beyond what was sold
+ALTER TABLE returns ADD COLUMN original_sale_id INT NULL;
+CREATE INDEX idx_returns_original_sale ON returns (original_sale_id);
@@ -0,0 +1,2 @@
+-- Imported sales can be recorded without taking their units out of stock
+ALTER TABLE sales ADD COLUMN stock_deducted BOOLEAN NOT NULL DEFAULT TRUE;
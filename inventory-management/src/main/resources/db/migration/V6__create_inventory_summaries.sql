@@ -0,0 +1,25 @@
+-- Materialized per-user dashboard totals, maintained incrementally by the application
+CREATE TABLE IF NOT EXISTS inventory_summaries (
+    user_id INT PRIMARY KEY,
+    total_products BIGINT NOT NULL DEFAULT 0,
+    total_quantity BIGINT NOT NULL DEFAULT 0,
+    on_the_way BIGINT NOT NULL DEFAULT 0,
+    low_stock_count BIGINT NOT NULL DEFAULT 0,
+    inventory_value DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    revision BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NULL,
+
+    FOREIGN KEY (user_id) REFERENCES users(user_id)
+);
+
+-- Per-category, per-supplier and per-month product counts and quantities
+CREATE TABLE IF NOT EXISTS inventory_summary_buckets (
+    bucket_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT NOT NULL,
+    bucket_type VARCHAR(20) NOT NULL,
+    bucket_key INT NOT NULL,
+    product_count BIGINT NOT NULL DEFAULT 0,
+    quantity BIGINT NOT NULL DEFAULT 0,
+
+    CONSTRAINT uk_inventory_summary_bucket UNIQUE (user_id, bucket_type, bucket_key)
+);
@@ -0,0 +1,2 @@
+-- Reports aggregate a user's sales over a date range
+CREATE INDEX idx_sales_user_date ON sales(user_id, sale_date);
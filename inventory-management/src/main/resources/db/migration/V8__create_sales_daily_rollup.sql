@@ -0,0 +1,23 @@
+-- Per-user, per-product daily sales totals, maintained by the application on every sale write
+CREATE TABLE IF NOT EXISTS sales_daily_rollup (
+    rollup_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT NOT NULL,
+    product_id INT NOT NULL,
+    category_id INT NULL,
+    sales_day DATE NOT NULL,
+    sale_count BIGINT NOT NULL DEFAULT 0,
+    quantity BIGINT NOT NULL DEFAULT 0,
+    revenue DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    cost DECIMAL(14, 2) NOT NULL DEFAULT 0,
+
+    CONSTRAINT uk_sales_daily_rollup UNIQUE (user_id, product_id, sales_day),
+    INDEX idx_sales_daily_rollup_user_day (user_id, sales_day)
+);
+
+-- Seed from existing sales; the application does the same on startup when the table is empty
+INSERT INTO sales_daily_rollup (user_id, product_id, category_id, sales_day, sale_count, quantity, revenue, cost)
+SELECT s.user_id, s.product_id, MAX(p.category_id), DATE(s.sale_date), COUNT(*),
+       SUM(s.quantity), SUM(s.total_value), SUM(s.buying_price * s.quantity)
+FROM sales s JOIN products p ON p.product_id = s.product_id
+WHERE NOT EXISTS (SELECT 1 FROM sales_daily_rollup)
+GROUP BY s.user_id, s.product_id, DATE(s.sale_date);
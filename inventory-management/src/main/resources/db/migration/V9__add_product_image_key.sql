@@ -0,0 +1,3 @@
+-- Product images move from inline data URLs in image_url to the content-addressed image store.
+-- Existing inline images are extracted by the application at startup (images.migrate-inline-on-startup).
+ALTER TABLE products ADD COLUMN image_key VARCHAR(80) NULL;
@@ -0,0 +1,264 @@
+package com.kitakita.inventory.controller;
+
+import com.kitakita.inventory.entity.CancelledOrder;
+import com.kitakita.inventory.entity.Category;
+import com.kitakita.inventory.entity.InventoryAdjustment;
+import com.kitakita.inventory.entity.Product;
+import com.kitakita.inventory.entity.Purchase;
+import com.kitakita.inventory.entity.Return;
+import com.kitakita.inventory.entity.Sale;
+import com.kitakita.inventory.entity.Supplier;
+import com.kitakita.inventory.entity.User;
+import com.kitakita.inventory.repository.CancelledOrderRepository;
+import com.kitakita.inventory.repository.CategoryRepository;
+import com.kitakita.inventory.repository.InventoryAdjustmentRepository;
+import com.kitakita.inventory.repository.ProductRepository;
+import com.kitakita.inventory.repository.PurchaseRepository;
+import com.kitakita.inventory.repository.ReturnRepository;
+import com.kitakita.inventory.repository.SaleRepository;
+import com.kitakita.inventory.repository.SupplierRepository;
+import com.kitakita.inventory.repository.UserRepository;
+import com.kitakita.inventory.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.kitakita.inventory.querycount.QueryCountAssertions.queryCountAtMost;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Keeps read endpoints from loading associations row by row: every list below holds more rows than
+ * the budgets allow statements, so an N+1 fails the test.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "jwt.secret=query-count-test-secret-query-count-test-secret",
+        "jwt.expiration=3600000",
+        "codes.node-id=0",
+        "query.budget.header=true"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointQueryCountTest {
+
+    private static final int ROWS = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private PurchaseRepository purchaseRepository;
+
+    @Autowired
+    private InventoryAdjustmentRepository adjustmentRepository;
+
+    @Autowired
+    private ReturnRepository returnRepository;
+
+    @Autowired
+    private CancelledOrderRepository cancelledOrderRepository;
+
+    private UserPrincipal principal;
+    private Product product;
+
+    @BeforeAll
+    void createData() {
+        User owner = userRepository.save(User.builder()
+                .email("owner@example.com")
+                .passwordHash("x")
+                .fullName("Owner")
+                .isActive(true)
+                .role("ROLE_USER")
+                .build());
+        principal = new UserPrincipal(owner);
+
+        List<Category> categories = new ArrayList<>();
+        List<Supplier> suppliers = new ArrayList<>();
+        for (int i = 1; i <= ROWS; i++) {
+            categories.add(categoryRepository.save(Category.builder()
+                    .categoryName("Category " + i)
+                    .createdAt(LocalDateTime.now())
+                    .build()));
+            suppliers.add(supplierRepository.save(Supplier.builder()
+                    .supplierName("Supplier " + i)
+                    .isActive(true)
+                    .user(owner)
+                    .build()));
+        }
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 1; i <= ROWS; i++) {
+            products.add(productRepository.save(Product.builder()
+                    .productName("Product " + i)
+                    .productCode("QC" + i)
+                    .category(categories.get(i - 1))
+                    .supplier(suppliers.get(i - 1))
+                    .user(owner)
+                    .buyingPrice(BigDecimal.TEN)
+                    .sellingPrice(BigDecimal.valueOf(15))
+                    .unit("pcs")
+                    .quantity(100)
+                    .thresholdValue(5)
+                    .openingStock(100)
+                    .onTheWay(0)
+                    .isActive(true)
+                    .build()));
+        }
+        product = products.get(0);
+
+        for (int i = 0; i < ROWS; i++) {
+            Product sold = products.get(i);
+            Sale sale = saleRepository.save(Sale.builder()
+                    .saleCode("QS" + i)
+                    .product(sold)
+                    .user(owner)
+                    .quantity(1)
+                    .unitPrice(BigDecimal.valueOf(15))
+                    .totalValue(BigDecimal.valueOf(15))
+                    .buyingPrice(BigDecimal.TEN)
+                    .saleDate(LocalDateTime.now().minusDays(i))
+                    .build());
+            purchaseRepository.save(Purchase.builder()
+                    .product(product)
+                    .supplier(suppliers.get(i))
+                    .quantity(1)
+                    .unitCost(BigDecimal.TEN)
+                    .totalCost(BigDecimal.TEN)
+                    .status(Purchase.PurchaseStatus.COMPLETED)
+                    .purchaseDate(LocalDateTime.now().minusDays(i))
+                    .build());
+            adjustmentRepository.save(InventoryAdjustment.builder()
+                    .product(product)
+                    .adjustmentType(InventoryAdjustment.AdjustmentType.ADD)
+                    .quantity(1)
+                    .reason("Count " + i)
+                    .adjustedBy(owner)
+                    .adjustmentDate(LocalDateTime.now().minusDays(i))
+                    .build());
+            returnRepository.save(Return.builder()
+                    .product(sold)
+                    .supplier(suppliers.get(i))
+                    .quantity(1)
+                    .returnValue(BigDecimal.valueOf(15))
+                    .unitCost(BigDecimal.TEN)
+                    .processedBy(owner)
+                    .build());
+            cancelledOrderRepository.save(CancelledOrder.builder()
+                    .originalSaleId(sale.getSaleId())
+                    .product(sold)
+                    .quantity(1)
+                    .refundAmount(BigDecimal.valueOf(15))
+                    .unitCost(BigDecimal.TEN)
+                    .processedBy(owner)
+                    .build());
+        }
+    }
+
+    @Test
+    void categories() throws Exception {
+        perform("/api/categories").andExpect(queryCountAtMost(3));
+    }
+
+    @Test
+    void productReferences() throws Exception {
+        perform("/api/products/references").andExpect(queryCountAtMost(4));
+    }
+
+    @Test
+    void products() throws Exception {
+        perform("/api/products?size=" + ROWS).andExpect(queryCountAtMost(4));
+    }
+
+    @Test
+    void suppliers() throws Exception {
+        perform("/api/suppliers?size=" + ROWS).andExpect(queryCountAtMost(3));
+    }
+
+    @Test
+    void sales() throws Exception {
+        perform("/api/sales?size=" + ROWS).andExpect(queryCountAtMost(4));
+    }
+
+    @Test
+    void productPurchases() throws Exception {
+        perform("/api/products/" + product.getProductId() + "/purchases?size=" + ROWS).andExpect(queryCountAtMost(3));
+    }
+
+    @Test
+    void productAdjustments() throws Exception {
+        perform("/api/products/" + product.getProductId() + "/adjustments?size=" + ROWS).andExpect(queryCountAtMost(3));
+    }
+
+    @Test
+    void returns() throws Exception {
+        perform("/api/returns?size=" + ROWS).andExpect(queryCountAtMost(3));
+    }
+
+    @Test
+    void cancellations() throws Exception {
+        perform("/api/returns/cancellations?size=" + ROWS).andExpect(queryCountAtMost(3));
+    }
+
+    @Test
+    void stockAt() throws Exception {
+        perform("/api/stock/products/" + product.getProductId()).andExpect(queryCountAtMost(4));
+    }
+
+    @Test
+    void stockDrift() throws Exception {
+        perform("/api/stock/drift").andExpect(queryCountAtMost(4));
+    }
+
+    @Test
+    void dashboardSummary() throws Exception {
+        // The first read builds the user's summary: a few statements per table, not per product
+        perform("/api/dashboard/summary").andExpect(queryCountAtMost(20));
+        perform("/api/dashboard/summary").andExpect(queryCountAtMost(12));
+    }
+
+    @Test
+    void dashboardSummaryRebuild() throws Exception {
+        mockMvc.perform(post("/api/dashboard/summary/rebuild").with(user(principal)))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(20));
+    }
+
+    @Test
+    void reports() throws Exception {
+        perform("/api/reports").andExpect(queryCountAtMost(12));
+    }
+
+    private ResultActions perform(String uri) throws Exception {
+        return mockMvc.perform(get(uri).with(user(principal)))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,47 @@
+package com.kitakita.inventory.querycount;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MockMvc matchers on the number of SQL statements a request ran, read from the
+ * {@value QueryCountFilter#HEADER} header. The application under test needs
+ * {@code query.budget.header=true}.
+ * <pre>
+ * mockMvc.perform(get("/api/products").with(user(principal)))
+ *         .andExpect(status().isOk())
+ *         .andExpect(queryCountAtMost(4));
+ * </pre>
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static ResultMatcher queryCount(long expected) {
+        return result -> assertEquals(expected, queryCountOf(result),
+                () -> describe(result) + " ran an unexpected number of SQL statements");
+    }
+
+    public static ResultMatcher queryCountAtMost(long max) {
+        return result -> {
+            long count = queryCountOf(result);
+            assertTrue(count <= max, () -> describe(result) + " ran " + count + " SQL statements, expected at most " + max);
+        };
+    }
+
+    public static long queryCountOf(MvcResult result) {
+        String header = result.getResponse().getHeader(QueryCountFilter.HEADER);
+        assertNotNull(header, () -> describe(result) + " has no " + QueryCountFilter.HEADER
+                + " header; is query.budget.header enabled?");
+        return Long.parseLong(header);
+    }
+
+    private static String describe(MvcResult result) {
+        return result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+    }
+}
@@ -0,0 +1,100 @@
+package com.kitakita.inventory.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the generator from a fixed clock and decodes the codes back into their timestamp, node
+ * and sequence fields.
+ */
+class CodeGeneratorTest {
+
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final String CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    private static final int SEQUENCE_PER_MILLI = 4096;
+
+    private final AtomicLong now = new AtomicLong(Instant.parse("2026-03-01T12:00:00Z").toEpochMilli());
+
+    @Test
+    void codesIncreaseWithinAndAcrossMilliseconds() {
+        CodeGenerator generator = new CodeGenerator(7, now::get);
+
+        String previous = generator.saleCode();
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 1000 == 0) {
+                now.incrementAndGet();
+            }
+            String code = generator.saleCode();
+            assertTrue(code.compareTo(previous) > 0, code + " should sort after " + previous);
+            previous = code;
+        }
+    }
+
+    @Test
+    void sequenceOverflowBorrowsFromTheNextMillisecond() {
+        CodeGenerator generator = new CodeGenerator(7, now::get);
+        long millis = now.get() - EPOCH_MILLIS;
+
+        long last = 0;
+        for (int i = 0; i < SEQUENCE_PER_MILLI; i++) {
+            last = decode(generator.productCode());
+        }
+        assertEquals(millis, millis(last));
+        assertEquals(SEQUENCE_PER_MILLI - 1, sequence(last));
+
+        long borrowed = decode(generator.productCode());
+        assertEquals(millis + 1, millis(borrowed));
+        assertEquals(0, sequence(borrowed));
+        assertEquals(7, node(borrowed));
+
+        // Once the clock reaches the borrowed millisecond the sequence carries on rather than restarting
+        now.incrementAndGet();
+        long next = decode(generator.productCode());
+        assertEquals(millis + 1, millis(next));
+        assertEquals(1, sequence(next));
+    }
+
+    @Test
+    void clockSteppingBackDoesNotRepeatCodes() {
+        CodeGenerator generator = new CodeGenerator(0, now::get);
+        String before = generator.receiptCode();
+
+        now.addAndGet(-60_000);
+        String after = generator.receiptCode();
+
+        assertTrue(after.compareTo(before) > 0, after + " should sort after " + before);
+    }
+
+    @Test
+    void missingNodeIdFailsFast() {
+        assertThrows(IllegalStateException.class, () -> new CodeGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new CodeGenerator(1024));
+    }
+
+    private static long decode(String code) {
+        String encoded = code.substring(code.indexOf('-') + 1);
+        long value = 0;
+        for (char c : encoded.toCharArray()) {
+            value = (value << 5) | CROCKFORD.indexOf(c);
+        }
+        return value;
+    }
+
+    private static long millis(long value) {
+        return value >>> 22;
+    }
+
+    private static long node(long value) {
+        return (value >>> 12) & 1023;
+    }
+
+    private static long sequence(long value) {
+        return value & 4095;
+    }
+}
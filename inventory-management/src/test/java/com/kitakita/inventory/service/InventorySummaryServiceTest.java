@@ -0,0 +1,117 @@
+package com.kitakita.inventory.service;
+
+import com.kitakita.inventory.entity.Category;
+import com.kitakita.inventory.entity.Product;
+import com.kitakita.inventory.entity.User;
+import com.kitakita.inventory.repository.CategoryRepository;
+import com.kitakita.inventory.repository.ProductRepository;
+import com.kitakita.inventory.repository.UserRepository;
+import com.kitakita.inventory.service.impl.DataVersionServiceImpl;
+import com.kitakita.inventory.service.impl.InventorySummaryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the reconciler's rebuild bumps a user's data version only when it actually changes
+ * the summary, so cached dashboard responses are invalidated by a repair and kept otherwise.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:summary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({InventorySummaryServiceImpl.class, DataVersionServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventorySummaryServiceTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private InventorySummaryService inventorySummaryService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Integer userId;
+    private Integer productId;
+
+    @BeforeEach
+    void createProduct() {
+        int n = USERS.incrementAndGet();
+        User user = userRepository.save(User.builder()
+                .email("summary" + n + "@example.com")
+                .passwordHash("hash")
+                .fullName("Owner")
+                .isActive(true)
+                .role("ROLE_USER")
+                .build());
+        userId = user.getUserId();
+        Category category = categoryRepository.save(Category.builder().categoryName("Bakery " + n).build());
+        productId = productRepository.save(Product.builder()
+                .productName("Bread")
+                .productCode("BREAD-" + n)
+                .category(category)
+                .user(user)
+                .buyingPrice(new BigDecimal("20.00"))
+                .sellingPrice(new BigDecimal("30.00"))
+                .unit("pcs")
+                .quantity(40)
+                .thresholdValue(5)
+                .openingStock(40)
+                .onTheWay(0)
+                .isActive(true)
+                .build()).getProductId();
+    }
+
+    @Test
+    void seedingBumpsTheDataVersion() {
+        long version = dataVersionService.getVersion(userId);
+
+        inventorySummaryService.seedMissing();
+
+        assertEquals(40, inventorySummaryService.getSummary(userId).getTotalQuantity());
+        assertEquals(version + 1, dataVersionService.getVersion(userId));
+    }
+
+    @Test
+    void reconcileBumpsTheDataVersionOnlyWhenItRepairsDrift() {
+        inventorySummaryService.seedMissing();
+        long version = dataVersionService.getVersion(userId);
+
+        assertFalse(inventorySummaryService.reconcile(userId));
+        assertEquals(version, dataVersionService.getVersion(userId));
+
+        // A write that bypassed the incremental counters
+        jdbcTemplate.update("UPDATE products SET quantity = 25 WHERE product_id = ?", productId);
+
+        assertTrue(inventorySummaryService.reconcile(userId));
+        assertEquals(version + 1, dataVersionService.getVersion(userId));
+        assertEquals(25, inventorySummaryService.getSummary(userId).getTotalQuantity());
+    }
+}
@@ -0,0 +1,173 @@
+package com.kitakita.inventory.service;
+
+import com.kitakita.inventory.entity.Category;
+import com.kitakita.inventory.entity.Product;
+import com.kitakita.inventory.entity.StockMovement;
+import com.kitakita.inventory.entity.StockMovement.MovementType;
+import com.kitakita.inventory.entity.User;
+import com.kitakita.inventory.repository.CategoryRepository;
+import com.kitakita.inventory.repository.ProductRepository;
+import com.kitakita.inventory.repository.StockMovementRepository;
+import com.kitakita.inventory.repository.UserRepository;
+import com.kitakita.inventory.security.UserPrincipal;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Commits a sale from another transaction after the import has loaded the product but before it
+ * flushes its changes, and checks that the import neither loses the sale nor unbalances the ledger.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:productimport;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "jwt.secret=import-test-secret-import-test-secret-import-test",
+        "jwt.expiration=3600000",
+        "codes.node-id=0"
+})
+class ProductImportServiceTest {
+
+    private static final int INITIAL_STOCK = 100;
+    private static final int SOLD = 3;
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @MockitoSpyBean
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Category category;
+    private Integer productId;
+    private String productCode;
+
+    @BeforeEach
+    void createProduct() {
+        int n = USERS.incrementAndGet();
+        User user = userRepository.save(User.builder()
+                .email("import" + n + "@example.com")
+                .passwordHash("hash")
+                .fullName("Importer")
+                .isActive(true)
+                .role("ROLE_USER")
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new UserPrincipal(user), null, List.of()));
+
+        category = categoryRepository.save(Category.builder().categoryName("Drinks " + n).build());
+        referenceDataCache.evictCategories();
+        productCode = "IMP-" + n;
+        Product product = productRepository.save(Product.builder()
+                .productName("Cola")
+                .productCode(productCode)
+                .category(category)
+                .user(user)
+                .buyingPrice(new BigDecimal("10.00"))
+                .sellingPrice(new BigDecimal("15.00"))
+                .unit("pcs")
+                .quantity(INITIAL_STOCK)
+                .thresholdValue(5)
+                .openingStock(INITIAL_STOCK)
+                .onTheWay(0)
+                .isActive(true)
+                .build());
+        productId = product.getProductId();
+        stockMovementRepository.insertAll(List.of(StockMovement.of(product, INITIAL_STOCK, MovementType.OPENING)));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void unchangedQuantityDoesNotOverwriteAConcurrentSale() {
+        sellAfterLookup();
+
+        productImportService.importCsv(csv("Cola Zero", INITIAL_STOCK));
+
+        Product product = productRepository.findById(productId).orElseThrow();
+        assertEquals("Cola Zero", product.getProductName());
+        assertEquals(INITIAL_STOCK - SOLD, product.getQuantity());
+        assertEquals(INITIAL_STOCK - SOLD, ledgerSum());
+    }
+
+    @Test
+    void changedQuantityIsSetUnderTheRowLock() {
+        sellAfterLookup();
+
+        productImportService.importCsv(csv("Cola Zero", 50));
+
+        Product product = productRepository.findById(productId).orElseThrow();
+        assertEquals("Cola Zero", product.getProductName());
+        assertEquals(50, product.getQuantity());
+        assertEquals(50, ledgerSum());
+    }
+
+    // The lookup runs in the import's transaction; the sale then commits on its own thread while the
+    // import still holds the loaded entity
+    private void sellAfterLookup() {
+        doAnswer(invocation -> {
+            List<Product> found = entityManager
+                    .createQuery("SELECT p FROM Product p WHERE p.productCode IN :codes", Product.class)
+                    .setParameter("codes", invocation.getArgument(0))
+                    .getResultList();
+            CompletableFuture.runAsync(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    stockService.decrease(productRepository.findById(productId).orElseThrow(), SOLD, MovementType.SALE)))
+                    .join();
+            return found;
+        }).when(productRepository).findByProductCodeIn(any(Collection.class));
+    }
+
+    private ByteArrayInputStream csv(String name, int quantity) {
+        String content = "productName,productCode,category,buyingPrice,sellingPrice,unit,quantity\n"
+                + name + "," + productCode + "," + category.getCategoryName() + ",10.00,15.00,pcs," + quantity + "\n";
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long ledgerSum() {
+        return stockMovementRepository.sumDeltas(productId, null, LocalDateTime.now().plusMinutes(1));
+    }
+}
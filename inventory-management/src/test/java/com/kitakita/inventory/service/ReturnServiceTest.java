@@ -0,0 +1,268 @@
+package com.kitakita.inventory.service;
+
+import com.kitakita.inventory.dto.request.CancelSaleRequest;
+import com.kitakita.inventory.dto.request.ReturnBatchRequest;
+import com.kitakita.inventory.dto.request.ReturnRequest;
+import com.kitakita.inventory.dto.request.SaleImportRequest;
+import com.kitakita.inventory.dto.request.SaleRequest;
+import com.kitakita.inventory.dto.response.CancellationResponse;
+import com.kitakita.inventory.entity.Category;
+import com.kitakita.inventory.entity.Product;
+import com.kitakita.inventory.entity.Sale;
+import com.kitakita.inventory.entity.User;
+import com.kitakita.inventory.exception.ResourceNotFoundException;
+import com.kitakita.inventory.exception.SaleLockedException;
+import com.kitakita.inventory.repository.CategoryRepository;
+import com.kitakita.inventory.repository.ProductRepository;
+import com.kitakita.inventory.repository.SaleRepository;
+import com.kitakita.inventory.repository.UserRepository;
+import com.kitakita.inventory.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Returns, cancellations and sale edits touch the same stock and refunds; these check that no
+ * combination of them restocks or refunds a unit twice.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:returns;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "jwt.secret=returns-test-secret-returns-test-secret-returns",
+        "jwt.expiration=3600000",
+        "codes.node-id=0"
+})
+class ReturnServiceTest {
+
+    private static final int INITIAL_STOCK = 100;
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private ReturnService returnService;
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Integer productId;
+    private Integer saleId;
+
+    @BeforeEach
+    void sellFourUnits() {
+        int n = USERS.incrementAndGet();
+        user = userRepository.save(User.builder()
+                .email("returns" + n + "@example.com")
+                .passwordHash("hash")
+                .fullName("Cashier")
+                .isActive(true)
+                .role("ROLE_USER")
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new UserPrincipal(user), null, List.of()));
+
+        Category category = categoryRepository.save(Category.builder().categoryName("Snacks " + n).build());
+        productId = productRepository.save(Product.builder()
+                .productName("Chips")
+                .productCode("RET-" + n)
+                .category(category)
+                .user(user)
+                .buyingPrice(new BigDecimal("10.00"))
+                .sellingPrice(new BigDecimal("15.00"))
+                .unit("pcs")
+                .quantity(INITIAL_STOCK)
+                .thresholdValue(5)
+                .openingStock(INITIAL_STOCK)
+                .onTheWay(0)
+                .isActive(true)
+                .build()).getProductId();
+
+        saleId = saleService.createSale(SaleRequest.builder()
+                .productId(productId)
+                .quantity(4)
+                .unitPrice(new BigDecimal("15.00"))
+                .totalValue(new BigDecimal("60.00"))
+                .buyingPrice(new BigDecimal("10.00"))
+                .build()).getSaleId();
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void saleWithReturnsCannotBeDeletedOrChanged() {
+        returnService.createReturn(returnOf(1));
+        assertEquals(INITIAL_STOCK - 3, stock());
+
+        assertThrows(SaleLockedException.class, () -> saleService.deleteSale(saleId));
+        assertThrows(SaleLockedException.class, () -> saleService.updateSale(saleId, SaleRequest.builder()
+                .productId(productId)
+                .quantity(2)
+                .unitPrice(new BigDecimal("15.00"))
+                .totalValue(new BigDecimal("30.00"))
+                .buyingPrice(new BigDecimal("10.00"))
+                .build()));
+
+        assertEquals(INITIAL_STOCK - 3, stock());
+        assertTrue(saleRepository.existsById(saleId));
+    }
+
+    @Test
+    void saleCannotBeReturnedBeyondWhatWasSold() {
+        returnService.createReturn(returnOf(3));
+
+        assertThrows(IllegalArgumentException.class, () -> returnService.createReturn(returnOf(2)));
+        // The whole batch is refused, including the row that would have fit
+        assertThrows(IllegalArgumentException.class, () -> returnService.processReturns(
+                new ReturnBatchRequest(List.of(returnOf(1), returnOf(1)))));
+
+        assertEquals(INITIAL_STOCK - 1, stock());
+    }
+
+    @Test
+    void cancellingAPartlyReturnedSaleRefundsOnlyTheRest() {
+        returnService.createReturn(returnOf(1));
+
+        CancellationResponse cancellation = returnService.cancelSale(saleId, new CancelSaleRequest("Changed mind"));
+
+        assertEquals(3, cancellation.getQuantity());
+        assertEquals(new BigDecimal("45.00"), cancellation.getRefundAmount());
+        assertEquals(INITIAL_STOCK, stock());
+        SalesRollupService.SeriesPoint totals = salesRollupService.getTotals(user.getUserId());
+        assertEquals(4, totals.returnedQuantity());
+        assertEquals(0, totals.netRevenue().signum());
+    }
+
+    @Test
+    void returnAgainstASaleIsValuedAtTheSalePrices() {
+        Product product = productRepository.findById(productId).orElseThrow();
+        product.setSellingPrice(new BigDecimal("20.00"));
+        product.setBuyingPrice(new BigDecimal("12.00"));
+        productRepository.save(product);
+
+        assertEquals(new BigDecimal("15.00"), returnService.createReturn(returnOf(1)).getRefundAmount());
+        returnService.cancelSale(saleId, null);
+
+        SalesRollupService.SeriesPoint totals = salesRollupService.getTotals(user.getUserId());
+        assertEquals(0, totals.refunds().compareTo(new BigDecimal("60.00")));
+        assertEquals(0, totals.returnedCost().compareTo(new BigDecimal("40.00")));
+    }
+
+    @Test
+    void cancelledSaleCannotBeChangedCancelledOrReturned() {
+        returnService.cancelSale(saleId, null);
+        assertEquals(INITIAL_STOCK, stock());
+
+        assertThrows(SaleLockedException.class, () -> returnService.cancelSale(saleId, null));
+        assertThrows(SaleLockedException.class, () -> saleService.deleteSale(saleId));
+        assertThrows(SaleLockedException.class, () -> saleService.updateSale(saleId, SaleRequest.builder()
+                .productId(productId)
+                .quantity(1)
+                .unitPrice(new BigDecimal("15.00"))
+                .totalValue(new BigDecimal("15.00"))
+                .buyingPrice(new BigDecimal("10.00"))
+                .build()));
+        assertThrows(SaleLockedException.class, () -> returnService.createReturn(returnOf(1)));
+
+        assertEquals(INITIAL_STOCK, stock());
+    }
+
+    @Test
+    void salesImportedWithoutStockNeverPutStockBack() {
+        saleService.importSales(SaleImportRequest.builder()
+                .deductStock(false)
+                .sales(List.of(importLine(2), importLine(3)))
+                .build());
+        assertEquals(INITIAL_STOCK - 4, stock());
+
+        List<Sale> imported = saleRepository.findByUser(user, PageRequest.of(0, 10)).stream()
+                .filter(sale -> !sale.getStockDeducted())
+                .toList();
+        assertEquals(2, imported.size());
+
+        returnService.cancelSale(imported.get(0).getSaleId(), null);
+        saleService.deleteSale(imported.get(1).getSaleId());
+        assertEquals(INITIAL_STOCK - 4, stock());
+
+        saleService.importSales(SaleImportRequest.builder()
+                .deductStock(true)
+                .sales(List.of(importLine(5)))
+                .build());
+        assertEquals(INITIAL_STOCK - 9, stock());
+    }
+
+    @Test
+    void saleWrittenWithoutTheStockFlagCountsAsDeducted() {
+        // As a row from before the column existed: the database default fills it in
+        jdbcTemplate.update("INSERT INTO sales (sale_code, product_id, quantity, unit_price, total_value, buying_price, "
+                + "sale_date, updated_at, user_id) VALUES ('SL-LEGACY-' || ?, ?, 2, 15.00, 30.00, 10.00, "
+                + "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, ?)", user.getUserId(), productId, user.getUserId());
+        Integer legacySaleId = jdbcTemplate.queryForObject(
+                "SELECT sale_id FROM sales WHERE sale_code = 'SL-LEGACY-' || ?", Integer.class, user.getUserId());
+
+        assertTrue(saleRepository.findById(legacySaleId).orElseThrow().getStockDeducted());
+        saleService.deleteSale(legacySaleId);
+        assertEquals(INITIAL_STOCK - 2, stock());
+    }
+
+    @Test
+    void returnAgainstAnotherUsersSaleIsNotFound() {
+        ReturnRequest request = returnOf(1);
+        request.setSaleId(saleId + 1000);
+
+        assertThrows(ResourceNotFoundException.class, () -> returnService.createReturn(request));
+        assertEquals(INITIAL_STOCK - 4, stock());
+    }
+
+    private ReturnRequest returnOf(int quantity) {
+        return ReturnRequest.builder()
+                .saleId(saleId)
+                .productId(productId)
+                .quantity(quantity)
+                .build();
+    }
+
+    private SaleImportRequest.Line importLine(int quantity) {
+        return SaleImportRequest.Line.builder()
+                .productId(productId)
+                .quantity(quantity)
+                .build();
+    }
+
+    private int stock() {
+        return productRepository.findById(productId).orElseThrow().getQuantity();
+    }
+}
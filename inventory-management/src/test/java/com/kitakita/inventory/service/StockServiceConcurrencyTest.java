@@ -0,0 +1,245 @@
+package com.kitakita.inventory.service;
+
+import com.kitakita.inventory.entity.Category;
+import com.kitakita.inventory.entity.Product;
+import com.kitakita.inventory.entity.StockMovement.MovementType;
+import com.kitakita.inventory.entity.User;
+import com.kitakita.inventory.exception.InsufficientStockException;
+import com.kitakita.inventory.repository.CategoryRepository;
+import com.kitakita.inventory.repository.ProductRepository;
+import com.kitakita.inventory.repository.StockMovementRepository;
+import com.kitakita.inventory.repository.UserRepository;
+import com.kitakita.inventory.service.impl.StockServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs many concurrent sales against one product, each in its own transaction as requests would,
+ * and checks that exactly the available stock is sold.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stock;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(StockServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockServiceConcurrencyTest {
+
+    private static final int INITIAL_STOCK = 50;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 10;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private InventorySummaryService inventorySummaryService;
+
+    private Integer productId;
+
+    @BeforeEach
+    void createProduct() {
+        stockMovementRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = userRepository.save(User.builder()
+                .email("cashier@example.com")
+                .passwordHash("hash")
+                .fullName("Cashier")
+                .isActive(true)
+                .role("ROLE_USER")
+                .build());
+        Category category = categoryRepository.save(Category.builder().categoryName("Snacks").build());
+        productId = productRepository.save(Product.builder()
+                .productName("Chips")
+                .productCode("CHIPS-1")
+                .category(category)
+                .user(user)
+                .buyingPrice(new BigDecimal("10.00"))
+                .sellingPrice(new BigDecimal("15.00"))
+                .unit("pcs")
+                .quantity(INITIAL_STOCK)
+                .thresholdValue(5)
+                .openingStock(INITIAL_STOCK)
+                .onTheWay(0)
+                .isActive(true)
+                .build()).getProductId();
+    }
+
+    @Test
+    void concurrentSalesNeverOversell() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        transaction.executeWithoutResult(status -> {
+                            Product product = productRepository.findById(productId).orElseThrow();
+                            stockService.decrease(product, 1, MovementType.SALE);
+                        });
+                        sold.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(INITIAL_STOCK, sold.get());
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD - INITIAL_STOCK, rejected.get());
+        assertEquals(0, productRepository.findById(productId).orElseThrow().getQuantity());
+        assertEquals(-INITIAL_STOCK, ledgerLevel(productId));
+        assertEquals(INITIAL_STOCK, stockMovementRepository.count());
+    }
+
+    @Test
+    void decreaseBeyondStockLeavesQuantityUnchanged() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        assertThrows(InsufficientStockException.class, () -> transaction.executeWithoutResult(status -> {
+            Product product = productRepository.findById(productId).orElseThrow();
+            stockService.decrease(product, INITIAL_STOCK + 1, MovementType.SALE);
+        }));
+        assertEquals(INITIAL_STOCK, productRepository.findById(productId).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void decreaseAllIsAllOrNothing() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Integer otherId = transaction.execute(status -> {
+            Product chips = productRepository.findById(productId).orElseThrow();
+            return productRepository.save(Product.builder()
+                    .productName("Soda")
+                    .productCode("SODA-1")
+                    .category(chips.getCategory())
+                    .user(chips.getUser())
+                    .buyingPrice(new BigDecimal("5.00"))
+                    .sellingPrice(new BigDecimal("8.00"))
+                    .unit("pcs")
+                    .quantity(3)
+                    .thresholdValue(1)
+                    .openingStock(3)
+                    .onTheWay(0)
+                    .isActive(true)
+                    .build()).getProductId();
+        });
+
+        assertThrows(InsufficientStockException.class, () -> transaction.executeWithoutResult(status ->
+                stockService.decreaseAll(List.of(
+                        new StockService.Line(productRepository.findById(productId).orElseThrow(), 10),
+                        new StockService.Line(productRepository.findById(otherId).orElseThrow(), 4)))));
+        assertEquals(INITIAL_STOCK, productRepository.findById(productId).orElseThrow().getQuantity());
+        assertEquals(3, productRepository.findById(otherId).orElseThrow().getQuantity());
+        assertEquals(0, stockMovementRepository.count());
+
+        Integer synced = transaction.execute(status -> {
+            Product chips = productRepository.findById(productId).orElseThrow();
+            stockService.decreaseAll(List.of(
+                    new StockService.Line(chips, 10),
+                    new StockService.Line(productRepository.findById(otherId).orElseThrow(), 3)));
+            return chips.getQuantity();
+        });
+        assertEquals(INITIAL_STOCK - 10, synced);
+        assertEquals(INITIAL_STOCK - 10, productRepository.findById(productId).orElseThrow().getQuantity());
+        assertEquals(0, productRepository.findById(otherId).orElseThrow().getQuantity());
+        assertEquals(-10, ledgerLevel(productId));
+        assertEquals(-3, ledgerLevel(otherId));
+    }
+
+    @Test
+    void mixedIncreasesAndDecreasesAreNotLost() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Half the threads restock one unit at a time, the other half sell one unit at a time
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            boolean restock = t % 2 == 0;
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    transaction.executeWithoutResult(status -> {
+                        Product product = productRepository.findById(productId).orElseThrow();
+                        if (restock) {
+                            stockService.increase(product, 1, MovementType.ADJUSTMENT);
+                        } else {
+                            stockService.decrease(product, 1, MovementType.SALE);
+                        }
+                    });
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(INITIAL_STOCK, productRepository.findById(productId).orElseThrow().getQuantity());
+        assertEquals(0, ledgerLevel(productId));
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, stockMovementRepository.count());
+    }
+
+    // Products are saved directly here, so the ledger holds only the changes made through the service
+    private long ledgerLevel(Integer id) {
+        return stockMovementRepository.sumDeltas(id, null, LocalDateTime.now());
+    }
+}